@@ -0,0 +1,491 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import de.ralleytn.api.gamejolt.internal.Util;
+
+/**
+ * Asynchronous facade for a {@linkplain GameJolt} instance.
+ * Every method returns immediately with a {@linkplain CompletableFuture} which is completed exceptionally
+ * with an {@linkplain java.io.IOException}, a {@linkplain GameJoltException} or a {@linkplain de.ralleytn.simple.json.JSONParseException}
+ * in the same cases in which the blocking method would throw one.
+ * How many threads are needed depends on the {@linkplain GameJoltTransport}. A non-blocking transport completes the futures without
+ * occupying a thread per request; the default transport runs blocking requests on the {@linkplain Executor} of this facade.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class AsyncGameJolt {
+
+	private final GameJolt gj;
+	private final Executor executor;
+	private final AsyncGameJoltSession session;
+	private final AsyncGameJoltDataStorage globalStorage;
+	private final AsyncGameJoltDataStorage userStorage;
+	
+	/**
+	 * Creates a facade which runs blocking work on the {@linkplain GameJolt#getExecutor() executor} of the given {@linkplain GameJolt} instance.
+	 * @param gj the {@linkplain GameJolt} instance that should be used
+	 * @since 1.1.0
+	 */
+	public AsyncGameJolt(GameJolt gj) {
+		
+		this(gj, null);
+	}
+	
+	/**
+	 * @param gj the {@linkplain GameJolt} instance that should be used
+	 * @param executor the {@linkplain Executor} on which blocking work may be done, or {@code null} to use the one of the {@linkplain GameJolt} instance
+	 * @since 1.1.0
+	 */
+	public AsyncGameJolt(GameJolt gj, Executor executor) {
+		
+		this.gj = gj;
+		this.executor = executor;
+		this.session = new AsyncGameJoltSession(this, gj.getSession());
+		this.globalStorage = new AsyncGameJoltDataStorage(this, gj.getGlobalDataStorage());
+		this.userStorage = new AsyncGameJoltDataStorage(this, gj.getUserDataStorage());
+	}
+	
+	/**
+	 * @return the {@linkplain GameJolt} instance this facade belongs to
+	 * @since 1.1.0
+	 */
+	public GameJolt getServiceConsumer() {
+		
+		return this.gj;
+	}
+	
+	/**
+	 * @return the global data storage
+	 * @since 1.1.0
+	 */
+	public AsyncGameJoltDataStorage getGlobalDataStorage() {
+		
+		return this.globalStorage;
+	}
+	
+	/**
+	 * @return the data storage for the currently logged in user
+	 * @since 1.1.0
+	 */
+	public AsyncGameJoltDataStorage getUserDataStorage() {
+		
+		return this.userStorage;
+	}
+	
+	/**
+	 * @return the session for the currently logged in user
+	 * @since 1.1.0
+	 */
+	public AsyncGameJoltSession getSession() {
+		
+		return this.session;
+	}
+	
+	// ---------------------------------------------------------------------------------------------
+	
+	/**
+	 * Achieves a trophy.
+	 * @param trophy_id the trophy ID
+	 * @return a future that completes when the trophy was achieved
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> achieveTrophyAsync(long trophy_id) {
+		
+		return this.execute(this.gj.createAchieveTrophyRequest(trophy_id));
+	}
+	
+	/**
+	 * @return a future that completes with the score tables
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltScoreTable>> getScoreTablesAsync() {
+		
+		return this.execute(this.gj.createScoreTablesRequest());
+	}
+	
+	/**
+	 * @param sort the sort value of a score
+	 * @return a future that completes with the rank for the given sort value on the primary table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Integer> getRankAsync(int sort) {
+		
+		return this.execute(this.gj.createRankRequest(sort, null));
+	}
+	
+	/**
+	 * @param sort the sort value of a score
+	 * @param table_id the ID of the table on which you want to check the rank
+	 * @return a future that completes with the rank for the given sort value
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Integer> getRankAsync(int sort, long table_id) {
+		
+		return this.execute(this.gj.createRankRequest(sort, table_id));
+	}
+	
+	/**
+	 * Adds a new score for the currently logged in user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addUserScoreAsync(String score, int sort) {
+		
+		return this.execute(this.gj.createAddScoreRequest(score, sort, null, null, null));
+	}
+	
+	/**
+	 * Adds a new score for the currently logged in user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param extra_data some extra data
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addUserScoreAsync(String score, int sort, String extra_data) {
+		
+		return this.execute(this.gj.createAddScoreRequest(score, sort, null, null, extra_data));
+	}
+	
+	/**
+	 * Adds a new score for the currently logged in user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param table_id the ID of the table this score should be added to
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addUserScoreAsync(String score, int sort, long table_id) {
+		
+		return this.execute(this.gj.createAddScoreRequest(score, sort, table_id, null, null));
+	}
+	
+	/**
+	 * Adds a new score for the currently logged in user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param table_id the ID of the table this score should be added to
+	 * @param extra_data some extra data
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addUserScoreAsync(String score, int sort, long table_id, String extra_data) {
+		
+		return this.execute(this.gj.createAddScoreRequest(score, sort, table_id, null, extra_data));
+	}
+	
+	/**
+	 * Adds a new score for a guest user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param guest the name of the guest user who made this score
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addGuestScoreAsync(String score, int sort, String guest) {
+		
+		return this.execute(this.gj.createAddScoreRequest(score, sort, null, guest, null));
+	}
+	
+	/**
+	 * Adds a new score for a guest user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param guest the name of the guest user who made this score
+	 * @param extra_data some extra data
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addGuestScoreAsync(String score, int sort, String guest, String extra_data) {
+		
+		return this.execute(this.gj.createAddScoreRequest(score, sort, null, guest, extra_data));
+	}
+	
+	/**
+	 * Adds a new score for a guest user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param guest the name of the guest user who made this score
+	 * @param table_id the ID of the table this score should be added to
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addGuestScoreAsync(String score, int sort, String guest, long table_id) {
+		
+		return this.execute(this.gj.createAddScoreRequest(score, sort, table_id, guest, null));
+	}
+	
+	/**
+	 * Adds a new score for a guest user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param guest the name of the guest user who made this score
+	 * @param table_id the ID of the table this score should be added to
+	 * @param extra_data some extra data
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addGuestScoreAsync(String score, int sort, String guest, long table_id, String extra_data) {
+		
+		return this.execute(this.gj.createAddScoreRequest(score, sort, table_id, guest, extra_data));
+	}
+	
+	/**
+	 * @return a future that completes with the top ten scores from the primary table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltScore>> getScoresAsync() {
+		
+		return this.execute(this.gj.createScoresRequest(false, null, null));
+	}
+	
+	/**
+	 * @param limit the limit of scores that should be returned (1 - 100)
+	 * @return a future that completes with a list of scores from the primary table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltScore>> getScoresAsync(int limit) {
+		
+		return this.execute(this.gj.createScoresRequest(false, limit, null));
+	}
+	
+	/**
+	 * @param table_id the ID of the table from which the scores should be fetched
+	 * @return a future that completes with the top ten scores from the given table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltScore>> getScoresAsync(long table_id) {
+		
+		return this.execute(this.gj.createScoresRequest(false, null, table_id));
+	}
+	
+	/**
+	 * @param table_id the ID of the table from which the scores should be fetched
+	 * @param limit the limit of scores that should be returned (1 - 100)
+	 * @return a future that completes with a list of scores from the given table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltScore>> getScoresAsync(long table_id, int limit) {
+		
+		return this.execute(this.gj.createScoresRequest(false, limit, table_id));
+	}
+	
+	/**
+	 * @param limit the limit of scores that should be returned (1 - 100)
+	 * @return a future that completes with a snapshot of the scores from the primary table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<GameJoltScoreTableSnapshot> getScoreTableSnapshotAsync(int limit) {
+		
+		return this.execute(this.gj.createSnapshotRequest(limit, null));
+	}
+	
+	/**
+	 * @param table_id the ID of the table from which the scores should be fetched
+	 * @param limit the limit of scores that should be returned (1 - 100)
+	 * @return a future that completes with a snapshot of the scores from the given table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<GameJoltScoreTableSnapshot> getScoreTableSnapshotAsync(long table_id, int limit) {
+		
+		return this.execute(this.gj.createSnapshotRequest(limit, table_id));
+	}
+	
+	/**
+	 * @return a future that completes with the top ten scores of the currently logged in user on the primary table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltScore>> getUserScoresAsync() {
+		
+		return this.execute(this.gj.createScoresRequest(true, null, null));
+	}
+	
+	/**
+	 * @param limit the limit of scores that should be returned (1 - 100)
+	 * @return a future that completes with a list of scores for the currently logged in user from the primary table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltScore>> getUserScoresAsync(int limit) {
+		
+		return this.execute(this.gj.createScoresRequest(true, limit, null));
+	}
+	
+	/**
+	 * @param table_id the ID of the table from which the scores should be fetched
+	 * @return a future that completes with the top ten scores of the currently logged in user on the given table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltScore>> getUserScoresAsync(long table_id) {
+		
+		return this.execute(this.gj.createScoresRequest(true, null, table_id));
+	}
+	
+	/**
+	 * @param table_id the ID of the table from which the scores should be fetched
+	 * @param limit the limit of scores that should be returned (1 - 100)
+	 * @return a future that completes with a list of scores for the currently logged in user from the given table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltScore>> getUserScoresAsync(long table_id, int limit) {
+		
+		return this.execute(this.gj.createScoresRequest(true, limit, table_id));
+	}
+	
+	/**
+	 * @return a future that completes with the current server time
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<GameJoltServerTime> getServerTimeAsync() {
+		
+		return this.execute(this.gj.createServerTimeRequest());
+	}
+	
+	/**
+	 * @return a future that completes with a list of trophies
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltTrophy>> getTrophiesAsync() {
+		
+		return this.execute(this.gj.createTrophiesRequest(null, null));
+	}
+	
+	/**
+	 * @param achieved {@code true} if only trophies that were already achieved by this user should be returned, {@code false} if only those that aren't achieved by the user should be returned
+	 * @return a future that completes with a list of trophies
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltTrophy>> getTrophiesAsync(boolean achieved) {
+		
+		return this.execute(this.gj.createTrophiesRequest(achieved, null));
+	}
+	
+	/**
+	 * @param trophy_ids the trophy IDs
+	 * @return a future that completes with the trophies with the given IDs
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltTrophy>> getTrophiesAsync(Collection<Long> trophy_ids) {
+		
+		return this.getTrophiesAsync(Util.toLongArray(trophy_ids));
+	}
+	
+	/**
+	 * @param trophy_ids the trophy IDs
+	 * @return a future that completes with the trophies with the given IDs
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltTrophy>> getTrophiesAsync(long[] trophy_ids) {
+		
+		return this.execute(this.gj.createTrophiesRequest(null, trophy_ids));
+	}
+	
+	/**
+	 * @param trophy_id the trophy ID
+	 * @return a future that completes with the trophy with the given ID
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<GameJoltTrophy> getTrophyAsync(long trophy_id) {
+		
+		return this.getTrophiesAsync(new long[] {trophy_id}).thenApply(trophies -> trophies.get(0));
+	}
+	
+	/**
+	 * @param user_ids the user IDs
+	 * @return a future that completes with the users with the given IDs
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltUser>> getUsersAsync(Collection<Long> user_ids) {
+		
+		return this.getUsersAsync(Util.toLongArray(user_ids));
+	}
+	
+	/**
+	 * @param user_ids the user IDs
+	 * @return a future that completes with the users with the given IDs
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltUser>> getUsersAsync(long[] user_ids) {
+		
+		return this.execute(this.gj.createUsersRequest(user_ids));
+	}
+	
+	/**
+	 * @param user_id the user ID
+	 * @return a future that completes with the user with the given ID
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<GameJoltUser> getUserAsync(long user_id) {
+		
+		GameJoltUserLoader userLoader = this.gj.getUserLoader();
+		return userLoader != null ? userLoader.load(user_id) : this.getUsersAsync(new long[] {user_id}).thenApply(users -> users.get(0));
+	}
+	
+	/**
+	 * @param username the username
+	 * @return a future that completes with the user with the given username
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<GameJoltUser> getUserAsync(String username) {
+		
+		return this.execute(this.gj.createUserRequest(username));
+	}
+	
+	/**
+	 * @return a future that completes with the currently logged in user
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<GameJoltUser> getUserAsync() {
+		
+		GameJoltCredentials credentials = this.gj.getCredentials();
+		return this.getUserAsync(credentials != null ? credentials.getUsername() : null);
+	}
+	
+	/**
+	 * Authenticates a user. If authentication failed the future is completed with a {@linkplain GameJoltException}.
+	 * @param username the username
+	 * @param user_token the token of the user
+	 * @return a future that completes when the user was logged in
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> loginAsync(String username, String user_token) {
+		
+		return this.execute(this.gj.createLoginRequest(username, user_token));
+	}
+	
+	// ---------------------------------------------------------------------------------------------
+	
+	final <T> CompletableFuture<T> execute(GameJoltRequest<T> request) {
+		
+		return this.gj.executeAsync(request, this.executor != null ? this.executor : this.gj.getExecutor());
+	}
+}
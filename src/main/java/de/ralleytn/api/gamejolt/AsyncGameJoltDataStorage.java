@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import de.ralleytn.api.gamejolt.GameJoltDataStorage.Operation;
+
+/**
+ * Asynchronous facade for a {@linkplain GameJoltDataStorage}.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class AsyncGameJoltDataStorage {
+
+	private final AsyncGameJolt async;
+	private final GameJoltDataStorage storage;
+	
+	AsyncGameJoltDataStorage(AsyncGameJolt async, GameJoltDataStorage storage) {
+		
+		this.async = async;
+		this.storage = storage;
+	}
+	
+	/**
+	 * Updates an entry.
+	 * @param key the entry key
+	 * @param value the value
+	 * @param operation the operation
+	 * @return a future that completes with the new value of the entry
+	 * @since 1.1.0
+	 */
+	public final CompletableFuture<String> updateAsync(String key, String value, Operation operation) {
+		
+		return this.async.execute(this.storage.createUpdateRequest(key, value, operation));
+	}
+	
+	/**
+	 * Replaces the data of an old entry or creates a new entry.
+	 * @param key the entry key
+	 * @param data the data
+	 * @return a future that completes when the data was stored
+	 * @since 1.1.0
+	 */
+	public final CompletableFuture<Void> setAsync(String key, String data) {
+		
+		List<String> chunks = this.storage.split(this.storage.compress(data));
+		
+		if(chunks.size() == 1) {
+			
+			return this.async.execute(this.storage.createSetRequest(key, chunks.get(0)));
+		}
+		
+		GameJoltBatch batch = this.storage.getServiceConsumer().createBatch().setParallel(true);
+		CompletableFuture<Void> stored = this.storage.addChunkWrites(batch, key, chunks);
+		return batch.executeAsync().thenCompose(executed -> stored).thenCompose(written -> this.async.execute(this.storage.createManifestRequest(key, chunks.size())));
+	}
+	
+	/**
+	 * Removes an entry.
+	 * @param key the entry key
+	 * @return a future that completes when the entry was removed
+	 * @since 1.1.0
+	 */
+	public final CompletableFuture<Void> removeAsync(String key) {
+		
+		if(this.storage.getChunkSize() == 0) {
+			
+			return this.async.execute(this.storage.createRemoveRequest(key));
+		}
+		
+		String data = this.storage.getLocal(key);
+		CompletableFuture<String> manifest = data != null ? CompletableFuture.completedFuture(data) : this.async.execute(this.storage.createGetRequest(key));
+		
+		return manifest.handle((result, exception) -> GameJoltDataStorage.getChunkCount(result)).thenCompose(count -> {
+			
+			if(count == 0) {
+				
+				return this.async.execute(this.storage.createRemoveRequest(key));
+			}
+			
+			GameJoltBatch batch = this.storage.getServiceConsumer().createBatch().setParallel(true);
+			CompletableFuture<Void> removed = this.storage.addChunkRemoves(batch, key, count);
+			return batch.executeAsync().thenCompose(executed -> removed);
+		});
+	}
+	
+	/**
+	 * @param key the entry key
+	 * @return a future that completes with the data of an entry
+	 * @since 1.1.0
+	 */
+	public final CompletableFuture<String> getAsync(String key) {
+		
+		String local = this.storage.getLocal(key);
+		CompletableFuture<String> stored = local != null ? CompletableFuture.completedFuture(local) : this.async.execute(this.storage.createGetRequest(key));
+		
+		return stored.thenCompose(data -> {
+			
+			int count = GameJoltDataStorage.getChunkCount(data);
+			
+			if(count == 0) {
+				
+				return CompletableFuture.completedFuture(data);
+			}
+			
+			GameJoltBatch batch = this.storage.getServiceConsumer().createBatch().setParallel(true);
+			CompletableFuture<String> joined = this.storage.addChunkReads(batch, key, count);
+			return batch.size() > 0 ? batch.executeAsync().thenCompose(executed -> joined) : joined;
+			
+		}).thenCompose(data -> {
+			
+			try {
+				
+				return CompletableFuture.completedFuture(this.storage.decompress(data));
+				
+			} catch(GameJoltException exception) {
+				
+				return CompletableFuture.failedFuture(exception);
+			}
+		});
+	}
+	
+	/**
+	 * @return a future that completes with a list of entry keys
+	 * @since 1.1.0
+	 */
+	public final CompletableFuture<List<String>> getKeysAsync() {
+		
+		return this.getKeysAsync(null);
+	}
+	
+	/**
+	 * @param pattern the pattern
+	 * @return a future that completes with a list of entry keys based on the given pattern
+	 * @since 1.1.0
+	 */
+	public final CompletableFuture<List<String>> getKeysAsync(String pattern) {
+		
+		return this.async.execute(this.storage.createGetKeysRequest(pattern));
+	}
+	
+	/**
+	 * @return the blocking data storage this facade belongs to
+	 * @since 1.1.0
+	 */
+	public final GameJoltDataStorage getDataStorage() {
+		
+		return this.storage;
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.util.concurrent.CompletableFuture;
+
+import de.ralleytn.api.gamejolt.GameJoltSession.Status;
+
+/**
+ * Asynchronous facade for a {@linkplain GameJoltSession}.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class AsyncGameJoltSession {
+
+	private final AsyncGameJolt async;
+	private final GameJoltSession session;
+	
+	AsyncGameJoltSession(AsyncGameJolt async, GameJoltSession session) {
+		
+		this.async = async;
+		this.session = session;
+	}
+	
+	/**
+	 * Opens a new session.
+	 * @return a future that completes when the session was opened
+	 * @since 1.1.0
+	 */
+	public final CompletableFuture<Void> openAsync() {
+		
+		return this.async.execute(this.session.createRequest("/sessions/open"));
+	}
+	
+	/**
+	 * Pings a running session. Should be done every 30 seconds after opening a session.
+	 * @return a future that completes when the session was pinged
+	 * @since 1.1.0
+	 */
+	public final CompletableFuture<Void> pingAsync() {
+		
+		return this.pingAsync(null);
+	}
+	
+	/**
+	 * Pings a running session. Should be done every 30 seconds after opening a session.
+	 * @param status the session status
+	 * @return a future that completes when the session was pinged
+	 * @since 1.1.0
+	 */
+	public final CompletableFuture<Void> pingAsync(Status status) {
+		
+		return this.async.execute(this.session.createPingRequest(status));
+	}
+	
+	/**
+	 * @return a future that completes with {@code true} if there is still an open session, else {@code false}
+	 * @since 1.1.0
+	 */
+	public final CompletableFuture<Boolean> isOpenAsync() {
+		
+		return this.async.execute(this.session.createCheckRequest());
+	}
+	
+	/**
+	 * Closes a running session.
+	 * @return a future that completes when the session was closed
+	 * @since 1.1.0
+	 */
+	public final CompletableFuture<Void> closeAsync() {
+		
+		return this.async.execute(this.session.createRequest("/sessions/close"));
+	}
+	
+	/**
+	 * @return the blocking session this facade belongs to
+	 * @since 1.1.0
+	 */
+	public final GameJoltSession getSession() {
+		
+		return this.session;
+	}
+}
@@ -24,11 +24,25 @@
 package de.ralleytn.api.gamejolt;
 
 import java.io.IOException;
-import java.net.HttpURLConnection;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
 import de.ralleytn.api.gamejolt.internal.Util;
 import de.ralleytn.simple.json.JSONObject;
@@ -47,14 +61,32 @@ public class GameJolt {
 	private static final String PROTOCOL = "https";
 	private static final String DOMAIN = "gamejolt.com";
 	private static final String SERVICE_URL = "/api/game/v1_1";
+	private static final String BATCH_SERVICE_URL = "/api/game/v1_2";
+	private static final ThreadLocal<StringBuilder> URL_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+	private static final Executor DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		
+		Thread thread = new Thread(runnable, "GameJolt-Async");
+		thread.setDaemon(true);
+		return thread;
+	});
 	
 	private int gameId;
-	private String privateKey;
+	private final byte[] privateKey;
+	private volatile SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.SHA1;
+	private GameJoltTransport transport;
+	private volatile Executor executor;
+	private volatile GameJoltAutoBatcher autoBatcher;
+	private volatile GameJoltUserLoader userLoader;
+	private volatile boolean retainJSON;
+	private volatile GameJoltCache cache;
+	private volatile GameJoltRetryPolicy retryPolicy;
+	private volatile GameJoltRateLimiter rateLimiter;
+	private volatile GameJoltConfig config = new GameJoltConfig();
+	private final Map<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
 	private GameJoltSession session;
 	private GameJoltDataStorage globalStorage;
 	private GameJoltDataStorage userStorage;
-	private String username;
-	private String user_token;
+	private volatile GameJoltCredentials credentials;
 	
 	/**
 	 * @param gameId the game ID
@@ -63,8 +95,21 @@ public class GameJolt {
 	 */
 	public GameJolt(int gameId, String privateKey) {
 		
+		this(gameId, privateKey, new GameJoltURLConnectionTransport());
+	}
+	
+	/**
+	 * @param gameId the game ID
+	 * @param privateKey the private key of the game
+	 * @param transport the transport that should be used to send requests
+	 * @since 1.1.0
+	 */
+	public GameJolt(int gameId, String privateKey, GameJoltTransport transport) {
+		
 		this.gameId = gameId;
-		this.privateKey = privateKey;
+		this.privateKey = String.valueOf(privateKey).getBytes(StandardCharsets.UTF_8);
+		this.transport = transport;
+		this.executor = GameJolt.DEFAULT_EXECUTOR;
 		this.session = new GameJoltSession(this);
 		this.globalStorage = new GameJoltDataStorage(this, true);
 		this.userStorage = new GameJoltDataStorage(this, false);
@@ -97,6 +142,304 @@ public class GameJolt {
 		return this.session;
 	}
 	
+	/**
+	 * @return the transport that is used to send requests
+	 * @since 1.1.0
+	 */
+	public GameJoltTransport getTransport() {
+		
+		return this.transport;
+	}
+	
+	/**
+	 * Creates a new batch. A batch sends many requests as a single call to GameJolt.
+	 * @return the new batch
+	 * @since 1.1.0
+	 */
+	public GameJoltBatch createBatch() {
+		
+		return new GameJoltBatch(this);
+	}
+	
+	/**
+	 * Enables the automatic batching of requests. Requests that are made within the given time window, from any thread,
+	 * are merged into a single {@linkplain GameJoltBatch} and each caller gets the result of its own request.
+	 * A window is sent early once it contains the given number of requests.
+	 * This trades a little latency for a lot fewer round trips when many requests are made at the same moment.
+	 * @param window the time window
+	 * @param unit the unit of the time window
+	 * @param maxRequests the maximum number of requests in one window (at most {@value GameJoltBatch#MAX_REQUESTS})
+	 * @since 1.1.0
+	 */
+	public void enableAutoBatching(long window, TimeUnit unit, int maxRequests) {
+		
+		if(window <= 0 || maxRequests < 1) {
+			
+			throw new IllegalArgumentException("The window and the maximum number of requests have to be positive!");
+		}
+		
+		this.disableAutoBatching();
+		this.autoBatcher = new GameJoltAutoBatcher(this, unit.toNanos(window), maxRequests);
+	}
+	
+	/**
+	 * Disables the automatic batching of requests. Requests that are still waiting for their window to close are sent immediately.
+	 * @since 1.1.0
+	 */
+	public void disableAutoBatching() {
+		
+		GameJoltAutoBatcher autoBatcher = this.autoBatcher;
+		this.autoBatcher = null;
+		
+		if(autoBatcher != null) {
+			
+			autoBatcher.close();
+		}
+	}
+	
+	/**
+	 * @return {@code true} if requests are batched automatically, else {@code false}
+	 * @since 1.1.0
+	 */
+	public boolean isAutoBatching() {
+		
+		return this.autoBatcher != null;
+	}
+	
+	/**
+	 * Enables the coalescing of user lookups. Users that are requested by their ID with {@link #getUser(long)} within the given time window,
+	 * from any thread, are fetched with a single call and each caller gets its own user back.
+	 * A window is sent early once it contains the given number of users.
+	 * @param window the time window
+	 * @param unit the unit of the time window
+	 * @param maxUsers the maximum number of users that are fetched with one call
+	 * @since 1.1.0
+	 */
+	public void enableUserLoading(long window, TimeUnit unit, int maxUsers) {
+		
+		if(window <= 0 || maxUsers < 1) {
+			
+			throw new IllegalArgumentException("The window and the maximum number of users have to be positive!");
+		}
+		
+		this.disableUserLoading();
+		this.userLoader = new GameJoltUserLoader(this, unit.toNanos(window), maxUsers);
+	}
+	
+	/**
+	 * Disables the coalescing of user lookups. Users that are still waiting for their window to close are fetched immediately.
+	 * @since 1.1.0
+	 */
+	public void disableUserLoading() {
+		
+		GameJoltUserLoader userLoader = this.userLoader;
+		this.userLoader = null;
+		
+		if(userLoader != null) {
+			
+			userLoader.close();
+		}
+	}
+	
+	/**
+	 * @return {@code true} if user lookups are coalesced, else {@code false}
+	 * @since 1.1.0
+	 */
+	public boolean isUserLoading() {
+		
+		return this.userLoader != null;
+	}
+	
+	/**
+	 * Sets whether objects like scores, users and trophies keep the JSON data they were decoded from.
+	 * Their attributes are always decoded once when they are created. If the JSON data is not kept,
+	 * {@code getJSON()} encodes it again from the decoded attributes, which saves a lot of memory when holding many objects.
+	 * Objects that were already created are not affected.
+	 * @param retainJSON {@code true} to keep the JSON data, {@code false} to drop it (default)
+	 * @since 1.1.0
+	 */
+	public void setRetainingJSON(boolean retainJSON) {
+		
+		this.retainJSON = retainJSON;
+	}
+	
+	/**
+	 * @return {@code true} if created objects keep the JSON data they were decoded from, else {@code false}
+	 * @since 1.1.0
+	 */
+	public boolean isRetainingJSON() {
+		
+		return this.retainJSON;
+	}
+	
+	/**
+	 * Sets the policy that decides when failed requests are sent again and when endpoints that keep failing are not asked for a while.
+	 * @param retryPolicy the policy, or {@code null} to send every request exactly once (default)
+	 * @since 1.1.0
+	 */
+	public void setRetryPolicy(GameJoltRetryPolicy retryPolicy) {
+		
+		this.retryPolicy = retryPolicy;
+	}
+	
+	/**
+	 * @return the retry policy, or {@code null} if there is none
+	 * @since 1.1.0
+	 */
+	public GameJoltRetryPolicy getRetryPolicy() {
+		
+		return this.retryPolicy;
+	}
+	
+	/**
+	 * Sets the limiter that decides how many calls are sent to the server per second and which requests go first when there are too many.
+	 * Every attempt of a retried request takes a token as well.
+	 * @param rateLimiter the limiter, or {@code null} to send requests as soon as they are executed (default)
+	 * @since 1.1.0
+	 */
+	public void setRateLimiter(GameJoltRateLimiter rateLimiter) {
+		
+		this.rateLimiter = rateLimiter;
+	}
+	
+	/**
+	 * @return the rate limiter, or {@code null} if there is none
+	 * @since 1.1.0
+	 */
+	public GameJoltRateLimiter getRateLimiter() {
+		
+		return this.rateLimiter;
+	}
+	
+	/**
+	 * Sets the timeouts and deadlines of the calls to the server.
+	 * @param config the configuration, or {@code null} to use the defaults
+	 * @since 1.1.0
+	 */
+	public void setConfig(GameJoltConfig config) {
+		
+		this.config = config != null ? config : new GameJoltConfig();
+	}
+	
+	/**
+	 * @return the configuration of the timeouts and deadlines; changes to it apply to the next call
+	 * @since 1.1.0
+	 */
+	public GameJoltConfig getConfig() {
+		
+		return this.config;
+	}
+	
+	/**
+	 * Sets the hash algorithm requests are signed with. The GameJolt API accepts both.
+	 * @param signatureAlgorithm the algorithm; {@linkplain SignatureAlgorithm#SHA1} by default
+	 * @since 1.1.0
+	 */
+	public void setSignatureAlgorithm(SignatureAlgorithm signatureAlgorithm) {
+		
+		this.signatureAlgorithm = signatureAlgorithm;
+	}
+	
+	/**
+	 * @return the hash algorithm requests are signed with
+	 * @since 1.1.0
+	 */
+	public SignatureAlgorithm getSignatureAlgorithm() {
+		
+		return this.signatureAlgorithm;
+	}
+	
+	/**
+	 * Sets the cache that serves the results of rarely changing endpoints like score tables, trophies and users from memory.
+	 * @param cache the cache, or {@code null} to always ask the server (default)
+	 * @since 1.1.0
+	 */
+	public void setCache(GameJoltCache cache) {
+		
+		this.cache = cache;
+	}
+	
+	/**
+	 * @return the cache, or {@code null} if there is none
+	 * @since 1.1.0
+	 */
+	public GameJoltCache getCache() {
+		
+		return this.cache;
+	}
+	
+	/**
+	 * Sets the {@linkplain Executor} on which asynchronous and bulk requests are run.
+	 * Use a {@linkplain GameJoltExecutor} to run them on virtual threads with a limited concurrency.
+	 * @param executor the executor
+	 * @since 1.1.0
+	 */
+	public void setExecutor(Executor executor) {
+		
+		this.executor = executor;
+	}
+	
+	/**
+	 * @return the {@linkplain Executor} on which asynchronous and bulk requests are run
+	 * @since 1.1.0
+	 */
+	public Executor getExecutor() {
+		
+		return this.executor;
+	}
+	
+	/**
+	 * Runs all given tasks on the {@linkplain #getExecutor() executor} and waits until every one of them is finished.
+	 * This is meant to fan out many blocking calls, like one per player, without managing threads by hand.
+	 * @param tasks the tasks
+	 * @param <T> the result type of the tasks
+	 * @return the finished futures in the same order as the tasks
+	 * @throws InterruptedException if the current thread was interrupted while waiting; unfinished tasks are cancelled
+	 * @since 1.1.0
+	 */
+	public <T> List<Future<T>> invokeAll(List<? extends Callable<T>> tasks) throws InterruptedException {
+		
+		List<Future<T>> futures = new ArrayList<>(tasks.size());
+		Executor executor = this.executor;
+		
+		for(Callable<T> task : tasks) {
+			
+			FutureTask<T> future = new FutureTask<>(task);
+			futures.add(future);
+			executor.execute(future);
+		}
+		
+		boolean finished = false;
+		
+		try {
+			
+			for(Future<T> future : futures) {
+				
+				try {
+					
+					future.get();
+					
+				} catch(ExecutionException | CancellationException exception) {
+					
+					// the outcome stays available through the future
+				}
+			}
+			
+			finished = true;
+			return futures;
+			
+		} finally {
+			
+			if(!finished) {
+				
+				for(Future<T> future : futures) {
+					
+					future.cancel(true);
+				}
+			}
+		}
+	}
+	
 	/**
 	 * @return the service name
 	 * @since 1.0.0
@@ -121,8 +464,7 @@ public class GameJolt {
 	 */
 	public void logout() {
 		
-		this.username = null;
-		this.user_token = null;
+		this.credentials = null;
 	}
 	
 	/**
@@ -131,7 +473,22 @@ public class GameJolt {
 	 */
 	public boolean isUserLoggedIn() {
 		
-		return this.user_token != null;
+		GameJoltCredentials credentials = this.credentials;
+		return credentials != null && credentials.getUserToken() != null;
+	}
+	
+	/**
+	 * Creates a handle for the requests of a single user that doesn't depend on who is {@linkplain #login(String, String) logged in}.
+	 * Any number of users can be served by this instance at the same time from any number of threads this way,
+	 * sharing its transport, cache and batching. The credentials are not checked; use {@link GameJoltUserContext#authenticate()} for that.
+	 * @param username the name of the user
+	 * @param user_token the token of the user
+	 * @return the handle
+	 * @since 1.1.0
+	 */
+	public GameJoltUserContext as(String username, String user_token) {
+		
+		return new GameJoltUserContext(this, new GameJoltCredentials(username, user_token));
 	}
 	
 	// ---------------------------------------------------------------------------------------------
@@ -148,13 +505,20 @@ public class GameJolt {
 	 */
 	public void achieveTrophy(long trophy_id) throws IOException, GameJoltException, JSONParseException {
 		
-		Map<String, Object> params = new HashMap<>();
-		params.put("username", this.username);
-		params.put("user_token", this.user_token);
+		this.execute(this.createAchieveTrophyRequest(trophy_id));
+	}
+	
+	final GameJoltRequest<Void> createAchieveTrophyRequest(long trophy_id) {
+		
+		return this.createAchieveTrophyRequest(this.credentials, trophy_id);
+	}
+	
+	final GameJoltRequest<Void> createAchieveTrophyRequest(GameJoltCredentials credentials, long trophy_id) {
+		
+		Map<String, Object> params = GameJoltCredentials.put(credentials, new HashMap<>());
 		params.put("trophy_id", trophy_id);
 		
-		JSONObject response = this.get("/trophies/add-achieved", params);
-		this.checkStatus(response);
+		return new GameJoltRequest<Void>("/trophies/add-achieved", params, null, response -> null).invalidates("/trophies");
 	}
 	
 	// ==== GET /scores/tables
@@ -168,9 +532,12 @@ public class GameJolt {
 	 */
 	public List<GameJoltScoreTable> getScoreTables() throws IOException, GameJoltException, JSONParseException {
 		
-		JSONObject response = this.get("/scores/tables", null);
-		this.checkStatus(response);
-		return Util.toList(response.getArray("tables"), GameJoltScoreTable.class, this);
+		return this.execute(this.createScoreTablesRequest());
+	}
+	
+	final GameJoltRequest<List<GameJoltScoreTable>> createScoreTablesRequest() {
+		
+		return GameJoltRequest.list(this, "/scores/tables", new HashMap<>(), "tables", GameJoltScoreTable::new).cacheable();
 	}
 	
 	// ==== GET /scores/get-rank
@@ -185,7 +552,7 @@ public class GameJolt {
 	 */
 	public Integer getRank(int sort) throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getRank(sort, null);
+		return this.execute(this.createRankRequest(sort, null));
 	}
 	
 	/**
@@ -199,10 +566,10 @@ public class GameJolt {
 	 */
 	public Integer getRank(int sort, long table_id) throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getRank(sort, (Long)table_id);
+		return this.execute(this.createRankRequest(sort, table_id));
 	}
 
-	private Integer getRank(int sort, Long table_id) throws IOException, GameJoltException, JSONParseException {
+	final GameJoltRequest<Integer> createRankRequest(int sort, Long table_id) {
 		
 		Map<String, Object> params = new HashMap<>();
 		params.put("sort", sort);
@@ -212,9 +579,7 @@ public class GameJolt {
 			params.put("table_id", table_id);
 		}
 		
-		JSONObject response = this.get("/scores/get-rank", params);
-		this.checkStatus(response);
-		return response.getInteger("rank");
+		return new GameJoltRequest<>("/scores/get-rank", params, null, response -> response.getInteger("rank")).read();
 	}
 	
 	// ==== GET|POST /scores/add
@@ -230,7 +595,7 @@ public class GameJolt {
 	 */
 	public void addUserScore(String score, int sort) throws IOException, GameJoltException, JSONParseException {
 		
-		this.addScore(score, sort, null, null, null);
+		this.execute(this.createAddScoreRequest(score, sort, null, null, null));
 	}
 	
 	/**
@@ -245,7 +610,7 @@ public class GameJolt {
 	 */
 	public void addUserScore(String score, int sort, String extra_data) throws IOException, GameJoltException, JSONParseException {
 		
-		this.addScore(score, sort, null, null, extra_data);
+		this.execute(this.createAddScoreRequest(score, sort, null, null, extra_data));
 	}
 	
 	/**
@@ -260,7 +625,7 @@ public class GameJolt {
 	 */
 	public void addUserScore(String score, int sort, long table_id) throws IOException, GameJoltException, JSONParseException {
 		
-		this.addScore(score, sort, table_id, null, null);
+		this.execute(this.createAddScoreRequest(score, sort, table_id, null, null));
 	}
 	
 	/**
@@ -276,7 +641,7 @@ public class GameJolt {
 	 */
 	public void addUserScore(String score, int sort, long table_id, String extra_data) throws IOException, GameJoltException, JSONParseException {
 
-		this.addScore(score, sort, table_id, null, extra_data);
+		this.execute(this.createAddScoreRequest(score, sort, table_id, null, extra_data));
 	}
 	
 	/**
@@ -291,7 +656,7 @@ public class GameJolt {
 	 */
 	public void addGuestScore(String score, int sort, String guest) throws IOException, GameJoltException, JSONParseException {
 
-		this.addScore(score, sort, null, guest, null);
+		this.execute(this.createAddScoreRequest(score, sort, null, guest, null));
 	}
 	
 	/**
@@ -307,7 +672,7 @@ public class GameJolt {
 	 */
 	public void addGuestScore(String score, int sort, String guest, String extra_data) throws IOException, GameJoltException, JSONParseException {
 
-		this.addScore(score, sort, null, guest, extra_data);
+		this.execute(this.createAddScoreRequest(score, sort, null, guest, extra_data));
 	}
 	
 	/**
@@ -323,7 +688,7 @@ public class GameJolt {
 	 */
 	public void addGuestScore(String score, int sort, String guest, long table_id) throws IOException, GameJoltException, JSONParseException {
 	
-		this.addScore(score, sort, table_id, guest, null);
+		this.execute(this.createAddScoreRequest(score, sort, table_id, guest, null));
 	}
 	
 	/**
@@ -340,10 +705,15 @@ public class GameJolt {
 	 */
 	public void addGuestScore(String score, int sort, String guest, long table_id, String extra_data) throws IOException, GameJoltException, JSONParseException {
 		
-		this.addScore(score, sort, table_id, guest, extra_data);
+		this.execute(this.createAddScoreRequest(score, sort, table_id, guest, extra_data));
 	}
 
-	private final void addScore(String score, int sort, Long table_id, String guest, String extra_data) throws IOException, GameJoltException, JSONParseException {
+	final GameJoltRequest<Void> createAddScoreRequest(String score, int sort, Long table_id, String guest, String extra_data) {
+		
+		return this.createAddScoreRequest(guest == null ? this.credentials : null, score, sort, table_id, guest, extra_data);
+	}
+	
+	final GameJoltRequest<Void> createAddScoreRequest(GameJoltCredentials credentials, String score, int sort, Long table_id, String guest, String extra_data) {
 		
 		Map<String, Object> postParams = new HashMap<>();
 		postParams.put("extra_data", extra_data);
@@ -363,13 +733,10 @@ public class GameJolt {
 			
 		} else {
 			
-			params.put("username", this.username);
-			params.put("user_token", this.user_token);
+			GameJoltCredentials.put(credentials, params);
 		}
 		
-		final String endpoint = "/scores/add";
-		JSONObject response = extra_data != null ? this.post(endpoint, params, postParams) : this.get(endpoint, params);
-		this.checkStatus(response);
+		return new GameJoltRequest<>("/scores/add", params, extra_data != null ? postParams : null, response -> null);
 	}
 	
 	// ==== GET /scores
@@ -383,7 +750,7 @@ public class GameJolt {
 	 */
 	public List<GameJoltScore> getScores() throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getScores(false, null, null);
+		return this.execute(this.createScoresRequest(false, null, null));
 	}
 	
 	/**
@@ -396,7 +763,7 @@ public class GameJolt {
 	 */
 	public List<GameJoltScore> getScores(int limit) throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getScores(false, limit, null);
+		return this.execute(this.createScoresRequest(false, limit, null));
 	}
 	
 	/**
@@ -409,7 +776,7 @@ public class GameJolt {
 	 */
 	public List<GameJoltScore> getScores(long table_id) throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getScores(false, null, table_id);
+		return this.execute(this.createScoresRequest(false, null, table_id));
 	}
 	
 	/**
@@ -423,7 +790,7 @@ public class GameJolt {
 	 */
 	public List<GameJoltScore> getScores(long table_id, int limit) throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getScores(false, limit, table_id);
+		return this.execute(this.createScoresRequest(false, limit, table_id));
 	}
 	
 	/**
@@ -435,7 +802,7 @@ public class GameJolt {
 	 */
 	public List<GameJoltScore> getUserScores() throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getScores(true, null, null);
+		return this.execute(this.createScoresRequest(true, null, null));
 	}
 	
 	/**
@@ -448,7 +815,7 @@ public class GameJolt {
 	 */
 	public List<GameJoltScore> getUserScores(int limit) throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getScores(true, limit, null);
+		return this.execute(this.createScoresRequest(true, limit, null));
 	}
 	
 	/**
@@ -461,7 +828,7 @@ public class GameJolt {
 	 */
 	public List<GameJoltScore> getUserScores(long table_id) throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getScores(true, null, table_id);
+		return this.execute(this.createScoresRequest(true, null, table_id));
 	}
 	
 	/**
@@ -475,17 +842,64 @@ public class GameJolt {
 	 */
 	public List<GameJoltScore> getUserScores(long table_id, int limit) throws IOException,GameJoltException, JSONParseException {
 		
-		return this.getScores(true, limit, table_id);
+		return this.execute(this.createScoresRequest(true, limit, table_id));
 	}
 
-	private final List<GameJoltScore> getScores(boolean user, Integer limit, Long table_id) throws IOException, GameJoltException, JSONParseException {
+	/**
+	 * Fetches the scores of the primary table into a compact {@linkplain GameJoltScoreTableSnapshot}.
+	 * @param limit the limit of scores that should be returned (1 - 100)
+	 * @return the snapshot
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public GameJoltScoreTableSnapshot getScoreTableSnapshot(int limit) throws IOException, GameJoltException, JSONParseException {
+		
+		return this.execute(this.createSnapshotRequest(limit, null));
+	}
+	
+	/**
+	 * Fetches the scores of a table into a compact {@linkplain GameJoltScoreTableSnapshot}.
+	 * @param table_id the ID of the table from which the scores should be fetched
+	 * @param limit the limit of scores that should be returned (1 - 100)
+	 * @return the snapshot
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public GameJoltScoreTableSnapshot getScoreTableSnapshot(long table_id, int limit) throws IOException, GameJoltException, JSONParseException {
+		
+		return this.execute(this.createSnapshotRequest(limit, table_id));
+	}
+	
+	final GameJoltRequest<List<GameJoltScore>> createScoresRequest(boolean user, Integer limit, Long table_id) {
+		
+		return this.createScoresRequest(user ? this.credentials : null, limit, table_id);
+	}
+	
+	/*
+	 * @param user the credentials of the user whose scores should be returned, or {@code null} for the scores of all users
+	 */
+	final GameJoltRequest<List<GameJoltScore>> createScoresRequest(GameJoltCredentials user, Integer limit, Long table_id) {
+		
+		return GameJoltRequest.list(this, "/scores", this.createScoresParams(user, limit, table_id), "scores", GameJoltScore::new).read();
+	}
+	
+	final GameJoltRequest<GameJoltScoreTableSnapshot> createSnapshotRequest(Integer limit, Long table_id) {
+		
+		// not a shared read, the same URL is used for lists of scores
+		return GameJoltRequest.streamed("/scores", this.createScoresParams(null, limit, table_id), "scores", () -> new GameJoltScoreTableSnapshot.Collector(table_id));
+	}
+	
+	private final Map<String, Object> createScoresParams(GameJoltCredentials user, Integer limit, Long table_id) {
 		
 		Map<String, Object> params = new HashMap<>();
 		
-		if(user) {
+		if(user != null) {
 			
-			params.put("user_token", this.user_token);
-			params.put("username", this.username);
+			GameJoltCredentials.put(user, params);
 		}
 		
 		if(limit != null) {
@@ -498,9 +912,7 @@ public class GameJolt {
 			params.put("table_id", table_id);
 		}
 		
-		JSONObject response = this.get("/scores", params);
-		this.checkStatus(response);
-		return Util.toList(response.getArray("scores"), GameJoltScore.class, this);
+		return params;
 	}
 	
 	// ==== GET /get-time
@@ -514,10 +926,26 @@ public class GameJolt {
 	 */
 	public GameJoltServerTime getServerTime() throws IOException, GameJoltException, JSONParseException {
 		
-		JSONObject response = this.get("/get-time", null);
-		this.checkStatus(response);
-		response.remove("success");
-		return new GameJoltServerTime(this, response);
+		return this.execute(this.createServerTimeRequest());
+	}
+	
+	final GameJoltRequest<GameJoltServerTime> createServerTimeRequest() {
+		
+		// version 1.2 of the API renamed this endpoint, so it cannot be part of a batch
+		return new GameJoltRequest<>("/get-time", new HashMap<>(), null, response -> {
+			
+			response.remove("success");
+			return new GameJoltServerTime(this, response);
+			
+		}).unbatchable().read();
+	}
+	
+	/*
+	 * A sample for the server clock must not share the call of someone else, its timing would be wrong.
+	 */
+	final GameJoltRequest<Long> createTimestampRequest() {
+		
+		return new GameJoltRequest<>("/get-time", new HashMap<>(), null, response -> response.getLong("timestamp")).unbatchable().idempotent();
 	}
 	
 	// ==== GET /trophies
@@ -531,7 +959,7 @@ public class GameJolt {
 	 */
 	public List<GameJoltTrophy> getTrophies() throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getTrophies(null, null);
+		return this.execute(this.createTrophiesRequest(null, null));
 	}
 	
 	/**
@@ -544,7 +972,7 @@ public class GameJolt {
 	 */
 	public List<GameJoltTrophy> getTrophies(boolean achieved) throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getTrophies(achieved, null);
+		return this.execute(this.createTrophiesRequest(achieved, null));
 	}
 	
 	/**
@@ -570,7 +998,7 @@ public class GameJolt {
 	 */
 	public List<GameJoltTrophy> getTrophies(long[] trophy_ids) throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getTrophies(null, trophy_ids);
+		return this.execute(this.createTrophiesRequest(null, trophy_ids));
 	}
 	
 	/**
@@ -586,11 +1014,14 @@ public class GameJolt {
 		return this.getTrophies(new long[] {trophy_id}).get(0);
 	}
 
-	private final List<GameJoltTrophy> getTrophies(Boolean achieved, long[] trophy_ids) throws IOException, GameJoltException, JSONParseException {
+	final GameJoltRequest<List<GameJoltTrophy>> createTrophiesRequest(Boolean achieved, long[] trophy_ids) {
 		
-		Map<String, Object> params = new HashMap<>();
-		params.put("user_token", this.user_token);
-		params.put("username", this.username);
+		return this.createTrophiesRequest(this.credentials, achieved, trophy_ids);
+	}
+	
+	final GameJoltRequest<List<GameJoltTrophy>> createTrophiesRequest(GameJoltCredentials credentials, Boolean achieved, long[] trophy_ids) {
+		
+		Map<String, Object> params = GameJoltCredentials.put(credentials, new HashMap<>());
 		
 		if(achieved != null) {
 			
@@ -602,9 +1033,7 @@ public class GameJolt {
 			params.put(trophy_ids.length > 1 ? "trophy_ids" : "trophy_id", trophy_ids);
 		}
 		
-		JSONObject response = this.get("/trophies", params);
-		this.checkStatus(response);
-		return Util.toList(response.getArray("trophies"), GameJoltTrophy.class, this);
+		return GameJoltRequest.list(this, "/trophies", params, "trophies", (gj, json) -> new GameJoltTrophy(gj, json, credentials)).cacheable();
 	}
 	
 	// ==== GET /users
@@ -632,12 +1061,15 @@ public class GameJolt {
 	 */
 	public List<GameJoltUser> getUsers(long[] user_ids) throws IOException, GameJoltException, JSONParseException {
 		
+		return this.execute(this.createUsersRequest(user_ids));
+	}
+	
+	final GameJoltRequest<List<GameJoltUser>> createUsersRequest(long[] user_ids) {
+		
 		Map<String, Object> params = new HashMap<>();
 		params.put("user_id", user_ids);
 		
-		JSONObject response = this.get("/users", params);
-		this.checkStatus(response);
-		return Util.toList(response.getArray("users"), GameJoltUser.class, this);
+		return GameJoltRequest.list(this, "/users", params, "users", GameJoltUser::new).cacheable();
 	}
 	
 	/**
@@ -650,7 +1082,13 @@ public class GameJolt {
 	 */
 	public GameJoltUser getUser(long user_id) throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getUsers(new long[] {user_id}).get(0);
+		GameJoltUserLoader userLoader = this.userLoader;
+		return userLoader != null ? GameJolt.await(userLoader.load(user_id)) : this.getUsers(new long[] {user_id}).get(0);
+	}
+	
+	final GameJoltUserLoader getUserLoader() {
+		
+		return this.userLoader;
 	}
 	
 	/**
@@ -663,12 +1101,15 @@ public class GameJolt {
 	 */
 	public GameJoltUser getUser(String username) throws IOException, GameJoltException, JSONParseException {
 		
+		return this.execute(this.createUserRequest(username));
+	}
+	
+	final GameJoltRequest<GameJoltUser> createUserRequest(String username) {
+		
 		Map<String, Object> params = new HashMap<>();
 		params.put("username", username);
 		
-		JSONObject response = this.get("/users", params);
-		this.checkStatus(response);
-		return new GameJoltUser(this, response.getArray("users").getObject(0));
+		return new GameJoltRequest<>("/users", params, null, response -> new GameJoltUser(this, response.getArray("users").getObject(0))).cacheable();
 	}
 	
 	/**
@@ -680,7 +1121,8 @@ public class GameJolt {
 	 */
 	public GameJoltUser getUser() throws IOException, GameJoltException, JSONParseException {
 		
-		return this.getUser(this.username);
+		GameJoltCredentials credentials = this.credentials;
+		return this.getUser(credentials != null ? credentials.getUsername() : null);
 	}
 	
 	// ==== GET /users/auth
@@ -696,15 +1138,56 @@ public class GameJolt {
 	 */
 	public void login(String username, String user_token) throws IOException, GameJoltException, JSONParseException {
 		
+		this.execute(this.createLoginRequest(username, user_token));
+	}
+	
+	final GameJoltRequest<Void> createLoginRequest(String username, String user_token) {
+		
 		Map<String, Object> params = new HashMap<>();
 		params.put("username", username);
 		params.put("user_token", user_token);
 		
-		JSONObject response = this.get("/users/auth", params);
-		this.checkStatus(response);
-
-		this.username = username;
-		this.user_token = user_token;
+		return new GameJoltRequest<Void>("/users/auth", params, null, response -> {
+			
+			this.credentials = new GameJoltCredentials(username, user_token);
+			return null;
+			
+		}).idempotent();
+	}
+	
+	/*
+	 * Checks credentials without logging the user in.
+	 */
+	final GameJoltRequest<Void> createAuthRequest(GameJoltCredentials credentials) {
+		
+		return new GameJoltRequest<Void>("/users/auth", GameJoltCredentials.put(credentials, new HashMap<>()), null, response -> null).idempotent();
+	}
+	
+	// ==== POST /batch
+	
+	/*
+	 * The batch endpoint only exists since version 1.2 of the API. The sub-requests are executed by that version as well,
+	 * which is compatible with all the endpoints this library sends in a batch.
+	 */
+	final GameJoltRequest<JSONObject> createBatchRequest(List<String> subRequestURLs, boolean parallel, boolean breakOnError) {
+		
+		Map<String, Object> params = new HashMap<>();
+		
+		if(parallel) {
+			
+			params.put("parallel", true);
+		}
+		
+		if(breakOnError) {
+			
+			params.put("break_on_error", true);
+		}
+		
+		Map<String, Object> postParams = new HashMap<>();
+		postParams.put("requests[]", subRequestURLs);
+		
+		// not checked because a failed sub-request with break_on_error makes the whole batch unsuccessful
+		return new GameJoltRequest<>("/batch", params, postParams, response -> response).onService(GameJolt.BATCH_SERVICE_URL).unchecked();
 	}
 	
 	// ---------------------------------------------------------------------------------------------
@@ -717,51 +1200,611 @@ public class GameJolt {
 		}
 	}
 
-	final String getUsername() {
+	/*
+	 * @return the credentials of the user that is logged in, or {@code null} if no user is logged in
+	 */
+	final GameJoltCredentials getCredentials() {
 		
-		return this.username;
+		return this.credentials;
 	}
 	
-	final String getUserToken() {
+	/*
+	 * @return the game ID
+	 */
+	final int getGameId() {
 		
-		return this.user_token;
+		return this.gameId;
 	}
 
-	final JSONObject post(String endpoint, Map<String, Object> params, Map<String, Object> postParams) throws IOException, GameJoltException, JSONParseException {
-
-		HttpURLConnection connection = Util.createConnection(this.createURL(endpoint, params), "POST", true);
-		Util.write(connection.getOutputStream(), Util.getQueryString(postParams).substring(1));
-		return Util.finishRequest(this, connection);
+	final <T> T execute(GameJoltRequest<T> request) throws IOException, GameJoltException, JSONParseException {
+		
+		GameJoltCache cache = this.cache;
+		String key = cache != null ? cache.createKey(request) : null;
+		
+		if(key != null && !request.isRefresh()) {
+			
+			T result = cache.get(key);
+			
+			if(result != null) {
+				
+				return result;
+			}
+		}
+		
+		T result = request.isRead() ? this.sendShared(request) : this.send(request, this.createURL(request));
+		return key != null ? cache.put(key, request.getEndpoint(), result) : result;
 	}
-
-	final JSONObject get(String endpoint, Map<String, Object> params) throws IOException, GameJoltException, JSONParseException {
-
-		return Util.finishRequest(this, Util.createConnection(this.createURL(endpoint, params), "GET", false));
+	
+	/*
+	 * Sends a read unless the same read is already in flight, in which case its result is awaited instead.
+	 */
+	private final <T> T sendShared(GameJoltRequest<T> request) throws IOException, GameJoltException, JSONParseException {
+		
+		String url = this.createURL(request);
+		CompletableFuture<T> future = new CompletableFuture<>();
+		CompletableFuture<T> running = this.join(url, future);
+		
+		if(running != null) {
+			
+			return Util.copy(GameJolt.await(running));
+		}
+		
+		try {
+			
+			// the result in the future is only copied by the callers that share it, so nobody refetches its objects
+			T result = this.send(request, url);
+			future.complete(result);
+			return Util.copy(result);
+			
+		} catch(Throwable exception) {
+			
+			future.completeExceptionally(exception);
+			throw exception;
+			
+		} finally {
+			
+			this.inFlight.remove(url, future);
+		}
 	}
-
-	private final String createURL(String endpoint, Map<String, Object> params) {
+	
+	private final <T> T send(GameJoltRequest<T> request, String url) throws IOException, GameJoltException, JSONParseException {
+		
+		GameJoltAutoBatcher autoBatcher = this.autoBatcher;
+		
+		if(autoBatcher != null && request.isBatchable()) {
+			
+			return GameJolt.await(autoBatcher.submit(request));
+		}
+		
+		return this.read(request, this.transmit(request, url));
+	}
+	
+	/*
+	 * Hands a request to the transport, as often as the retry policy allows and the deadline of the call leaves time for.
+	 * A response with a server error status is returned as it is after the last attempt, so it is reported like before.
+	 */
+	private final GameJoltTransport.Response transmit(GameJoltRequest<?> request, String url) throws IOException {
+		
+		String method = request.isPost() ? "POST" : "GET";
+		String body = GameJolt.createBody(request);
+		GameJoltConfig.Deadline deadline = this.config.start(request.getEndpoint());
+		GameJoltRetryPolicy policy = this.retryPolicy;
+		
+		if(policy == null) {
+			
+			this.limit(request, deadline);
+			return this.transport.execute(method, url, body, deadline.getConnectTimeout(), deadline.getReadTimeout());
+		}
+		
+		policy.onRequest();
+		
+		for(int attempt = 1;; attempt++) {
+			
+			// a request shed by the rate limiter or out of time says nothing about the endpoint, so it isn't counted by the circuit
+			this.limit(request, deadline);
+			long connectTimeout = deadline.getConnectTimeout();
+			long readTimeout = deadline.getReadTimeout();
+			policy.acquire(request.getEndpoint());
+			GameJoltTransport.Response response = null;
+			IOException failure = null;
+			
+			try {
+				
+				response = this.transport.execute(method, url, body, connectTimeout, readTimeout);
+				
+			} catch(IOException exception) {
+				
+				failure = exception;
+				
+			} catch(RuntimeException | Error exception) {
+				
+				// the outcome has to be recorded, or a trial request would keep the circuit open forever
+				policy.onFailure(request.getEndpoint(), attempt, false);
+				throw exception;
+			}
+			
+			if(failure == null && response.getStatus() < 500) {
+				
+				policy.onSuccess(request.getEndpoint());
+				return response;
+			}
+			
+			long delay = policy.onFailure(request.getEndpoint(), attempt, request.isIdempotent());
+			
+			if(delay < 0 || GameJolt.isPastDeadline(delay, deadline)) {
+				
+				if(failure != null) {
+					
+					throw failure;
+				}
+				
+				return response;
+			}
+			
+			if(response != null) {
+				
+				response.close();
+			}
+			
+			try {
+				
+				TimeUnit.NANOSECONDS.sleep(delay);
+				
+			} catch(InterruptedException exception) {
+				
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting to retry");
+			}
+		}
+	}
+	
+	private final CompletableFuture<GameJoltTransport.Response> transmitAsync(GameJoltRequest<?> request, String url, Executor executor) {
+		
+		String method = request.isPost() ? "POST" : "GET";
+		String body = GameJolt.createBody(request);
+		GameJoltConfig.Deadline deadline = this.config.start(request.getEndpoint());
+		GameJoltRetryPolicy policy = this.retryPolicy;
+		
+		if(policy == null) {
+			
+			return this.limitAsync(request, deadline).thenCompose(ready -> this.callAsync(method, url, body, deadline, executor));
+		}
+		
+		policy.onRequest();
+		return this.transmitAsync(request, method, url, body, deadline, executor, policy, 1);
+	}
+	
+	private final CompletableFuture<GameJoltTransport.Response> transmitAsync(GameJoltRequest<?> request, String method, String url, String body, GameJoltConfig.Deadline deadline, Executor executor, GameJoltRetryPolicy policy, int attempt) {
+		
+		return this.limitAsync(request, deadline).thenCompose(ready -> {
+			
+			try {
+				
+				deadline.getRemaining();
+				policy.acquire(request.getEndpoint());
+				
+			} catch(IOException exception) {
+				
+				return CompletableFuture.failedFuture(exception);
+			}
+			
+			return this.callAsync(method, url, body, deadline, executor).handle((response, failure) -> {
+				
+				if(failure == null && response.getStatus() < 500) {
+					
+					policy.onSuccess(request.getEndpoint());
+					return CompletableFuture.completedFuture(response);
+				}
+				
+				Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+				
+				// like in the synchronous path, running out of time says nothing about the endpoint
+				if(cause instanceof DeadlineExceededException) {
+					
+					policy.onAbandoned(request.getEndpoint());
+					return CompletableFuture.<GameJoltTransport.Response>failedFuture(failure);
+				}
+				
+				// only failed transfers are retried, an unexpected exception of the transport would just happen again
+				long delay = policy.onFailure(request.getEndpoint(), attempt, (cause == null || cause instanceof IOException) && request.isIdempotent());
+				
+				if(delay < 0 || GameJolt.isPastDeadline(delay, deadline)) {
+					
+					return failure != null ? CompletableFuture.<GameJoltTransport.Response>failedFuture(failure) : CompletableFuture.completedFuture(response);
+				}
+				
+				if(response != null) {
+					
+					GameJolt.closeQuietly(response);
+				}
+				
+				Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor);
+				return CompletableFuture.runAsync(() -> {}, delayed).thenCompose(next -> this.transmitAsync(request, method, url, body, deadline, executor, policy, attempt + 1));
+				
+			}).thenCompose(future -> future);
+		});
+	}
+	
+	/*
+	 * Sends a single attempt. If the deadline passes before the transport answers, the call is abandoned and a late response is closed.
+	 */
+	private final CompletableFuture<GameJoltTransport.Response> callAsync(String method, String url, String body, GameJoltConfig.Deadline deadline, Executor executor) {
+		
+		CompletableFuture<GameJoltTransport.Response> call;
+		long remaining;
+		
+		try {
+			
+			call = this.transport.executeAsync(method, url, body, deadline.getConnectTimeout(), deadline.getReadTimeout(), executor);
+			remaining = deadline.getRemaining();
+			
+		} catch(IOException | RuntimeException exception) {
+			
+			return CompletableFuture.failedFuture(exception);
+		}
+		
+		if(remaining == Long.MAX_VALUE) {
+			
+			return call;
+		}
+		
+		CompletableFuture<GameJoltTransport.Response> bounded = new CompletableFuture<>();
+		call.whenComplete((response, failure) -> {
+			
+			if(failure != null) {
+				
+				bounded.completeExceptionally(failure);
+				
+			} else if(!bounded.complete(response)) {
+				
+				GameJolt.closeQuietly(response);
+			}
+		});
+		
+		return GameJolt.expire(bounded, remaining, deadline);
+	}
+	
+	/*
+	 * Blocks until the rate limiter lets the request through.
+	 */
+	private final void limit(GameJoltRequest<?> request, GameJoltConfig.Deadline deadline) throws IOException {
+		
+		long remaining = deadline.getRemaining();
+		GameJoltRateLimiter limiter = this.rateLimiter;
+		
+		if(limiter != null) {
+			
+			limiter.acquire(request.getPriority(), remaining);
+		}
+	}
+	
+	private final CompletableFuture<Void> limitAsync(GameJoltRequest<?> request, GameJoltConfig.Deadline deadline) {
+		
+		long remaining;
+		
+		try {
+			
+			remaining = deadline.getRemaining();
+			
+		} catch(IOException exception) {
+			
+			return CompletableFuture.failedFuture(exception);
+		}
+		
+		GameJoltRateLimiter limiter = this.rateLimiter;
+		
+		if(limiter == null) {
+			
+			return CompletableFuture.completedFuture(null);
+		}
+		
+		// the limiter doesn't hand a token to a waiter that gave up
+		CompletableFuture<Void> future = limiter.acquireAsync(request.getPriority());
+		return remaining != Long.MAX_VALUE && !future.isDone() ? GameJolt.expire(future, remaining, deadline) : future;
+	}
+	
+	/*
+	 * Fails the future with a {@linkplain DeadlineExceededException} when the deadline passes and it is still not done.
+	 */
+	private static final <T> CompletableFuture<T> expire(CompletableFuture<T> future, long remaining, GameJoltConfig.Deadline deadline) {
+		
+		CompletableFuture.delayedExecutor(remaining, TimeUnit.NANOSECONDS).execute(() -> {
+			
+			try {
+				
+				deadline.getRemaining();
+				
+			} catch(SocketTimeoutException exception) {
+				
+				future.completeExceptionally(new DeadlineExceededException(exception.getMessage()));
+			}
+		});
+		
+		return future;
+	}
+	
+	/*
+	 * @return {@code true} if a retry after the given delay would start after the deadline, else {@code false}
+	 */
+	private static final boolean isPastDeadline(long delay, GameJoltConfig.Deadline deadline) {
 		
-		if(params == null) {
+		try {
+			
+			return delay >= deadline.getRemaining();
+			
+		} catch(IOException exception) {
 			
-			params = new HashMap<>();
+			return true;
 		}
+	}
+	
+	private static final void closeQuietly(GameJoltTransport.Response response) {
 		
-		params.put("game_id", this.gameId);
-		params.put("format", "json");
+		try {
+			
+			response.close();
+			
+		} catch(IOException exception) {
+			
+			// the response is dropped anyway
+		}
+	}
+	
+	final <T> CompletableFuture<T> executeAsync(GameJoltRequest<T> request, Executor executor) {
 		
-		StringBuilder urlBuilder = new StringBuilder();
+		GameJoltCache cache = this.cache;
+		String key = cache != null ? cache.createKey(request) : null;
+		
+		if(key != null && !request.isRefresh()) {
+			
+			T result = cache.get(key);
+			
+			if(result != null) {
+				
+				return CompletableFuture.completedFuture(result);
+			}
+		}
+		
+		CompletableFuture<T> future = request.isRead() ? this.sendSharedAsync(request, executor) : this.sendAsync(request, this.createURL(request), executor);
+		return key != null ? future.thenApply(result -> cache.put(key, request.getEndpoint(), result)) : future;
+	}
+	
+	private final <T> CompletableFuture<T> sendSharedAsync(GameJoltRequest<T> request, Executor executor) {
+		
+		String url = this.createURL(request);
+		CompletableFuture<T> future = new CompletableFuture<>();
+		CompletableFuture<T> running = this.join(url, future);
+		
+		if(running != null) {
+			
+			return running.thenApply(Util::copy);
+		}
+		
+		this.sendAsync(request, url, executor).whenComplete((result, exception) -> {
+			
+			this.inFlight.remove(url, future);
+			
+			if(exception != null) {
+				
+				future.completeExceptionally(exception);
+				
+			} else {
+				
+				future.complete(result);
+			}
+		});
+		
+		// the result in the future is only copied by the callers that share it, so nobody refetches its objects
+		return future.thenApply(Util::copy);
+	}
+	
+	/*
+	 * Registers the future of a read as in flight.
+	 * @return the future of the identical read that is already in flight, or {@code null} if the given future was registered
+	 */
+	@SuppressWarnings("unchecked")
+	private final <T> CompletableFuture<T> join(String url, CompletableFuture<T> future) {
+		
+		// the signed URL contains the endpoint and every parameter, so the same URL always means the same result type
+		return (CompletableFuture<T>)this.inFlight.putIfAbsent(url, future);
+	}
+	
+	private final <T> CompletableFuture<T> sendAsync(GameJoltRequest<T> request, String url, Executor executor) {
+		
+		GameJoltAutoBatcher autoBatcher = this.autoBatcher;
+		
+		if(autoBatcher != null && request.isBatchable()) {
+			
+			return autoBatcher.submit(request);
+		}
+		
+		return this.transmitAsync(request, url, executor).thenApply(response -> {
+			
+			try {
+				
+				return this.read(request, response);
+				
+			} catch(IOException | GameJoltException | JSONParseException exception) {
+				
+				throw new CompletionException(exception);
+			}
+		});
+	}
+	
+	private final <T> T read(GameJoltRequest<T> request, GameJoltTransport.Response response) throws IOException, GameJoltException, JSONParseException {
+		
+		String array = request.getStreamedArray();
+		
+		if(array == null) {
+			
+			return this.finish(request, Util.finishRequest(this, response));
+		}
+		
+		GameJoltRequest.Collector<T> collector = request.createCollector();
+		JSONObject object = Util.finishRequest(this, response, array, collector::add);
+		
+		if(request.isChecked()) {
+			
+			this.checkStatus(object);
+		}
+		
+		return collector.finish();
+	}
+	
+	final <T> T finish(GameJoltRequest<T> request, JSONObject response) throws GameJoltException {
+		
+		if(request.isChecked()) {
+			
+			this.checkStatus(response);
+		}
+		
+		GameJoltCache cache = this.cache;
+		
+		if(cache != null && request.getInvalidatedEndpoint() != null) {
+			
+			cache.invalidate(request.getInvalidatedEndpoint());
+		}
+		
+		return request.map(response);
+	}
+	
+	/*
+	 * Waits for the result of a future and rethrows the exception it failed with as the checked exception the blocking API declares.
+	 */
+	static final <T> T await(CompletableFuture<T> future) throws IOException, GameJoltException, JSONParseException {
+		
+		try {
+			
+			return future.get();
+			
+		} catch(InterruptedException exception) {
+			
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the response");
+			
+		} catch(ExecutionException exception) {
+			
+			Throwable cause = exception.getCause();
+			
+			if(cause instanceof IOException) throw (IOException)cause;
+			if(cause instanceof GameJoltException) throw (GameJoltException)cause;
+			if(cause instanceof JSONParseException) throw (JSONParseException)cause;
+			if(cause instanceof RuntimeException) throw (RuntimeException)cause;
+			if(cause instanceof Error) throw (Error)cause;
+			throw new IOException(cause);
+		}
+	}
+	
+	private static final String createBody(GameJoltRequest<?> request) {
+		
+		return request.isPost() ? Util.appendQueryString(GameJolt.getURLBuilder(), request.getPostParams()).toString() : null;
+	}
+
+	/*
+	 * The URL is written into a per thread builder and signed straight from there. The parameters of the request are not touched.
+	 */
+	private final String createURL(GameJoltRequest<?> request) {
+		
+		StringBuilder urlBuilder = GameJolt.getURLBuilder();
 		urlBuilder.append(GameJolt.PROTOCOL);
 		urlBuilder.append("://");
 		urlBuilder.append(GameJolt.DOMAIN);
-		urlBuilder.append(GameJolt.SERVICE_URL);
-		urlBuilder.append(endpoint);
-		urlBuilder.append(Util.getQueryString(params));
+		urlBuilder.append(request.getServiceURL() != null ? request.getServiceURL() : GameJolt.SERVICE_URL);
+		urlBuilder.append(request.getEndpoint());
+		urlBuilder.append('?');
+		Util.appendQueryString(urlBuilder, request.getParams());
+		Util.appendParam(urlBuilder, "game_id", this.gameId);
+		Util.appendParam(urlBuilder, "format", "json");
+		
+		return this.sign(urlBuilder);
+	}
+	
+	/*
+	 * Sub-requests of a batch are signed like normal requests, except that only the path after the service URL is part of the signature.
+	 * Parameters that would normally be sent in the request body are moved into the query.
+	 */
+	final String createSubRequestURL(GameJoltRequest<?> request) {
+		
+		StringBuilder urlBuilder = GameJolt.getURLBuilder();
+		urlBuilder.append(request.getEndpoint());
+		urlBuilder.append('?');
+		Util.appendQueryString(urlBuilder, request.getParams());
+		
+		if(request.isPost()) {
+			
+			Util.appendQueryString(urlBuilder, request.getPostParams());
+		}
+		
+		Util.appendParam(urlBuilder, "game_id", this.gameId);
 		
-		String signature = Util.createSignature(urlBuilder.toString(), this.privateKey);
+		return this.sign(urlBuilder);
+	}
+	
+	private final String sign(StringBuilder urlBuilder) {
+		
+		String signature = Util.createSignature(urlBuilder, this.privateKey, this.signatureAlgorithm.algorithm);
 		
 		urlBuilder.append("&signature=");
 		urlBuilder.append(signature);
 		
 		return urlBuilder.toString();
 	}
+	
+	/*
+	 * @return the empty URL builder of the calling thread; one that grew very large for a big request is replaced, so it doesn't keep the memory
+	 */
+	private static final StringBuilder getURLBuilder() {
+		
+		StringBuilder builder = URL_BUILDER.get();
+		
+		if(builder.capacity() > 8192) {
+			
+			builder = new StringBuilder(256);
+			URL_BUILDER.set(builder);
+		}
+		
+		builder.setLength(0);
+		return builder;
+	}
+	
+	/**
+	 * Represents a hash algorithm the GameJolt API accepts for request signatures.
+	 * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+	 * @version 1.1.0
+	 * @since 1.1.0
+	 */
+	public static enum SignatureAlgorithm {
+		
+		/**
+		 * MD5; the signature is 32 characters long
+		 * @since 1.1.0
+		 */
+		MD5("MD5"),
+		
+		/**
+		 * SHA-1; the signature is 40 characters long
+		 * @since 1.1.0
+		 */
+		SHA1("SHA-1");
+		
+		private final String algorithm;
+		
+		private SignatureAlgorithm(String algorithm) {
+			
+			this.algorithm = algorithm;
+		}
+	}
+	
+	/*
+	 * Completes a call that was abandoned because its deadline passed, so it can be told from a transport that timed out.
+	 */
+	private static final class DeadlineExceededException extends SocketTimeoutException {
+		
+		private static final long serialVersionUID = 4187230974651062589L;
+		
+		private DeadlineExceededException(String message) {
+			
+			super(message);
+		}
+	}
 }
@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges requests that arrive within a short time window into a single {@linkplain GameJoltBatch}.
+ * The first request of a window schedules the flush; the window is closed early if it reaches the maximum number of requests.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+final class GameJoltAutoBatcher {
+
+	private final GameJolt gj;
+	private final long window;
+	private final int maxRequests;
+	private final ScheduledExecutorService timer;
+	private GameJoltBatch pending;
+	
+	/*
+	 * @param gj the service consumer whose requests are merged
+	 * @param window the time window in nanoseconds
+	 * @param maxRequests the maximum number of requests per window
+	 * @since 1.1.0
+	 */
+	GameJoltAutoBatcher(GameJolt gj, long window, int maxRequests) {
+		
+		this.gj = gj;
+		this.window = window;
+		this.maxRequests = Math.min(maxRequests, GameJoltBatch.MAX_REQUESTS);
+		this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			
+			Thread thread = new Thread(runnable, "GameJolt-AutoBatcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/*
+	 * Adds a request to the current window.
+	 * @param request the request
+	 * @return a future that completes with the result of the request
+	 * @since 1.1.0
+	 */
+	final <T> CompletableFuture<T> submit(GameJoltRequest<T> request) {
+		
+		GameJoltBatch full = null;
+		CompletableFuture<T> future;
+		
+		synchronized(this) {
+			
+			if(this.pending == null) {
+				
+				GameJoltBatch batch = this.gj.createBatch();
+				this.pending = batch;
+				this.timer.schedule(() -> this.flush(batch), this.window, TimeUnit.NANOSECONDS);
+			}
+			
+			future = this.pending.add(request);
+			
+			if(this.pending.size() >= this.maxRequests) {
+				
+				full = this.pending;
+				this.pending = null;
+			}
+		}
+		
+		if(full != null) {
+			
+			full.executeAsync();
+		}
+		
+		return future;
+	}
+	
+	/*
+	 * Sends the current window immediately and stops the timer.
+	 * @since 1.1.0
+	 */
+	final void close() {
+		
+		GameJoltBatch batch;
+		
+		synchronized(this) {
+			
+			batch = this.pending;
+			this.pending = null;
+		}
+		
+		if(batch != null) {
+			
+			batch.executeAsync();
+		}
+		
+		this.timer.shutdown();
+	}
+	
+	private final void flush(GameJoltBatch batch) {
+		
+		synchronized(this) {
+			
+			// the window was already sent because it was full
+			if(this.pending != batch) {
+				
+				return;
+			}
+			
+			this.pending = null;
+		}
+		
+		batch.executeAsync();
+	}
+}
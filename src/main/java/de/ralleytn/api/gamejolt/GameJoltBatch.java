@@ -0,0 +1,532 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import de.ralleytn.api.gamejolt.GameJoltDataStorage.Operation;
+import de.ralleytn.simple.json.JSONArray;
+import de.ralleytn.simple.json.JSONObject;
+import de.ralleytn.simple.json.JSONParseException;
+
+/**
+ * Collects requests and sends them to GameJolt as a single call to the batch endpoint.
+ * Every method that adds a request returns a {@linkplain CompletableFuture} which is completed with the typed result
+ * of that request once the batch was executed, or completed exceptionally with a {@linkplain GameJoltException} if the request failed.
+ * If more than {@value #MAX_REQUESTS} requests are added, they are split over multiple calls.
+ * Instances of this class are not thread safe.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class GameJoltBatch {
+
+	/**
+	 * The maximum number of sub-requests GameJolt accepts in a single batch call.
+	 * @since 1.1.0
+	 */
+	public static final int MAX_REQUESTS = 50;
+	
+	private final GameJolt gj;
+	private final List<Entry<?>> entries;
+	private boolean parallel;
+	private boolean breakOnError;
+	
+	/*
+	 * @param gj the service consumer this batch belongs to
+	 * @since 1.1.0
+	 */
+	GameJoltBatch(GameJolt gj) {
+		
+		this.gj = gj;
+		this.entries = new ArrayList<>();
+	}
+	
+	/**
+	 * Lets GameJolt process all requests of this batch at the same time instead of one after another.
+	 * Cannot be combined with {@link #setBreakOnError(boolean)}.
+	 * @param parallel {@code true} if the requests should be processed in parallel
+	 * @return this batch
+	 * @since 1.1.0
+	 */
+	public GameJoltBatch setParallel(boolean parallel) {
+		
+		if(parallel && this.breakOnError) {
+			
+			throw new IllegalStateException("A batch cannot be parallel and break on errors at the same time!");
+		}
+		
+		this.parallel = parallel;
+		return this;
+	}
+	
+	/**
+	 * Lets GameJolt stop processing the batch after the first request that failed.
+	 * The futures of the requests that were not processed are completed exceptionally.
+	 * Cannot be combined with {@link #setParallel(boolean)}.
+	 * @param breakOnError {@code true} if the batch should stop on the first error
+	 * @return this batch
+	 * @since 1.1.0
+	 */
+	public GameJoltBatch setBreakOnError(boolean breakOnError) {
+		
+		if(breakOnError && this.parallel) {
+			
+			throw new IllegalStateException("A batch cannot be parallel and break on errors at the same time!");
+		}
+		
+		this.breakOnError = breakOnError;
+		return this;
+	}
+	
+	/**
+	 * @return {@code true} if the requests are processed in parallel, else {@code false}
+	 * @since 1.1.0
+	 */
+	public boolean isParallel() {
+		
+		return this.parallel;
+	}
+	
+	/**
+	 * @return {@code true} if the batch stops on the first error, else {@code false}
+	 * @since 1.1.0
+	 */
+	public boolean isBreakOnError() {
+		
+		return this.breakOnError;
+	}
+	
+	/**
+	 * @return the number of requests that are waiting to be executed
+	 * @since 1.1.0
+	 */
+	public int size() {
+		
+		return this.entries.size();
+	}
+	
+	// ---------------------------------------------------------------------------------------------
+	
+	/**
+	 * Achieves a trophy for the currently logged in user.
+	 * @param trophy_id the trophy ID
+	 * @return a future that completes when the trophy was achieved
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> achieveTrophy(long trophy_id) {
+		
+		return this.add(this.gj.createAchieveTrophyRequest(trophy_id));
+	}
+	
+	/**
+	 * Adds a new score for the currently logged in user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addUserScore(String score, int sort) {
+		
+		return this.add(this.gj.createAddScoreRequest(score, sort, null, null, null));
+	}
+	
+	/**
+	 * Adds a new score for the currently logged in user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param extra_data some extra data
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addUserScore(String score, int sort, String extra_data) {
+		
+		return this.add(this.gj.createAddScoreRequest(score, sort, null, null, extra_data));
+	}
+	
+	/**
+	 * Adds a new score for the currently logged in user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param table_id the ID of the table this score should be added to
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addUserScore(String score, int sort, long table_id) {
+		
+		return this.add(this.gj.createAddScoreRequest(score, sort, table_id, null, null));
+	}
+	
+	/**
+	 * Adds a new score for the currently logged in user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param table_id the ID of the table this score should be added to
+	 * @param extra_data some extra data
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addUserScore(String score, int sort, long table_id, String extra_data) {
+		
+		return this.add(this.gj.createAddScoreRequest(score, sort, table_id, null, extra_data));
+	}
+	
+	/**
+	 * Adds a new score for a guest user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param guest the name of the guest user who made this score
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addGuestScore(String score, int sort, String guest) {
+		
+		return this.add(this.gj.createAddScoreRequest(score, sort, null, guest, null));
+	}
+	
+	/**
+	 * Adds a new score for a guest user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param guest the name of the guest user who made this score
+	 * @param extra_data some extra data
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addGuestScore(String score, int sort, String guest, String extra_data) {
+		
+		return this.add(this.gj.createAddScoreRequest(score, sort, null, guest, extra_data));
+	}
+	
+	/**
+	 * Adds a new score for a guest user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param guest the name of the guest user who made this score
+	 * @param table_id the ID of the table this score should be added to
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addGuestScore(String score, int sort, String guest, long table_id) {
+		
+		return this.add(this.gj.createAddScoreRequest(score, sort, table_id, guest, null));
+	}
+	
+	/**
+	 * Adds a new score for a guest user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param guest the name of the guest user who made this score
+	 * @param table_id the ID of the table this score should be added to
+	 * @param extra_data some extra data
+	 * @return a future that completes when the score was added
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> addGuestScore(String score, int sort, String guest, long table_id, String extra_data) {
+		
+		return this.add(this.gj.createAddScoreRequest(score, sort, table_id, guest, extra_data));
+	}
+	
+	/**
+	 * @param table_id the ID of the table from which the scores should be fetched
+	 * @param limit the limit of scores that should be returned (1 - 100)
+	 * @return a future that completes with a list of scores from the given table
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltScore>> getScores(long table_id, int limit) {
+		
+		return this.add(this.gj.createScoresRequest(false, limit, table_id));
+	}
+	
+	/**
+	 * @param trophy_ids the trophy IDs
+	 * @return a future that completes with the trophies with the given IDs
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltTrophy>> getTrophies(long[] trophy_ids) {
+		
+		return this.add(this.gj.createTrophiesRequest(null, trophy_ids));
+	}
+	
+	/**
+	 * @param user_ids the user IDs
+	 * @return a future that completes with the users with the given IDs
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<List<GameJoltUser>> getUsers(long[] user_ids) {
+		
+		return this.add(this.gj.createUsersRequest(user_ids));
+	}
+	
+	/**
+	 * Replaces the data of an old entry or creates a new entry.
+	 * @param storage the data storage that contains the entry
+	 * @param key the entry key
+	 * @param data the data
+	 * @return a future that completes when the data was stored
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> set(GameJoltDataStorage storage, String key, String data) {
+		
+		return this.add(storage.createSetRequest(key, data));
+	}
+	
+	/**
+	 * Updates an entry.
+	 * @param storage the data storage that contains the entry
+	 * @param key the entry key
+	 * @param value the value
+	 * @param operation the operation
+	 * @return a future that completes with the new value of the entry
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<String> update(GameJoltDataStorage storage, String key, String value, Operation operation) {
+		
+		return this.add(storage.createUpdateRequest(key, value, operation));
+	}
+	
+	/**
+	 * Removes an entry.
+	 * @param storage the data storage that contains the entry
+	 * @param key the entry key
+	 * @return a future that completes when the entry was removed
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> remove(GameJoltDataStorage storage, String key) {
+		
+		return this.add(storage.createRemoveRequest(key));
+	}
+	
+	/**
+	 * @param storage the data storage that contains the entry
+	 * @param key the entry key
+	 * @return a future that completes with the data of the entry
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<String> get(GameJoltDataStorage storage, String key) {
+		
+		return this.add(storage.createGetRequest(key));
+	}
+	
+	// ---------------------------------------------------------------------------------------------
+	
+	/**
+	 * Sends all collected requests and completes their futures. The batch is empty afterwards and can be reused.
+	 * If a call to the batch endpoint itself fails, the futures of all requests that were not processed yet are completed exceptionally as well.
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong with the batch itself
+	 * @since 1.1.0
+	 */
+	public void execute() throws IOException, GameJoltException, JSONParseException {
+		
+		List<List<Entry<?>>> chunks = this.drain();
+		
+		for(int index = 0; index < chunks.size(); index++) {
+			
+			List<Entry<?>> chunk = chunks.get(index);
+			
+			try {
+				
+				this.complete(chunk, this.gj.execute(this.createRequest(chunk)));
+				
+			} catch(IOException | GameJoltException | JSONParseException | RuntimeException exception) {
+				
+				for(List<Entry<?>> failed : chunks.subList(index, chunks.size())) {
+					
+					GameJoltBatch.fail(failed, exception);
+				}
+				
+				throw exception;
+			}
+		}
+	}
+	
+	/**
+	 * Sends all collected requests without blocking the calling thread. The batch is empty afterwards and can be reused.
+	 * @return a future that completes when the futures of all requests are completed; it fails if a call to the batch endpoint failed
+	 * or the service rejected the batch itself
+	 * @since 1.1.0
+	 */
+	public CompletableFuture<Void> executeAsync() {
+		
+		List<List<Entry<?>>> chunks = this.drain();
+		CompletableFuture<?>[] calls = new CompletableFuture<?>[chunks.size()];
+		
+		for(int index = 0; index < calls.length; index++) {
+			
+			List<Entry<?>> chunk = chunks.get(index);
+			calls[index] = this.gj.executeAsync(this.createRequest(chunk), this.gj.getExecutor()).handle((response, exception) -> {
+				
+				Throwable failure = exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+				
+				if(failure == null) {
+					
+					try {
+						
+						this.complete(chunk, response);
+						return null;
+						
+					} catch(GameJoltException | RuntimeException rejection) {
+						
+						failure = rejection;
+					}
+				}
+				
+				GameJoltBatch.fail(chunk, failure);
+				throw new CompletionException(failure);
+			});
+		}
+		
+		return CompletableFuture.allOf(calls);
+	}
+	
+	// ---------------------------------------------------------------------------------------------
+	
+	/*
+	 * Adds a request to this batch.
+	 * @param request the request
+	 * @return a future that completes with the result of the request
+	 * @since 1.1.0
+	 */
+	final <T> CompletableFuture<T> add(GameJoltRequest<T> request) {
+		
+		Entry<T> entry = new Entry<>(request, this.gj.createSubRequestURL(request));
+		this.entries.add(entry);
+		return entry.future;
+	}
+	
+	private final List<List<Entry<?>>> drain() {
+		
+		List<List<Entry<?>>> chunks = new ArrayList<>();
+		
+		for(int index = 0; index < this.entries.size(); index += GameJoltBatch.MAX_REQUESTS) {
+			
+			chunks.add(new ArrayList<>(this.entries.subList(index, Math.min(index + GameJoltBatch.MAX_REQUESTS, this.entries.size()))));
+		}
+		
+		this.entries.clear();
+		return chunks;
+	}
+	
+	private final GameJoltRequest<JSONObject> createRequest(List<Entry<?>> chunk) {
+		
+		List<String> urls = new ArrayList<>(chunk.size());
+		boolean idempotent = true;
+		GameJoltRateLimiter.Priority priority = GameJoltRateLimiter.Priority.BACKGROUND;
+		
+		for(Entry<?> entry : chunk) {
+			
+			urls.add(entry.url);
+			idempotent &= entry.request.isIdempotent();
+			
+			// the batch is as urgent as its most urgent request
+			if(entry.request.getPriority().compareTo(priority) < 0) {
+				
+				priority = entry.request.getPriority();
+			}
+		}
+		
+		GameJoltRequest<JSONObject> request = this.gj.createBatchRequest(urls, this.parallel, this.breakOnError).prioritize(priority);
+		return idempotent ? request.idempotent() : request;
+	}
+	
+	/*
+	 * @throws GameJoltException if the service rejected the batch itself, which means none of its requests was processed
+	 */
+	private final void complete(List<Entry<?>> chunk, JSONObject response) throws GameJoltException {
+		
+		JSONArray responses = response.getArray("responses");
+		
+		if(responses == null) {
+			
+			throw new GameJoltException(this.gj, response.getString("message"));
+		}
+		
+		for(int index = 0; index < chunk.size(); index++) {
+			
+			Entry<?> entry = chunk.get(index);
+			
+			if(index < responses.size()) {
+				
+				entry.complete(this.gj, responses.getObject(index));
+				
+			} else {
+				
+				entry.future.completeExceptionally(new NotProcessedException(this.gj));
+			}
+		}
+	}
+	
+	private static final void fail(List<Entry<?>> chunk, Throwable exception) {
+		
+		for(Entry<?> entry : chunk) {
+			
+			entry.future.completeExceptionally(exception);
+		}
+	}
+	
+	/*
+	 * Completes the futures of the requests the service did not process, so callers can tell them from requests that were rejected.
+	 */
+	static final class NotProcessedException extends GameJoltException {
+		
+		private static final long serialVersionUID = -3216085733421496327L;
+		
+		private NotProcessedException(GameJolt gj) {
+			
+			super(gj, "The request was not processed because an earlier request of the batch failed");
+		}
+	}
+	
+	private static final class Entry<T> {
+		
+		private final GameJoltRequest<T> request;
+		private final String url;
+		private final CompletableFuture<T> future;
+		
+		private Entry(GameJoltRequest<T> request, String url) {
+			
+			this.request = request;
+			this.url = url;
+			this.future = new CompletableFuture<>();
+		}
+		
+		private final void complete(GameJolt gj, JSONObject response) {
+			
+			try {
+				
+				this.future.complete(gj.finish(this.request, response));
+				
+			} catch(GameJoltException | RuntimeException exception) {
+				
+				this.future.completeExceptionally(exception);
+			}
+		}
+	}
+}
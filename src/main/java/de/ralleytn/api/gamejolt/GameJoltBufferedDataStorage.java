@@ -0,0 +1,714 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+import de.ralleytn.api.gamejolt.GameJoltDataStorage.Operation;
+import de.ralleytn.simple.json.JSONParseException;
+
+/**
+ * Write-behind buffer in front of a {@linkplain GameJoltDataStorage}.
+ * Writes only change the buffer and are sent later with a single {@linkplain GameJoltBatch}, in the order they were made.
+ * Writes to the same key are folded together where the result is the same: a {@code set} replaces everything before it,
+ * successive additions, subtractions, multiplications, appends and prepends are merged into one operation
+ * and operations on a value that was set in the buffer are applied to that value directly.
+ * <p>
+ * The buffer is flushed when {@link #flush()} is called, when it holds the {@linkplain #setMaxDirtyKeys(int) maximum number of keys},
+ * in a {@linkplain #setFlushInterval(long, TimeUnit) fixed interval} and, if enabled, {@linkplain #setFlushOnShutdown(boolean) when the JVM shuts down}.
+ * With a journal every write is also appended to a local file before it is acknowledged. Writes that were not flushed are read back
+ * from that file when a buffer is created for it again, so they survive a crash. Every line of the journal carries a checksum,
+ * so a line that was only partly written when the process died is skipped.
+ * After the buffer was closed, writes are no longer accepted.
+ * If the batch call fails, the writes stay in the buffer and are sent with the next flush.
+ * Writes the server rejects are dropped.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class GameJoltBufferedDataStorage implements AutoCloseable {
+
+	private final GameJoltDataStorage storage;
+	private final Path journal;
+	private final Object flushLock = new Object();
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+	private Map<String, List<Mutation>> dirty = new LinkedHashMap<>();
+	private FileChannel journalChannel;
+	private boolean closed;
+	private volatile int maxDirtyKeys = GameJoltBatch.MAX_REQUESTS;
+	private ScheduledExecutorService timer;
+	private ScheduledFuture<?> flushTask;
+	private Thread shutdownHook;
+	
+	/**
+	 * Creates a buffer without a journal.
+	 * @param storage the data storage the writes are sent to
+	 * @since 1.1.0
+	 */
+	public GameJoltBufferedDataStorage(GameJoltDataStorage storage) {
+		
+		this.storage = storage;
+		this.journal = null;
+	}
+	
+	/**
+	 * Creates a buffer with a journal. Writes that are still in the journal are put back into the buffer.
+	 * @param storage the data storage the writes are sent to
+	 * @param journal the journal file; it is created if it does not exist
+	 * @throws IOException if the journal could not be read or opened
+	 * @since 1.1.0
+	 */
+	public GameJoltBufferedDataStorage(GameJoltDataStorage storage, Path journal) throws IOException {
+		
+		this.storage = storage;
+		this.journal = journal;
+		
+		if(Files.exists(journal)) {
+			
+			try(BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+				
+				String line = null;
+				
+				while((line = reader.readLine()) != null) {
+					
+					Mutation mutation = Mutation.decode(line);
+					
+					// a line that was only partly written when the process died doesn't match its checksum
+					if(mutation != null) {
+						
+						this.record(mutation.key, mutation);
+					}
+				}
+			}
+		}
+		
+		synchronized(this) {
+			
+			this.rewriteJournal();
+		}
+	}
+	
+	/**
+	 * Replaces the data of an entry or creates a new entry.
+	 * @param key the entry key
+	 * @param data the data
+	 * @throws IOException if the write could not be added to the journal
+	 * @throws IllegalStateException if the buffer was closed
+	 * @since 1.1.0
+	 */
+	public void set(String key, String data) throws IOException {
+		
+		this.write(new Mutation(key, Mutation.SET, data));
+	}
+	
+	/**
+	 * Updates an entry.
+	 * @param key the entry key
+	 * @param value the value
+	 * @param operation the operation
+	 * @throws IOException if the write could not be added to the journal
+	 * @throws IllegalStateException if the buffer was closed
+	 * @since 1.1.0
+	 */
+	public void update(String key, String value, Operation operation) throws IOException {
+		
+		this.write(new Mutation(key, operation.name(), value));
+	}
+	
+	/**
+	 * Removes an entry.
+	 * @param key the entry key
+	 * @throws IOException if the write could not be added to the journal
+	 * @throws IllegalStateException if the buffer was closed
+	 * @since 1.1.0
+	 */
+	public void remove(String key) throws IOException {
+		
+		this.write(new Mutation(key, Mutation.REMOVE, null));
+	}
+	
+	/**
+	 * Reads an entry. If the entry was set in the buffer, the buffered data is returned without a call.
+	 * If there are other writes to it in the buffer, the buffer is flushed first.
+	 * @param key the entry key
+	 * @return the data of the entry
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public String get(String key) throws IOException, GameJoltException, JSONParseException {
+		
+		boolean buffered;
+		
+		synchronized(this) {
+			
+			List<Mutation> mutations = this.dirty.get(key);
+			buffered = mutations != null;
+			
+			if(buffered) {
+				
+				Mutation last = mutations.get(mutations.size() - 1);
+				
+				if(last.operation.equals(Mutation.SET)) {
+					
+					return last.value;
+				}
+			}
+		}
+		
+		if(buffered) {
+			
+			this.flush();
+		}
+		
+		return this.storage.get(key);
+	}
+	
+	/**
+	 * Sends all buffered writes with a single batch and waits until they are processed.
+	 * @throws IOException if something went wrong during the data transfer; the writes stay in the buffer
+	 * @throws JSONParseException if the JSON data could not be parsed; the writes stay in the buffer
+	 * @throws GameJoltException if the service says something went wrong with the batch or rejected one of the writes
+	 * @since 1.1.0
+	 */
+	public void flush() throws IOException, GameJoltException, JSONParseException {
+		
+		synchronized(this.flushLock) {
+			
+			Map<String, List<Mutation>> taken;
+			
+			synchronized(this) {
+				
+				taken = this.dirty;
+				this.dirty = new LinkedHashMap<>();
+			}
+			
+			if(taken.isEmpty()) {
+				
+				return;
+			}
+			
+			GameJoltBatch batch = this.storage.getServiceConsumer().createBatch();
+			Map<Mutation, CompletableFuture<?>> futures = new LinkedHashMap<>();
+			
+			for(List<Mutation> mutations : taken.values()) {
+				
+				for(Mutation mutation : mutations) {
+					
+					futures.put(mutation, mutation.addTo(batch, this.storage));
+				}
+			}
+			
+			try {
+				
+				batch.execute();
+				
+			} catch(IOException | GameJoltException | JSONParseException | RuntimeException exception) {
+				
+				this.restore(futures, exception);
+				throw exception;
+			}
+			
+			Throwable rejection = this.restore(futures, null);
+			
+			if(rejection instanceof GameJoltException) {
+				
+				throw (GameJoltException)rejection;
+				
+			} else if(rejection != null) {
+				
+				throw new GameJoltException(this.storage.getServiceConsumer(), (Exception)rejection);
+			}
+		}
+	}
+	
+	/**
+	 * Flushes the buffer, stops the flush interval and removes the shutdown hook.
+	 * @throws IOException if something went wrong during the data transfer or while closing the journal
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	@Override
+	public void close() throws IOException, GameJoltException, JSONParseException {
+		
+		this.setFlushInterval(0, TimeUnit.SECONDS);
+		this.setFlushOnShutdown(false);
+		
+		try {
+			
+			this.flush();
+			
+		} finally {
+			
+			synchronized(this) {
+				
+				this.closed = true;
+				
+				if(this.journalChannel != null) {
+					
+					this.journalChannel.close();
+					this.journalChannel = null;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Sets the number of keys with buffered writes at which the buffer is flushed in the background.
+	 * @param maxDirtyKeys the number of keys; the default is {@value GameJoltBatch#MAX_REQUESTS}
+	 * @since 1.1.0
+	 */
+	public void setMaxDirtyKeys(int maxDirtyKeys) {
+		
+		if(maxDirtyKeys < 1) {
+			
+			throw new IllegalArgumentException("The maximum number of keys has to be positive!");
+		}
+		
+		this.maxDirtyKeys = maxDirtyKeys;
+	}
+	
+	/**
+	 * @return the number of keys with buffered writes at which the buffer is flushed in the background
+	 * @since 1.1.0
+	 */
+	public int getMaxDirtyKeys() {
+		
+		return this.maxDirtyKeys;
+	}
+	
+	/**
+	 * Sets the interval in which the buffer is flushed in the background.
+	 * @param interval the interval; {@code 0} to disable flushing in an interval (default)
+	 * @param unit the unit of the interval
+	 * @since 1.1.0
+	 */
+	public synchronized void setFlushInterval(long interval, TimeUnit unit) {
+		
+		if(this.flushTask != null) {
+			
+			this.flushTask.cancel(false);
+			this.flushTask = null;
+		}
+		
+		if(interval > 0) {
+			
+			if(this.timer == null) {
+				
+				this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+					
+					Thread thread = new Thread(runnable, "GameJolt-DataStorage");
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+			
+			this.flushTask = this.timer.scheduleWithFixedDelay(this::flushQuietly, interval, interval, unit);
+			
+		} else if(this.timer != null) {
+			
+			this.timer.shutdown();
+			this.timer = null;
+		}
+	}
+	
+	/**
+	 * Sets whether the buffer is flushed when the JVM shuts down.
+	 * @param flushOnShutdown {@code true} to flush on shutdown, else {@code false} (default)
+	 * @since 1.1.0
+	 */
+	public synchronized void setFlushOnShutdown(boolean flushOnShutdown) {
+		
+		if(flushOnShutdown && this.shutdownHook == null) {
+			
+			this.shutdownHook = new Thread(this::flushQuietly, "GameJolt-DataStorage-Shutdown");
+			Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+			
+		} else if(!flushOnShutdown && this.shutdownHook != null) {
+			
+			try {
+				
+				Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+				
+			} catch(IllegalStateException exception) {
+				
+				// the JVM is already shutting down and the hook is running
+			}
+			
+			this.shutdownHook = null;
+		}
+	}
+	
+	/**
+	 * @return the number of keys with buffered writes
+	 * @since 1.1.0
+	 */
+	public synchronized int getDirtyKeyCount() {
+		
+		return this.dirty.size();
+	}
+	
+	/**
+	 * @return the data storage the writes are sent to
+	 * @since 1.1.0
+	 */
+	public GameJoltDataStorage getStorage() {
+		
+		return this.storage;
+	}
+	
+	// ---------------------------------------------------------------------------------------------
+	
+	private final void write(Mutation mutation) throws IOException {
+		
+		boolean full;
+		
+		synchronized(this) {
+			
+			if(this.closed) {
+				
+				throw new IllegalStateException("The buffer was closed");
+			}
+			
+			if(this.journal != null) {
+				
+				this.journalChannel.write(ByteBuffer.wrap(mutation.encode().getBytes(StandardCharsets.UTF_8)));
+				this.journalChannel.force(false);
+			}
+			
+			this.record(mutation.key, mutation);
+			full = this.dirty.size() >= this.maxDirtyKeys;
+		}
+		
+		if(full && this.flushScheduled.compareAndSet(false, true)) {
+			
+			this.storage.getServiceConsumer().getExecutor().execute(() -> {
+				
+				this.flushScheduled.set(false);
+				this.flushQuietly();
+			});
+		}
+	}
+	
+	private final synchronized void record(String key, Mutation mutation) {
+		
+		List<Mutation> mutations = this.dirty.get(key);
+		
+		if(mutations == null || mutation.operation.equals(Mutation.SET) || mutation.operation.equals(Mutation.REMOVE)) {
+			
+			mutations = new ArrayList<>(1);
+			this.dirty.put(key, mutations);
+			mutations.add(mutation);
+			return;
+		}
+		
+		int last = mutations.size() - 1;
+		Mutation folded = mutations.get(last).fold(mutation);
+		
+		if(folded != null) {
+			
+			mutations.set(last, folded);
+			
+		} else {
+			
+			mutations.add(mutation);
+		}
+	}
+	
+	/*
+	 * Puts the writes that failed because of the batch itself or were not processed back in front of the writes that were made during the flush
+	 * and rewrites the journal. Only writes with a response of their own that says they failed are dropped.
+	 * @return the exception of the first write the server rejected, or {@code null}
+	 */
+	private final Throwable restore(Map<Mutation, CompletableFuture<?>> futures, Exception failure) throws IOException {
+		
+		Map<String, List<Mutation>> retry = new LinkedHashMap<>();
+		Throwable rejection = null;
+		
+		for(Map.Entry<Mutation, CompletableFuture<?>> entry : futures.entrySet()) {
+			
+			Throwable exception = entry.getValue().handle((result, cause) -> cause).getNow(null);
+			
+			// the batch fails every write with its own exception if the batch itself failed
+			if(exception != null && (exception == failure || exception instanceof GameJoltBatch.NotProcessedException)) {
+				
+				retry.computeIfAbsent(entry.getKey().key, key -> new ArrayList<>()).add(entry.getKey());
+				
+			} else if(exception != null && rejection == null) {
+				
+				rejection = exception;
+			}
+		}
+		
+		synchronized(this) {
+			
+			if(!retry.isEmpty()) {
+				
+				Map<String, List<Mutation>> newer = this.dirty;
+				this.dirty = retry;
+				
+				for(Map.Entry<String, List<Mutation>> entry : newer.entrySet()) {
+					
+					for(Mutation mutation : entry.getValue()) {
+						
+						this.record(entry.getKey(), mutation);
+					}
+				}
+			}
+			
+			this.rewriteJournal();
+		}
+		
+		return rejection;
+	}
+	
+	private final void rewriteJournal() throws IOException {
+		
+		if(this.journal == null) {
+			
+			return;
+		}
+		
+		StringBuilder content = new StringBuilder();
+		
+		for(List<Mutation> mutations : this.dirty.values()) {
+			
+			for(Mutation mutation : mutations) {
+				
+				content.append(mutation.encode());
+			}
+		}
+		
+		if(this.journalChannel != null) {
+			
+			this.journalChannel.close();
+		}
+		
+		Path temporary = this.journal.resolveSibling(this.journal.getFileName() + ".tmp");
+		
+		try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			
+			channel.write(ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8)));
+			channel.force(true);
+		}
+		
+		Files.move(temporary, this.journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		this.journalChannel = this.closed ? null : FileChannel.open(this.journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+	
+	private final void flushQuietly() {
+		
+		try {
+			
+			this.flush();
+			
+		} catch(IOException | GameJoltException | JSONParseException exception) {
+			
+			// failed writes are retried with the next flush, rejected ones are gone either way
+		}
+	}
+	
+	/**
+	 * A buffered write.
+	 * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+	 * @version 1.1.0
+	 * @since 1.1.0
+	 */
+	private static final class Mutation {
+		
+		private static final String SET = "SET";
+		private static final String REMOVE = "REMOVE";
+		
+		private final String key;
+		private final String operation;
+		private final String value;
+		
+		private Mutation(String key, String operation, String value) {
+			
+			this.key = key;
+			this.operation = operation;
+			this.value = value;
+		}
+		
+		/*
+		 * @return a single write with the same effect as this write followed by the given one, or {@code null} if there is none
+		 */
+		private final Mutation fold(Mutation next) {
+			
+			try {
+				
+				if(this.operation.equals(SET)) {
+					
+					switch(Operation.valueOf(next.operation)) {
+						
+						case ADD: return new Mutation(this.key, SET, Long.toString(Math.addExact(Long.parseLong(this.value), Long.parseLong(next.value))));
+						case SUBTRACT: return new Mutation(this.key, SET, Long.toString(Math.subtractExact(Long.parseLong(this.value), Long.parseLong(next.value))));
+						case MULTIPLY: return new Mutation(this.key, SET, Long.toString(Math.multiplyExact(Long.parseLong(this.value), Long.parseLong(next.value))));
+						case APPEND: return new Mutation(this.key, SET, this.value + next.value);
+						case PREPEND: return new Mutation(this.key, SET, next.value + this.value);
+						default: return null;
+					}
+					
+				} else if(!this.operation.equals(REMOVE)) {
+					
+					Operation previous = Operation.valueOf(this.operation);
+					Operation current = Operation.valueOf(next.operation);
+					
+					if(Mutation.isSum(previous) && Mutation.isSum(current)) {
+						
+						long sum = Math.addExact(Mutation.signed(previous, this.value), Mutation.signed(current, next.value));
+						return sum < 0 ? new Mutation(this.key, Operation.SUBTRACT.name(), Long.toString(-sum)) : new Mutation(this.key, Operation.ADD.name(), Long.toString(sum));
+						
+					} else if(previous == current && current == Operation.MULTIPLY) {
+						
+						return new Mutation(this.key, current.name(), Long.toString(Math.multiplyExact(Long.parseLong(this.value), Long.parseLong(next.value))));
+						
+					} else if(previous == current && current == Operation.APPEND) {
+						
+						return new Mutation(this.key, current.name(), this.value + next.value);
+						
+					} else if(previous == current && current == Operation.PREPEND) {
+						
+						return new Mutation(this.key, current.name(), next.value + this.value);
+					}
+				}
+				
+			} catch(NumberFormatException | ArithmeticException exception) {
+				
+				// not an integer or too large, the server has to deal with it
+			}
+			
+			return null;
+		}
+		
+		private static final boolean isSum(Operation operation) {
+			
+			return operation == Operation.ADD || operation == Operation.SUBTRACT;
+		}
+		
+		private static final long signed(Operation operation, String value) {
+			
+			long number = Long.parseLong(value);
+			return operation == Operation.SUBTRACT ? Math.negateExact(number) : number;
+		}
+		
+		private final CompletableFuture<?> addTo(GameJoltBatch batch, GameJoltDataStorage storage) {
+			
+			if(this.operation.equals(SET)) {
+				
+				return batch.set(storage, this.key, this.value);
+				
+			} else if(this.operation.equals(REMOVE)) {
+				
+				return batch.remove(storage, this.key);
+			}
+			
+			return batch.update(storage, this.key, this.value, Operation.valueOf(this.operation));
+		}
+		
+		private final String encode() {
+			
+			try {
+				
+				StringBuilder record = new StringBuilder();
+				record.append(this.operation).append(' ').append(URLEncoder.encode(this.key, "UTF-8"));
+				
+				if(this.value != null) {
+					
+					record.append(' ').append(URLEncoder.encode(this.value, "UTF-8"));
+				}
+				
+				return Mutation.checksum(record.toString()) + ' ' + record + '\n';
+				
+			} catch(UnsupportedEncodingException exception) {
+				
+				// SHOULD NEVER HAPPEN!
+				throw new RuntimeException(exception);
+			}
+		}
+		
+		private static final Mutation decode(String line) {
+			
+			int separator = line.indexOf(' ');
+			
+			if(separator == -1 || !line.substring(0, separator).equals(Mutation.checksum(line.substring(separator + 1)))) {
+				
+				return null;
+			}
+			
+			// the value may be empty, so trailing empty parts must be kept
+			String[] parts = line.substring(separator + 1).split(" ", -1);
+			
+			try {
+				
+				if(parts.length == 2 && parts[0].equals(REMOVE)) {
+					
+					return new Mutation(URLDecoder.decode(parts[1], "UTF-8"), REMOVE, null);
+					
+				} else if(parts.length == 3) {
+					
+					String operation = parts[0].equals(SET) ? SET : Operation.valueOf(parts[0]).name();
+					return new Mutation(URLDecoder.decode(parts[1], "UTF-8"), operation, URLDecoder.decode(parts[2], "UTF-8"));
+				}
+				
+			} catch(IllegalArgumentException | UnsupportedEncodingException exception) {
+				
+				// broken line
+			}
+			
+			return null;
+		}
+		
+		private static final String checksum(String record) {
+			
+			CRC32 checksum = new CRC32();
+			checksum.update(record.getBytes(StandardCharsets.UTF_8));
+			return Long.toHexString(checksum.getValue());
+		}
+	}
+}
@@ -0,0 +1,280 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import de.ralleytn.api.gamejolt.internal.Util;
+
+/**
+ * Size bounded read-through cache for the results of rarely changing endpoints.
+ * Set it with {@link GameJolt#setCache(GameJoltCache)}. Only the endpoints {@code /scores/tables}, {@code /trophies} and {@code /users}
+ * can be cached, each one with its own time to live. When the cache is full, the least recently used result is evicted.
+ * Every caller gets its own modifiable list with its own copies of the objects, so refetching them doesn't change the cached result.
+ * Achieving a trophy invalidates the cached trophies, refetching an object always asks the server.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class GameJoltCache {
+
+	/**
+	 * The default maximum number of cached results.
+	 * @since 1.1.0
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 1024;
+	
+	private final int maxEntries;
+	private final Map<String, Long> timesToLive = new ConcurrentHashMap<>();
+	private final LinkedHashMap<String, CachedResult> entries;
+	private long hits;
+	private long misses;
+	private long evictions;
+	
+	/**
+	 * Creates a cache for {@value #DEFAULT_MAX_ENTRIES} results.
+	 * @since 1.1.0
+	 */
+	public GameJoltCache() {
+		
+		this(DEFAULT_MAX_ENTRIES);
+	}
+	
+	/**
+	 * Creates a cache with a time to live of 10 minutes for score tables and trophies and 5 minutes for users.
+	 * @param maxEntries the maximum number of cached results
+	 * @since 1.1.0
+	 */
+	public GameJoltCache(int maxEntries) {
+		
+		if(maxEntries < 1) {
+			
+			throw new IllegalArgumentException("The cache must have room for at least one result!");
+		}
+		
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<String, CachedResult>(16, 0.75F, true) {
+			
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+				
+				if(this.size() > GameJoltCache.this.maxEntries) {
+					
+					GameJoltCache.this.evictions++;
+					return true;
+				}
+				
+				return false;
+			}
+		};
+		this.setTimeToLive("/scores/tables", 10, TimeUnit.MINUTES);
+		this.setTimeToLive("/trophies", 10, TimeUnit.MINUTES);
+		this.setTimeToLive("/users", 5, TimeUnit.MINUTES);
+	}
+	
+	/**
+	 * Sets how long the results of an endpoint stay in the cache.
+	 * @param endpoint the endpoint, for example {@code "/trophies"}
+	 * @param duration the time to live; {@code 0} to not cache the endpoint at all
+	 * @param unit the unit of the duration
+	 * @since 1.1.0
+	 */
+	public void setTimeToLive(String endpoint, long duration, TimeUnit unit) {
+		
+		this.timesToLive.put(endpoint, unit.toNanos(duration));
+		
+		if(duration <= 0) {
+			
+			this.invalidate(endpoint);
+		}
+	}
+	
+	/**
+	 * @param endpoint the endpoint
+	 * @param unit the unit of the returned duration
+	 * @return how long the results of the endpoint stay in the cache; {@code 0} if the endpoint is not cached
+	 * @since 1.1.0
+	 */
+	public long getTimeToLive(String endpoint, TimeUnit unit) {
+		
+		return unit.convert(this.timesToLive.getOrDefault(endpoint, 0L), TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Removes all cached results of an endpoint.
+	 * @param endpoint the endpoint
+	 * @since 1.1.0
+	 */
+	public synchronized void invalidate(String endpoint) {
+		
+		Iterator<CachedResult> iterator = this.entries.values().iterator();
+		
+		while(iterator.hasNext()) {
+			
+			if(iterator.next().endpoint.equals(endpoint)) {
+				
+				iterator.remove();
+			}
+		}
+	}
+	
+	/**
+	 * Removes all cached results.
+	 * @since 1.1.0
+	 */
+	public synchronized void invalidateAll() {
+		
+		this.entries.clear();
+	}
+	
+	/**
+	 * @return the number of cached results, including the ones that expired but were not requested since
+	 * @since 1.1.0
+	 */
+	public synchronized int size() {
+		
+		return this.entries.size();
+	}
+	
+	/**
+	 * @return how often a result was served from this cache
+	 * @since 1.1.0
+	 */
+	public synchronized long getHitCount() {
+		
+		return this.hits;
+	}
+	
+	/**
+	 * @return how often a cacheable result was not in this cache or expired
+	 * @since 1.1.0
+	 */
+	public synchronized long getMissCount() {
+		
+		return this.misses;
+	}
+	
+	/**
+	 * @return how often a result was removed because this cache was full
+	 * @since 1.1.0
+	 */
+	public synchronized long getEvictionCount() {
+		
+		return this.evictions;
+	}
+	
+	/*
+	 * @param request the request
+	 * @return the key of the result of the request, or {@code null} if the result must not be cached
+	 * @since 1.1.0
+	 */
+	final String createKey(GameJoltRequest<?> request) {
+		
+		if(!request.isCacheable() || this.timesToLive.getOrDefault(request.getEndpoint(), 0L) <= 0) {
+			
+			return null;
+		}
+		
+		// sorted, so that the same parameters always result in the same key
+		return request.getEndpoint() + Util.getQueryString(new TreeMap<>(request.getParams()));
+	}
+	
+	/*
+	 * @param key the key created by {@link #createKey(GameJoltRequest)}
+	 * @return a copy of the cached result, or {@code null} if there is none or it expired
+	 * @since 1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	final <T> T get(String key) {
+		
+		CachedResult entry;
+		
+		synchronized(this) {
+			
+			entry = this.entries.get(key);
+			
+			if(entry != null && entry.expires - System.nanoTime() <= 0) {
+				
+				this.entries.remove(key);
+				entry = null;
+			}
+			
+			if(entry != null) {
+				
+				this.hits++;
+				
+			} else {
+				
+				this.misses++;
+			}
+		}
+		
+		return entry != null ? Util.copy((T)entry.value) : null;
+	}
+	
+	/*
+	 * @param key the key created by {@link #createKey(GameJoltRequest)}
+	 * @param endpoint the endpoint of the request
+	 * @param result the result of the request
+	 * @return the result that has to be returned to the caller; the cache keeps a copy of its own
+	 * @since 1.1.0
+	 */
+	final <T> T put(String key, String endpoint, T result) {
+		
+		long timeToLive = this.timesToLive.getOrDefault(endpoint, 0L);
+		
+		if(timeToLive > 0) {
+			
+			Object value = Util.copy(result);
+			
+			synchronized(this) {
+				
+				this.entries.put(key, new CachedResult(endpoint, value, System.nanoTime() + timeToLive));
+			}
+		}
+		
+		return result;
+	}
+	
+	private static final class CachedResult {
+		
+		private final String endpoint;
+		private final Object value;
+		private final long expires;
+		
+		private CachedResult(String endpoint, Object value, long expires) {
+			
+			this.endpoint = endpoint;
+			this.value = value;
+			this.expires = expires;
+		}
+	}
+}
@@ -0,0 +1,335 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the timeouts of the calls a {@linkplain GameJolt} instance makes, separately for every {@linkplain EndpointGroup}.
+ * <p>The connect timeout limits how long a connection to the server may take to be established and the read timeout how long the client waits
+ * for data from the server before it gives up. The deadline limits a whole call, from waiting for the {@linkplain GameJoltRateLimiter} over
+ * connecting, writing and reading to every retry of the {@linkplain GameJoltRetryPolicy}. No timeout of an attempt is longer than what is left of the deadline,
+ * and when the deadline has passed the call fails with a {@linkplain java.net.SocketTimeoutException}.</p>
+ * <p>By default every group has a connect timeout of 5 seconds, a read timeout of 5 minutes and no deadline.
+ * A transport only respects the timeouts if it implements {@link GameJoltTransport#execute(String, String, String, long, long)}.</p>
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class GameJoltConfig {
+
+	/**
+	 * The default connect timeout in milliseconds.
+	 * @since 1.1.0
+	 */
+	public static final long DEFAULT_CONNECT_TIMEOUT = 5000;
+	
+	/**
+	 * The default read timeout in milliseconds.
+	 * @since 1.1.0
+	 */
+	public static final long DEFAULT_READ_TIMEOUT = 300000;
+	
+	private static final int GROUPS = EndpointGroup.values().length;
+	
+	private final long[] connectTimeouts = new long[GROUPS];
+	private final long[] readTimeouts = new long[GROUPS];
+	private final long[] deadlines = new long[GROUPS];
+	
+	/**
+	 * Creates a configuration with the default timeouts and no deadlines.
+	 * @since 1.1.0
+	 */
+	public GameJoltConfig() {
+		
+		this.setTimeouts(GameJoltConfig.DEFAULT_CONNECT_TIMEOUT, GameJoltConfig.DEFAULT_READ_TIMEOUT, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * Sets the timeouts of every group.
+	 * @param connectTimeout the connect timeout; {@code 0} to wait forever
+	 * @param readTimeout the read timeout; {@code 0} to wait forever
+	 * @param unit the unit of the timeouts
+	 * @since 1.1.0
+	 */
+	public synchronized void setTimeouts(long connectTimeout, long readTimeout, TimeUnit unit) {
+		
+		for(EndpointGroup group : EndpointGroup.values()) {
+			
+			this.setTimeouts(group, connectTimeout, readTimeout, unit);
+		}
+	}
+	
+	/**
+	 * @param group the group
+	 * @param connectTimeout the connect timeout; {@code 0} to wait forever
+	 * @param readTimeout the read timeout; {@code 0} to wait forever
+	 * @param unit the unit of the timeouts
+	 * @throws IllegalArgumentException if a timeout is negative
+	 * @since 1.1.0
+	 */
+	public synchronized void setTimeouts(EndpointGroup group, long connectTimeout, long readTimeout, TimeUnit unit) {
+		
+		if(connectTimeout < 0 || readTimeout < 0) {
+			
+			throw new IllegalArgumentException("A timeout can't be negative");
+		}
+		
+		this.connectTimeouts[group.ordinal()] = unit.toMillis(connectTimeout);
+		this.readTimeouts[group.ordinal()] = unit.toMillis(readTimeout);
+	}
+	
+	/**
+	 * Sets the deadline of every group.
+	 * @param deadline the longest time a call may take, including all of its retries; {@code 0} for no deadline
+	 * @param unit the unit of the deadline
+	 * @since 1.1.0
+	 */
+	public synchronized void setDeadline(long deadline, TimeUnit unit) {
+		
+		for(EndpointGroup group : EndpointGroup.values()) {
+			
+			this.setDeadline(group, deadline, unit);
+		}
+	}
+	
+	/**
+	 * @param group the group
+	 * @param deadline the longest time a call may take, including all of its retries; {@code 0} for no deadline
+	 * @param unit the unit of the deadline
+	 * @throws IllegalArgumentException if the deadline is negative
+	 * @since 1.1.0
+	 */
+	public synchronized void setDeadline(EndpointGroup group, long deadline, TimeUnit unit) {
+		
+		if(deadline < 0) {
+			
+			throw new IllegalArgumentException("A deadline can't be negative");
+		}
+		
+		this.deadlines[group.ordinal()] = unit.toNanos(deadline);
+	}
+	
+	/**
+	 * @param group the group
+	 * @param unit the unit of the result
+	 * @return the connect timeout of the group; {@code 0} if it waits forever
+	 * @since 1.1.0
+	 */
+	public synchronized long getConnectTimeout(EndpointGroup group, TimeUnit unit) {
+		
+		return unit.convert(this.connectTimeouts[group.ordinal()], TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * @param group the group
+	 * @param unit the unit of the result
+	 * @return the read timeout of the group; {@code 0} if it waits forever
+	 * @since 1.1.0
+	 */
+	public synchronized long getReadTimeout(EndpointGroup group, TimeUnit unit) {
+		
+		return unit.convert(this.readTimeouts[group.ordinal()], TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * @param group the group
+	 * @param unit the unit of the result
+	 * @return the deadline of the group; {@code 0} if there is none
+	 * @since 1.1.0
+	 */
+	public synchronized long getDeadline(EndpointGroup group, TimeUnit unit) {
+		
+		return unit.convert(this.deadlines[group.ordinal()], TimeUnit.NANOSECONDS);
+	}
+	
+	/*
+	 * Starts the deadline of a call.
+	 * @param endpoint the endpoint of the call
+	 * @return the deadline with the timeouts of the group of the endpoint
+	 * @since 1.1.0
+	 */
+	final synchronized Deadline start(String endpoint) {
+		
+		int group = EndpointGroup.of(endpoint).ordinal();
+		return new Deadline(endpoint, this.connectTimeouts[group], this.readTimeouts[group], this.deadlines[group]);
+	}
+	
+	/*
+	 * The time that is left for a call and the timeouts of its attempts.
+	 */
+	static final class Deadline {
+		
+		private final String endpoint;
+		private final long connectTimeout;
+		private final long readTimeout;
+		private final boolean bounded;
+		private final long end;
+		
+		private Deadline(String endpoint, long connectTimeout, long readTimeout, long deadline) {
+			
+			this.endpoint = endpoint;
+			this.connectTimeout = connectTimeout;
+			this.readTimeout = readTimeout;
+			this.bounded = deadline > 0;
+			this.end = System.nanoTime() + deadline;
+		}
+		
+		/*
+		 * @return the time that is left in nanoseconds, or {@linkplain Long#MAX_VALUE} if there is no deadline
+		 * @throws SocketTimeoutException if the deadline has passed
+		 */
+		final long getRemaining() throws SocketTimeoutException {
+			
+			if(!this.bounded) {
+				
+				return Long.MAX_VALUE;
+			}
+			
+			long remaining = this.end - System.nanoTime();
+			
+			if(remaining <= 0) {
+				
+				throw new SocketTimeoutException("The deadline of " + this.endpoint + " has passed");
+			}
+			
+			return remaining;
+		}
+		
+		/*
+		 * @return the connect timeout of the next attempt in milliseconds
+		 * @throws SocketTimeoutException if the deadline has passed
+		 */
+		final long getConnectTimeout() throws SocketTimeoutException {
+			
+			return this.shorten(this.connectTimeout);
+		}
+		
+		/*
+		 * @return the read timeout of the next attempt in milliseconds
+		 * @throws SocketTimeoutException if the deadline has passed
+		 */
+		final long getReadTimeout() throws SocketTimeoutException {
+			
+			return this.shorten(this.readTimeout);
+		}
+		
+		private final long shorten(long timeout) throws SocketTimeoutException {
+			
+			long remaining = this.getRemaining();
+			
+			if(remaining == Long.MAX_VALUE) {
+				
+				return timeout;
+			}
+			
+			// at least 1 millisecond, because 0 would mean to wait forever
+			long left = Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining));
+			return timeout > 0 ? Math.min(timeout, left) : left;
+		}
+	}
+	
+	/**
+	 * Groups the endpoints of the GameJolt API by the kind of work they do, so calls that have to be fast can be given tighter timeouts.
+	 * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+	 * @version 1.1.0
+	 * @since 1.1.0
+	 */
+	public static enum EndpointGroup {
+		
+		/**
+		 * {@code /sessions/*}
+		 * @since 1.1.0
+		 */
+		SESSIONS("/sessions"),
+		
+		/**
+		 * {@code /data-store/*}
+		 * @since 1.1.0
+		 */
+		DATA_STORE("/data-store"),
+		
+		/**
+		 * {@code /scores/*}
+		 * @since 1.1.0
+		 */
+		SCORES("/scores"),
+		
+		/**
+		 * {@code /trophies/*}
+		 * @since 1.1.0
+		 */
+		TROPHIES("/trophies"),
+		
+		/**
+		 * {@code /users/*}
+		 * @since 1.1.0
+		 */
+		USERS("/users"),
+		
+		/**
+		 * {@code /get-time}
+		 * @since 1.1.0
+		 */
+		TIME("/get-time"),
+		
+		/**
+		 * {@code /batch}; a batch has the timeouts of this group, no matter which requests it contains
+		 * @since 1.1.0
+		 */
+		BATCH("/batch"),
+		
+		/**
+		 * Every endpoint that is not part of another group
+		 * @since 1.1.0
+		 */
+		OTHER(null);
+		
+		private final String prefix;
+		
+		private EndpointGroup(String prefix) {
+			
+			this.prefix = prefix;
+		}
+		
+		/**
+		 * @param endpoint the endpoint, for example {@code "/sessions/ping"}
+		 * @return the group of the endpoint
+		 * @since 1.1.0
+		 */
+		public static final EndpointGroup of(String endpoint) {
+			
+			for(EndpointGroup group : EndpointGroup.values()) {
+				
+				if(group.prefix != null && endpoint.startsWith(group.prefix) && (endpoint.length() == group.prefix.length() || endpoint.charAt(group.prefix.length()) == '/')) {
+					
+					return group;
+				}
+			}
+			
+			return OTHER;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The immutable name and token of a user. Requests read the credentials once, so the name and the token always belong together,
+ * even if another thread logs in or out at the same time.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+final class GameJoltCredentials {
+
+	private final String username;
+	private final String user_token;
+	
+	/*
+	 * @param username the name of the user
+	 * @param user_token the token of the user
+	 * @since 1.1.0
+	 */
+	GameJoltCredentials(String username, String user_token) {
+		
+		this.username = username;
+		this.user_token = user_token;
+	}
+	
+	/*
+	 * Puts the credentials on the parameters of a request.
+	 * @param credentials the credentials, or {@code null} if no user is logged in
+	 * @param params the parameters
+	 * @return the parameters
+	 * @since 1.1.0
+	 */
+	static final Map<String, Object> put(GameJoltCredentials credentials, Map<String, Object> params) {
+		
+		params.put("username", credentials != null ? credentials.username : null);
+		params.put("user_token", credentials != null ? credentials.user_token : null);
+		return params;
+	}
+	
+	final String getUsername() {
+		
+		return this.username;
+	}
+	
+	final String getUserToken() {
+		
+		return this.user_token;
+	}
+	
+	@Override
+	public boolean equals(Object object) {
+		
+		if(object instanceof GameJoltCredentials) {
+			
+			GameJoltCredentials credentials = (GameJoltCredentials)object;
+			return Objects.equals(this.username, credentials.username) && Objects.equals(this.user_token, credentials.user_token);
+		}
+		
+		return false;
+	}
+	
+	@Override
+	public int hashCode() {
+		
+		return Objects.hash(this.username, this.user_token);
+	}
+}
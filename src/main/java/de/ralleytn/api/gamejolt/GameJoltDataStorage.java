@@ -23,11 +23,23 @@
  */
 package de.ralleytn.api.gamejolt;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import de.ralleytn.simple.json.JSONArray;
 import de.ralleytn.simple.json.JSONObject;
@@ -35,19 +47,42 @@ import de.ralleytn.simple.json.JSONParseException;
 
 /**
  * Represents a game's data storage.
+ * Large values can be {@linkplain #setCompressionThreshold(int) compressed} and {@linkplain #setChunkSize(int) split over several entries}.
+ * Values that were encoded this way are decoded by {@link #get(String)} no matter how this data storage is configured.
+ * {@linkplain GameJoltBatch Batches} read and write the values as they are on the server, and so does a {@linkplain GameJoltBufferedDataStorage buffered data storage} when it flushes.
  * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
 public final class GameJoltDataStorage {
 
+	private static final String COMPRESSED = "gjz:";
+	private static final String CHUNKED = "gjc:";
+	
+
 	private final GameJolt gj;
 	private final boolean global;
+	private final GameJoltCredentials credentials;
+	private volatile Mirror mirror;
+	private volatile Mirror loading;
+	private volatile GameJoltDiskCache diskCache;
+	private volatile int compressionThreshold;
+	private volatile int chunkSize;
 	
 	GameJoltDataStorage(GameJolt gj, boolean global) {
 		
+		this(gj, global, null);
+	}
+	
+	/*
+	 * @param credentials the user whose data storage this is, or {@code null} for the user that is logged in on the service consumer
+	 * @since 1.1.0
+	 */
+	GameJoltDataStorage(GameJolt gj, boolean global, GameJoltCredentials credentials) {
+		
 		this.gj = gj;
 		this.global = global;
+		this.credentials = credentials;
 	}
 	
 	// ----------------------------------------------------------------------------------------------
@@ -67,22 +102,19 @@ public final class GameJoltDataStorage {
 	 */
 	public final String update(String key, String value, Operation operation) throws IOException, GameJoltException, JSONParseException {
 		
-		Map<String, Object> params = new HashMap<>();
-		params.put("key", key);
-		params.put("operation", operation.toString().toLowerCase());
+		return this.gj.execute(this.createUpdateRequest(key, value, operation));
+	}
+	
+	final GameJoltRequest<String> createUpdateRequest(String key, String value, Operation operation) {
 		
-		if(!this.global) {
-			
-			params.put("username", this.gj.getUsername());
-			params.put("user_token", this.gj.getUserToken());
-		}
+		GameJoltCredentials owner = this.getOwner();
+		Map<String, Object> params = this.createParams(owner, key);
+		params.put("operation", operation.toString().toLowerCase());
 		
 		Map<String, Object> postParams = new HashMap<>();
 		postParams.put("value", value);
 		
-		JSONObject response = this.gj.post("/data-store/update", params, postParams);
-		this.gj.checkStatus(response);
-		return response.getString("data");
+		return new GameJoltRequest<>("/data-store/update", params, postParams, response -> this.remember(owner, key, response.getString("data")));
 	}
 	
 	// ==== POST /data-store/set
@@ -98,20 +130,34 @@ public final class GameJoltDataStorage {
 	 */
 	public final void set(String key, String data) throws IOException, GameJoltException, JSONParseException {
 		
-		Map<String, Object> params = new HashMap<>();
-		params.put("key", key);
+		List<String> chunks = this.split(this.compress(data));
 		
-		if(!this.global) {
+		if(chunks.size() == 1) {
+			
+			this.gj.execute(this.createSetRequest(key, chunks.get(0)));
+			
+		} else {
 			
-			params.put("username", this.gj.getUsername());
-			params.put("user_token", this.gj.getUserToken());
+			GameJoltBatch batch = this.gj.createBatch().setParallel(true);
+			CompletableFuture<Void> stored = this.addChunkWrites(batch, key, chunks);
+			batch.execute();
+			GameJolt.await(stored);
+			this.gj.execute(this.createManifestRequest(key, chunks.size()));
 		}
+	}
+	
+	final GameJoltRequest<Void> createSetRequest(String key, String data) {
 		
+		GameJoltCredentials owner = this.getOwner();
 		Map<String, Object> postParams = new HashMap<>();
 		postParams.put("data", data);
 		
-		JSONObject response = this.gj.post("/data-store/set", params, postParams);
-		this.gj.checkStatus(response);
+		return new GameJoltRequest<Void>("/data-store/set", this.createParams(owner, key), postParams, response -> {
+			
+			this.remember(owner, key, data);
+			return null;
+			
+		}).idempotent();
 	}
 	
 	// ==== GET /data-store/remove
@@ -126,24 +172,50 @@ public final class GameJoltDataStorage {
 	 */
 	public final void remove(String key) throws IOException, GameJoltException, JSONParseException {
 		
-		Map<String, Object> params = new HashMap<>();
-		params.put("key", key);
+		int count = 0;
 		
-		if(!this.global) {
+		if(this.chunkSize > 0) {
+			
+			String data = this.getLocal(key);
+			
+			try {
+				
+				count = GameJoltDataStorage.getChunkCount(data != null ? data : this.gj.execute(this.createGetRequest(key)));
+				
+			} catch(GameJoltException exception) {
+				
+				// the entry doesn't exist; the remove request reports that
+			}
+		}
+		
+		if(count == 0) {
+			
+			this.gj.execute(this.createRemoveRequest(key));
+			
+		} else {
 			
-			params.put("username", this.gj.getUsername());
-			params.put("user_token", this.gj.getUserToken());
+			GameJoltBatch batch = this.gj.createBatch().setParallel(true);
+			CompletableFuture<Void> removed = this.addChunkRemoves(batch, key, count);
+			batch.execute();
+			GameJolt.await(removed);
 		}
+	}
+	
+	final GameJoltRequest<Void> createRemoveRequest(String key) {
 		
-		JSONObject response = this.gj.get("/data-store/remove", params);
-		this.gj.checkStatus(response);
+		GameJoltCredentials owner = this.getOwner();
+		return new GameJoltRequest<>("/data-store/remove", this.createParams(owner, key), null, response -> {
+			
+			this.remember(owner, key, null);
+			return null;
+		});
 	}
 	
 	// ==== GET /data-store
 	
 	/**
 	 * @param key the entry key
-	 * @return the data of an entry
+	 * @return the data of an entry; served from memory if the key is {@linkplain #enableMirroring(String) mirrored} or from the {@linkplain #setDiskCache(GameJoltDiskCache) disk cache}
 	 * @throws IOException if something went wrong during the data transfer
 	 * @throws JSONParseException if the JSON data could not be parsed
 	 * @throws GameJoltException if the service says something went wrong
@@ -151,18 +223,30 @@ public final class GameJoltDataStorage {
 	 */
 	public final String get(String key) throws IOException, GameJoltException, JSONParseException {
 		
-		Map<String, Object> params = new HashMap<>();
-		params.put("key", key);
+		String data = this.getLocal(key);
+		data = data != null ? data : this.gj.execute(this.createGetRequest(key));
+		int count = GameJoltDataStorage.getChunkCount(data);
 		
-		if(!this.global) {
+		if(count > 0) {
+			
+			GameJoltBatch batch = this.gj.createBatch().setParallel(true);
+			CompletableFuture<String> joined = this.addChunkReads(batch, key, count);
 			
-			params.put("username", this.gj.getUsername());
-			params.put("user_token", this.gj.getUserToken());
+			if(batch.size() > 0) {
+				
+				batch.execute();
+			}
+			
+			data = GameJolt.await(joined);
 		}
 		
-		JSONObject response = this.gj.get("/data-store", params);
-		this.gj.checkStatus(response);
-		return response.getString("data");
+		return this.decompress(data);
+	}
+	
+	final GameJoltRequest<String> createGetRequest(String key) {
+		
+		GameJoltCredentials owner = this.getOwner();
+		return new GameJoltRequest<>("/data-store", this.createParams(owner, key), null, response -> this.remember(owner, key, response.getString("data"))).read();
 	}
 	
 	// ==== GET /data-store/get-keys
@@ -189,30 +273,560 @@ public final class GameJoltDataStorage {
 	 */
 	public final List<String> getKeys(String pattern) throws IOException, GameJoltException, JSONParseException {
 		
-		Map<String, Object> params = new HashMap<>();
+		return this.gj.execute(this.createGetKeysRequest(pattern));
+	}
+	
+	final GameJoltRequest<List<String>> createGetKeysRequest(String pattern) {
 		
-		if(!this.global) {
-			
-			params.put("username", this.gj.getUsername());
-			params.put("user_token", this.gj.getUserToken());
-		}
+		Map<String, Object> params = this.createParams(null);
 		
 		if(pattern != null) {
 			
 			params.put("pattern", pattern);
 		}
 		
-		JSONObject response = this.gj.get("/data-store/get-keys", params);
-		this.gj.checkStatus(response);
-		JSONArray array = response.getArray("keys");
-		List<String> keys = new ArrayList<>();
+		return new GameJoltRequest<>("/data-store/get-keys", params, null, response -> {
+			
+			JSONArray array = response.getArray("keys");
+			List<String> keys = new ArrayList<>();
+			
+			for(Object element : array) {
+				
+				keys.add(((JSONObject)element).getString("key"));
+			}
+			
+			return keys;
+		}).read();
+	}
+	
+	// ==== Mirror
+	
+	/**
+	 * Loads all entries whose keys match a pattern into memory. The keys are fetched with one call and the data of the entries
+	 * with as few {@linkplain GameJoltBatch batches} as possible. Afterwards {@link #get(String)} serves these keys from memory.
+	 * Writes through this data storage, including the ones in batches, keep the mirror up to date.
+	 * Changes that were made by someone else are only seen after a {@link #refresh()}.
+	 * @param pattern the pattern of the keys, where {@code *} matches any number of characters, or {@code null} for all keys
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final void enableMirroring(String pattern) throws IOException, GameJoltException, JSONParseException {
+		
+		GameJoltCredentials owner = this.getOwner();
+		Mirror mirror = new Mirror(pattern, owner);
+		
+		// writes that succeed while the entries are loaded are applied to the new mirror as well and win over the loaded data
+		this.loading = mirror;
+		
+		try {
+			
+			List<String> keys = this.gj.execute(this.createGetKeysRequest(pattern));
+			GameJoltBatch batch = this.gj.createBatch().setParallel(true);
+			Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+			
+			for(String key : keys) {
+				
+				futures.put(key, batch.add(new GameJoltRequest<>("/data-store", this.createParams(owner, key), null, response -> response.getString("data"))));
+			}
+			
+			batch.execute();
+			
+			for(Map.Entry<String, CompletableFuture<String>> entry : futures.entrySet()) {
+				
+				// null if the entry was removed after the keys were fetched
+				String data = entry.getValue().handle((result, exception) -> result).join();
+				
+				if(data != null) {
+					
+					mirror.load(entry.getKey(), data);
+				}
+			}
+			
+			mirror.finishLoading();
+			this.mirror = mirror;
+			
+		} finally {
+			
+			if(this.loading == mirror) {
+				
+				this.loading = null;
+			}
+		}
+	}
+	
+	/**
+	 * Loads the mirrored entries again to see changes that were not made through this data storage.
+	 * Does nothing if mirroring is not enabled.
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final void refresh() throws IOException, GameJoltException, JSONParseException {
+		
+		Mirror mirror = this.getMirror();
+		
+		if(mirror != null) {
+			
+			this.enableMirroring(mirror.source);
+		}
+	}
+	
+	/**
+	 * Drops the mirrored entries; every read asks the server again.
+	 * @since 1.1.0
+	 */
+	public final void disableMirroring() {
+		
+		this.mirror = null;
+	}
+	
+	/**
+	 * The mirror of the data storage of the logged in user belongs to the user that was logged in when mirroring was enabled.
+	 * It is dropped as soon as another user logs in or the user logs out.
+	 * @return {@code true} if entries are mirrored, else {@code false}
+	 * @since 1.1.0
+	 */
+	public final boolean isMirroring() {
+		
+		return this.getMirror() != null;
+	}
+	
+	/*
+	 * @return the mirror, or {@code null} if there is none or it belongs to another user than the one whose data this storage currently accesses
+	 */
+	private final Mirror getMirror() {
+		
+		Mirror mirror = this.mirror;
+		
+		if(mirror != null && !Objects.equals(mirror.owner, this.getOwner())) {
+			
+			this.mirror = null;
+			return null;
+		}
+		
+		return mirror;
+	}
+	
+	// ==== Disk cache
+	
+	/**
+	 * Sets a cache that keeps the data of the entries that were read or written through this data storage on disk, also between runs.
+	 * Reads of these entries are served from the cache until the records are older than its {@linkplain GameJoltDiskCache#setMaxAge(long, java.util.concurrent.TimeUnit) maximum age}. The records are stored under the game ID and the username in front of the entry key,
+	 * so one cache can be shared by the global data storage and the data storages of different users and games.
+	 * @param diskCache the cache, or {@code null} to not cache entries on disk (default)
+	 * @since 1.1.0
+	 */
+	public final void setDiskCache(GameJoltDiskCache diskCache) {
+		
+		this.diskCache = diskCache;
+	}
+	
+	/**
+	 * @return the disk cache, or {@code null} if there is none
+	 * @since 1.1.0
+	 */
+	public final GameJoltDiskCache getDiskCache() {
+		
+		return this.diskCache;
+	}
+	
+	/*
+	 * @param key the entry key
+	 * @return the data of the entry from the mirror or the disk cache, or {@code null} if it is in neither of them
+	 * @since 1.1.0
+	 */
+	final String getLocal(String key) {
+		
+		Mirror mirror = this.getMirror();
+		String data = mirror != null ? mirror.entries.get(key) : null;
+		GameJoltDiskCache diskCache = this.diskCache;
+		
+		if(data == null && diskCache != null) {
+			
+			try {
+				
+				data = diskCache.getString(this.getCacheKey(this.getOwner(), key));
+				
+			} catch(IOException exception) {
+				
+				// a cache that cannot be read just misses
+			}
+		}
+		
+		return data;
+	}
+	
+	/*
+	 * Updates the mirror and the disk cache after a request for an entry succeeded.
+	 * @param owner the user the request was sent for
+	 * @param key the entry key
+	 * @param data the new data of the entry, or {@code null} if it was removed
+	 * @return the data
+	 */
+	private final String remember(GameJoltCredentials owner, String key, String data) {
+		
+		// the loading mirror is read first; if it was already cleared the new mirror has been published
+		Mirror loading = this.loading;
+		Mirror mirror = this.mirror;
+		
+		if(mirror != null) {
+			
+			mirror.write(owner, key, data);
+		}
+		
+		if(loading != null && loading != mirror) {
+			
+			loading.write(owner, key, data);
+		}
+		
+		GameJoltDiskCache diskCache = this.diskCache;
+		
+		if(diskCache != null) {
+			
+			try {
+				
+				if(data != null) {
+					
+					diskCache.put(this.getCacheKey(owner, key), data);
+					
+				} else {
+					
+					diskCache.invalidate(this.getCacheKey(owner, key));
+				}
+				
+			} catch(IOException exception) {
+				
+				// a cache that cannot be written just misses
+			}
+		}
+		
+		return data;
+	}
+	
+	// ==== Codec
+	
+	/**
+	 * Sets from which length on values are compressed before they are stored. Compressed values are deflated and encoded as URL safe Base64,
+	 * so they need no escaping in the request body. A value is only stored compressed if that makes it shorter.
+	 * Values that start with {@code "gjz:"} or {@code "gjc:"} are always compressed, so they can't be mistaken for encoded values.
+	 * Compressed entries can't be {@linkplain #update(String, String, Operation) updated} anymore.
+	 * @param compressionThreshold the minimum length of a value in characters that is compressed, or 0 to not compress values (default)
+	 * @throws IllegalArgumentException if the threshold is negative
+	 * @since 1.1.0
+	 */
+	public final void setCompressionThreshold(int compressionThreshold) {
+		
+		if(compressionThreshold < 0) {
+			
+			throw new IllegalArgumentException("The compression threshold must not be negative");
+		}
+		
+		this.compressionThreshold = compressionThreshold;
+	}
+	
+	/**
+	 * Sets the maximum length of an entry. Longer values are split over the entries {@code key#0} to {@code key#n}, which are stored in parallel,
+	 * and the entry {@code key} itself only holds the number of chunks. It is written after all chunks were stored, so a value is never read half written.
+	 * {@link #get(String)} fetches the chunks in parallel with one {@linkplain GameJoltBatch batch} and {@link #remove(String)} removes them as well.
+	 * Chunks that are left over after a value was replaced with a shorter one stay on the server until they are removed by hand.
+	 * @param chunkSize the maximum length of an entry in characters, or 0 to never split values (default)
+	 * @throws IllegalArgumentException if the chunk size is negative or 1
+	 * @since 1.1.0
+	 */
+	public final void setChunkSize(int chunkSize) {
+		
+		if(chunkSize < 0 || chunkSize == 1) {
+			
+			throw new IllegalArgumentException("The chunk size must be 0 or at least 2");
+		}
+		
+		this.chunkSize = chunkSize;
+	}
+	
+	/**
+	 * @return the minimum length of a value in characters that is compressed, or 0 if values are not compressed
+	 * @since 1.1.0
+	 */
+	public final int getCompressionThreshold() {
+		
+		return this.compressionThreshold;
+	}
+	
+	/**
+	 * @return the maximum length of an entry in characters, or 0 if values are never split
+	 * @since 1.1.0
+	 */
+	public final int getChunkSize() {
+		
+		return this.chunkSize;
+	}
+	
+	/*
+	 * @param data the value
+	 * @return the value as it should be stored, compressed if the compression threshold says so
+	 * @since 1.1.0
+	 */
+	final String compress(String data) {
+		
+		int threshold = this.compressionThreshold;
+		boolean marked = data.startsWith(COMPRESSED) || data.startsWith(CHUNKED);
+		
+		if(!marked && (threshold == 0 || data.length() < threshold)) {
+			
+			return data;
+		}
+		
+		byte[] input = data.getBytes(StandardCharsets.UTF_8);
+		ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 2 + 16);
+		byte[] buffer = new byte[8192];
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		
+		try {
+			
+			deflater.setInput(input);
+			deflater.finish();
+			
+			while(!deflater.finished()) {
+				
+				output.write(buffer, 0, deflater.deflate(buffer));
+			}
+			
+		} finally {
+			
+			deflater.end();
+		}
+		
+		String compressed = COMPRESSED + Base64.getUrlEncoder().withoutPadding().encodeToString(output.toByteArray());
+		return marked || compressed.length() < data.length() ? compressed : data;
+	}
+	
+	/*
+	 * @param data the value as it was stored
+	 * @return the original value
+	 * @throws GameJoltException if the value is marked as compressed but can't be inflated
+	 * @since 1.1.0
+	 */
+	final String decompress(String data) throws GameJoltException {
+		
+		if(data == null || !data.startsWith(COMPRESSED)) {
+			
+			return data;
+		}
+		
+		Inflater inflater = new Inflater();
+		
+		try {
+			
+			inflater.setInput(Base64.getUrlDecoder().decode(data.substring(COMPRESSED.length())));
+			ByteArrayOutputStream output = new ByteArrayOutputStream(data.length() * 2);
+			byte[] buffer = new byte[8192];
+			
+			while(!inflater.finished()) {
+				
+				int length = inflater.inflate(buffer);
+				
+				if(length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					
+					throw new GameJoltException(this.gj, "The compressed value is incomplete");
+				}
+				
+				output.write(buffer, 0, length);
+			}
+			
+			return new String(output.toByteArray(), StandardCharsets.UTF_8);
+			
+		} catch(IllegalArgumentException | DataFormatException exception) {
+			
+			throw new GameJoltException(this.gj, exception);
+			
+		} finally {
+			
+			inflater.end();
+		}
+	}
+	
+	/*
+	 * @param data the value as it should be stored
+	 * @return the chunks of the value; only the value itself if it is short enough
+	 * @since 1.1.0
+	 */
+	final List<String> split(String data) {
+		
+		int size = this.chunkSize;
+		
+		if(size == 0 || data.length() <= size) {
+			
+			return Collections.singletonList(data);
+		}
+		
+		List<String> chunks = new ArrayList<>(data.length() / size + 1);
+		int start = 0;
+		
+		while(start < data.length()) {
+			
+			int end = Math.min(start + size, data.length());
+			
+			// a surrogate pair must not be torn apart or neither chunk would be valid UTF-8
+			if(end < data.length() && Character.isHighSurrogate(data.charAt(end - 1))) {
+				
+				end--;
+			}
+			
+			chunks.add(data.substring(start, end));
+			start = end;
+		}
+		
+		return chunks;
+	}
+	
+	/*
+	 * Adds the requests that store the chunks of a value to a batch.
+	 * The manifest must only be stored after all of them succeeded.
+	 * @return a future that completes when all chunks were stored
+	 * @since 1.1.0
+	 */
+	final CompletableFuture<Void> addChunkWrites(GameJoltBatch batch, String key, List<String> chunks) {
+		
+		List<CompletableFuture<Void>> futures = new ArrayList<>(chunks.size());
+		
+		for(int index = 0; index < chunks.size(); index++) {
+			
+			futures.add(batch.add(this.createSetRequest(GameJoltDataStorage.getChunkKey(key, index), chunks.get(index))));
+		}
+		
+		return GameJoltDataStorage.allInOrder(futures).thenApply(chunk -> null);
+	}
+	
+	/*
+	 * Adds the requests that read the chunks of a value to a batch. Chunks that are in the mirror or in the disk cache are not requested.
+	 * @return a future that completes with the joined chunks
+	 * @since 1.1.0
+	 */
+	final CompletableFuture<String> addChunkReads(GameJoltBatch batch, String key, int count) {
+		
+		List<CompletableFuture<String>> futures = new ArrayList<>(count);
+		
+		for(int index = 0; index < count; index++) {
+			
+			String chunkKey = GameJoltDataStorage.getChunkKey(key, index);
+			String chunk = this.getLocal(chunkKey);
+			futures.add(chunk != null ? CompletableFuture.completedFuture(chunk) : batch.add(this.createGetRequest(chunkKey)));
+		}
+		
+		return GameJoltDataStorage.allInOrder(futures).thenApply(chunks -> String.join("", chunks));
+	}
+	
+	/*
+	 * Adds the requests that remove an entry and all of its chunks to a batch.
+	 * @return a future that completes when the entry and its chunks were removed
+	 * @since 1.1.0
+	 */
+	final CompletableFuture<Void> addChunkRemoves(GameJoltBatch batch, String key, int count) {
+		
+		List<CompletableFuture<Void>> futures = new ArrayList<>(count + 1);
+		futures.add(batch.add(this.createRemoveRequest(key)));
+		
+		for(int index = 0; index < count; index++) {
+			
+			futures.add(batch.add(this.createRemoveRequest(GameJoltDataStorage.getChunkKey(key, index))));
+		}
+		
+		return GameJoltDataStorage.allInOrder(futures).thenApply(removed -> null);
+	}
+	
+	final GameJoltRequest<Void> createManifestRequest(String key, int count) {
+		
+		return this.createSetRequest(key, CHUNKED + count);
+	}
+	
+	/*
+	 * @param data the value as it was stored
+	 * @return the number of chunks if the value is a manifest, else 0
+	 * @since 1.1.0
+	 */
+	static final int getChunkCount(String data) {
+		
+		if(data != null && data.startsWith(CHUNKED)) {
+			
+			try {
+				
+				return Math.max(0, Integer.parseInt(data.substring(CHUNKED.length())));
+				
+			} catch(NumberFormatException exception) {
+				
+				// not a manifest after all
+			}
+		}
+		
+		return 0;
+	}
+	
+	private static final String getChunkKey(String key, int index) {
+		
+		return key + '#' + index;
+	}
+	
+	/*
+	 * @return a future that completes with the results in order, or exceptionally with the first failure in order
+	 */
+	private static final <T> CompletableFuture<List<T>> allInOrder(List<CompletableFuture<T>> futures) {
+		
+		CompletableFuture<List<T>> result = CompletableFuture.completedFuture(new ArrayList<>(futures.size()));
+		
+		for(CompletableFuture<T> future : futures) {
+			
+			result = result.thenCompose(list -> future.thenApply(element -> {
+				
+				list.add(element);
+				return list;
+			}));
+		}
+		
+		return result;
+	}
+	
+	private final Map<String, Object> createParams(String key) {
+		
+		return this.createParams(this.getOwner(), key);
+	}
+	
+	private final Map<String, Object> createParams(GameJoltCredentials owner, String key) {
+		
+		Map<String, Object> params = new HashMap<>();
 		
-		for(Object element : array) {
+		if(key != null) {
+			
+			params.put("key", key);
+		}
+		
+		if(!this.global) {
 			
-			keys.add(((JSONObject)element).getString("key"));
+			GameJoltCredentials.put(owner, params);
 		}
 		
-		return keys;
+		return params;
+	}
+	
+	/*
+	 * @param owner the user the entry belongs to, or {@code null} for the global data storage
+	 * @param key the entry key
+	 * @return the key of the entry in the disk cache
+	 */
+	private final String getCacheKey(GameJoltCredentials owner, String key) {
+		
+		// nothing is stored for the user storage while no user is logged in because every request fails
+		return this.gj.getGameId() + (this.global ? "/global" : "/user/" + (owner != null ? owner.getUsername() : "")) + '/' + key;
+	}
+	
+	/*
+	 * @return the user whose data this storage currently accesses, or {@code null} for the global data storage
+	 */
+	private final GameJoltCredentials getOwner() {
+		
+		return this.global ? null : this.credentials != null ? this.credentials : this.gj.getCredentials();
 	}
 	
 	// ----------------------------------------------------------------------------------------------
@@ -235,6 +849,68 @@ public final class GameJoltDataStorage {
 		return this.global;
 	}
 	
+	private static final class Mirror {
+		
+		private final String source;
+		private final Pattern pattern;
+		private final GameJoltCredentials owner;
+		private final Map<String, String> entries = new ConcurrentHashMap<>();
+		private Map<String, String> written = new HashMap<>();
+		
+		private Mirror(String source, GameJoltCredentials owner) {
+			
+			this.source = source;
+			this.owner = owner;
+			StringBuilder regex = new StringBuilder();
+			String[] parts = (source != null ? source : "*").split("\\*", -1);
+			
+			for(int index = 0; index < parts.length; index++) {
+				
+				if(index > 0) regex.append(".*");
+				regex.append(Pattern.quote(parts[index]));
+			}
+			
+			this.pattern = Pattern.compile(regex.toString(), Pattern.DOTALL);
+		}
+		
+		/*
+		 * Applies a write that succeeded. While the mirror is loaded the write is remembered, so older loaded data can't overwrite it.
+		 * @param data the new data, or {@code null} if the entry was removed
+		 */
+		private final synchronized void write(GameJoltCredentials owner, String key, String data) {
+			
+			if(Objects.equals(this.owner, owner) && this.pattern.matcher(key).matches()) {
+				
+				if(this.written != null) {
+					
+					this.written.put(key, data);
+				}
+				
+				if(data != null) {
+					
+					this.entries.put(key, data);
+					
+				} else {
+					
+					this.entries.remove(key);
+				}
+			}
+		}
+		
+		private final synchronized void load(String key, String data) {
+			
+			if(!this.written.containsKey(key)) {
+				
+				this.entries.put(key, data);
+			}
+		}
+		
+		private final synchronized void finishLoading() {
+			
+			this.written = null;
+		}
+	}
+	
 	/**
 	 * Represents an operation that can be executed when updating an entry.
 	 * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
@@ -0,0 +1,475 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent cache for the data of data storage entries. The entries are appended to a single segment file which is mapped into memory,
+ * so reading an entry needs no system call. Callers always get a copy of the data, because compacting the file moves the records.
+ * An index from the keys to the positions in the file is built when the file is opened.
+ * Every record carries a CRC32 of its content; a record that was only partly written when the process died is cut off.
+ * Records are only served until they are older than the {@linkplain #setMaxAge(long, TimeUnit) maximum age}, also across runs.
+ * Once the file grows beyond its maximum size it is compacted: outdated records are dropped and, if that is not enough,
+ * the least recently used entries are evicted.
+ * <p>
+ * Set it with {@link GameJoltDataStorage#setDiskCache(GameJoltDiskCache)}. The cache is only updated by reads and writes through that data storage,
+ * changes made by someone else are seen after {@link #invalidate(String)}.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class GameJoltDiskCache implements Closeable {
+
+	private static final int MAGIC = 0x474A4443;
+	private static final int HEADER_SIZE = 24;
+	private static final int CHECKED_OFFSET = 16;
+	
+	private final Path file;
+	private final long maxSize;
+	private final LinkedHashMap<String, Record> index = new LinkedHashMap<>(16, 0.75F, true);
+	private FileChannel channel;
+	private MappedByteBuffer mapped;
+	private long size;
+	private long liveSize;
+	private volatile long maxAge = TimeUnit.MINUTES.toMillis(10);
+	
+	/**
+	 * Opens a cache file or creates it if it does not exist.
+	 * @param file the segment file
+	 * @param maxSize the size in bytes at which the file is compacted (at most 1 GiB because the file is mapped as a whole)
+	 * @throws IOException if the file could not be opened or read
+	 * @since 1.1.0
+	 */
+	public GameJoltDiskCache(Path file, long maxSize) throws IOException {
+		
+		if(maxSize < 1 || maxSize > Integer.MAX_VALUE / 2) {
+			
+			throw new IllegalArgumentException("The maximum size has to be between 1 byte and 1 GiB!");
+		}
+		
+		this.file = file;
+		this.maxSize = maxSize;
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.load();
+	}
+	
+	/**
+	 * @param key the entry key
+	 * @return a copy of the UTF-8 encoded data, or {@code null} if the entry is not cached or older than the maximum age
+	 * @throws IOException if the file could not be mapped
+	 * @since 1.1.0
+	 */
+	public synchronized byte[] get(String key) throws IOException {
+		
+		ByteBuffer view = this.view(key);
+		
+		if(view == null) {
+			
+			return null;
+		}
+		
+		byte[] data = new byte[view.remaining()];
+		view.get(data);
+		return data;
+	}
+	
+	/**
+	 * @param key the entry key
+	 * @return the data of the entry, or {@code null} if the entry is not cached or older than the maximum age
+	 * @throws IOException if the file could not be mapped
+	 * @since 1.1.0
+	 */
+	public synchronized String getString(String key) throws IOException {
+		
+		ByteBuffer view = this.view(key);
+		return view != null ? StandardCharsets.UTF_8.decode(view).toString() : null;
+	}
+	
+	/**
+	 * Sets how long records are served after they were written. Older records are treated as if they were not cached,
+	 * so the data storage asks the server again and replaces them.
+	 * @param duration the maximum age; {@code 0} to serve records until they are replaced
+	 * @param unit the unit of the duration
+	 * @since 1.1.0
+	 */
+	public void setMaxAge(long duration, TimeUnit unit) {
+		
+		if(duration < 0) {
+			
+			throw new IllegalArgumentException("The maximum age cannot be negative!");
+		}
+		
+		this.maxAge = unit.toMillis(duration);
+	}
+	
+	/**
+	 * @param unit the unit of the returned duration
+	 * @return how long records are served after they were written; {@code 0} if they are served until they are replaced; the default is 10 minutes
+	 * @since 1.1.0
+	 */
+	public long getMaxAge(TimeUnit unit) {
+		
+		return unit.convert(this.maxAge, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * Adds or replaces an entry.
+	 * @param key the entry key
+	 * @param data the data
+	 * @throws IOException if the entry could not be written
+	 * @since 1.1.0
+	 */
+	public synchronized void put(String key, String data) throws IOException {
+		
+		this.append(key, data.getBytes(StandardCharsets.UTF_8));
+		
+		if(this.size > this.maxSize) {
+			
+			this.compact();
+		}
+	}
+	
+	/**
+	 * Removes an entry.
+	 * @param key the entry key
+	 * @throws IOException if the removal could not be written
+	 * @since 1.1.0
+	 */
+	public synchronized void invalidate(String key) throws IOException {
+		
+		if(this.index.containsKey(key)) {
+			
+			this.append(key, null);
+		}
+	}
+	
+	/**
+	 * @return the number of cached entries
+	 * @since 1.1.0
+	 */
+	public synchronized int size() {
+		
+		return this.index.size();
+	}
+	
+	/**
+	 * @return the size of the segment file in bytes
+	 * @since 1.1.0
+	 */
+	public synchronized long getFileSize() {
+		
+		return this.size;
+	}
+	
+	/**
+	 * Rewrites the segment file with only the current entries. Evicts the least recently used entries until they take at most
+	 * three quarters of the maximum size, so that the next compaction does not follow immediately.
+	 * @throws IOException if the file could not be rewritten
+	 * @since 1.1.0
+	 */
+	public synchronized void compact() throws IOException {
+		
+		Iterator<Record> eldest = this.index.values().iterator();
+		
+		while(this.liveSize > this.maxSize / 4 * 3 && eldest.hasNext()) {
+			
+			this.liveSize -= eldest.next().size();
+			eldest.remove();
+		}
+		
+		Path temporary = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+		LinkedHashMap<String, Record> compacted = new LinkedHashMap<>(16, 0.75F, true);
+		long size = 0;
+		
+		// the records are moved to their new positions only after the new file is in place, so a failure leaves the cache as it was
+		this.mapped = null;
+		ByteBuffer source = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.size);
+		
+		try(FileChannel target = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			
+			for(Map.Entry<String, Record> entry : this.index.entrySet()) {
+				
+				Record record = entry.getValue();
+				ByteBuffer bytes = source.duplicate();
+				bytes.position((int)record.start).limit((int)(record.value + record.length));
+				long start = size;
+				
+				while(bytes.hasRemaining()) {
+					
+					size += target.write(bytes);
+				}
+				
+				compacted.put(entry.getKey(), new Record(start, start + (record.value - record.start), record.length, record.written));
+			}
+			
+			target.force(true);
+		}
+		
+		source = null;
+		this.channel.close();
+		
+		try {
+			
+			Files.move(temporary, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			
+		} catch(IOException exception) {
+			
+			// a file that is still mapped can't be replaced on Windows; the mapping is only released once it is garbage collected
+			this.rewrite(temporary, size);
+		}
+		
+		this.index.clear();
+		this.index.putAll(compacted);
+		this.size = size;
+		
+		if(this.channel.size() > size) {
+			
+			try {
+				
+				this.channel.truncate(size);
+				
+			} catch(IOException exception) {
+				
+				// the file is still mapped; the old records behind the compacted ones are cut off the next time the file is opened
+				this.terminate();
+			}
+		}
+	}
+	
+	@Override
+	public synchronized void close() throws IOException {
+		
+		this.channel.close();
+		this.mapped = null;
+	}
+	
+	/*
+	 * Copies the compacted records over the old ones in the segment file.
+	 * @param temporary the file with the compacted records
+	 * @param size the size of the compacted records
+	 */
+	private final void rewrite(Path temporary, long size) throws IOException {
+		
+		this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		
+		try(FileChannel source = FileChannel.open(temporary, StandardOpenOption.READ)) {
+			
+			long position = 0;
+			
+			while(position < size) {
+				
+				position += source.transferTo(position, size - position, this.channel);
+			}
+			
+			this.channel.force(true);
+			
+		} catch(IOException exception) {
+			
+			// the old records are partly overwritten, so none of them can be trusted anymore
+			this.index.clear();
+			this.liveSize = 0;
+			this.size = 0;
+			this.terminate();
+			throw exception;
+		}
+		
+		Files.deleteIfExists(temporary);
+	}
+	
+	/*
+	 * Marks the end of the records if the file is longer, so that the old records behind it are not loaded again.
+	 */
+	private final void terminate() throws IOException {
+		
+		if(this.channel.size() > this.size) {
+			
+			ByteBuffer mark = ByteBuffer.allocate(4);
+			
+			while(mark.hasRemaining()) {
+				
+				this.channel.write(mark, this.size + mark.position());
+			}
+		}
+	}
+	
+	/*
+	 * Must be called while holding the lock, because compacting the file invalidates the view.
+	 * @param key the entry key
+	 * @return a view on the data in the mapped file, or {@code null} if the entry is not cached or older than the maximum age
+	 */
+	private final ByteBuffer view(String key) throws IOException {
+		
+		Record record = this.index.get(key);
+		long maxAge = this.maxAge;
+		
+		if(record == null || (maxAge > 0 && System.currentTimeMillis() - record.written > maxAge)) {
+			
+			return null;
+		}
+		
+		if(this.mapped == null || this.mapped.capacity() < this.size) {
+			
+			this.mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.size);
+		}
+		
+		ByteBuffer buffer = this.mapped.duplicate();
+		buffer.position((int)record.value).limit((int)record.value + record.length);
+		return buffer;
+	}
+	
+	private final void append(String key, byte[] value) throws IOException {
+		
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		int length = value != null ? value.length : 0;
+		long written = System.currentTimeMillis();
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + keyBytes.length + length);
+		buffer.putInt(MAGIC).putInt(keyBytes.length).putInt(value != null ? length : -1).putInt(0).putLong(written);
+		buffer.put(keyBytes);
+		
+		if(value != null) {
+			
+			buffer.put(value);
+		}
+		
+		// the checksum covers everything behind it, including the time the record was written
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), CHECKED_OFFSET, buffer.position() - CHECKED_OFFSET);
+		buffer.putInt(12, (int)crc.getValue());
+		buffer.flip();
+		long start = this.size;
+		
+		while(buffer.hasRemaining()) {
+			
+			this.channel.write(buffer, start + buffer.position());
+		}
+		
+		this.size += buffer.limit();
+		this.terminate();
+		this.index(key, value != null ? new Record(start, start + HEADER_SIZE + keyBytes.length, length, written) : null);
+	}
+	
+	private final void index(String key, Record record) {
+		
+		Record old = record != null ? this.index.put(key, record) : this.index.remove(key);
+		
+		if(old != null) {
+			
+			this.liveSize -= old.size();
+		}
+		
+		if(record != null) {
+			
+			this.liveSize += record.size();
+		}
+	}
+	
+	private final void load() throws IOException {
+		
+		long fileSize = this.channel.size();
+		
+		if(fileSize == 0) {
+			
+			return;
+		}
+		
+		MappedByteBuffer buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+		int position = 0;
+		
+		while(position + HEADER_SIZE <= fileSize) {
+			
+			int magic = buffer.getInt(position);
+			int keyLength = buffer.getInt(position + 4);
+			int valueLength = buffer.getInt(position + 8);
+			int checksum = buffer.getInt(position + 12);
+			long end = (long)position + HEADER_SIZE + keyLength + Math.max(valueLength, 0);
+			
+			if(magic != MAGIC || keyLength < 0 || valueLength < -1 || end > fileSize) {
+				
+				break;
+			}
+			
+			byte[] content = new byte[(int)(end - position - CHECKED_OFFSET)];
+			ByteBuffer slice = buffer.duplicate();
+			slice.position(position + CHECKED_OFFSET);
+			slice.get(content);
+			CRC32 crc = new CRC32();
+			crc.update(content);
+			
+			if((int)crc.getValue() != checksum) {
+				
+				break;
+			}
+			
+			long written = buffer.getLong(position + CHECKED_OFFSET);
+			String key = new String(content, HEADER_SIZE - CHECKED_OFFSET, keyLength, StandardCharsets.UTF_8);
+			this.index(key, valueLength >= 0 ? new Record(position, position + HEADER_SIZE + keyLength, valueLength, written) : null);
+			position = (int)end;
+		}
+		
+		// everything after the last complete record was cut off while it was written
+		if(position < fileSize) {
+			
+			this.channel.truncate(position);
+		}
+		
+		this.size = position;
+	}
+	
+	private static final class Record {
+		
+		private final long start;
+		private final long value;
+		private final int length;
+		private final long written;
+		
+		private Record(long start, long value, int length, long written) {
+			
+			this.start = start;
+			this.value = value;
+			this.length = length;
+			this.written = written;
+		}
+		
+		private final long size() {
+			
+			return this.value + this.length - this.start;
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@linkplain Executor} that never runs more than a fixed number of tasks at the same time.
+ * On runtimes that support virtual threads every task gets its own virtual thread, which makes it cheap to have thousands of blocking requests in flight.
+ * Tasks that are waiting for a permit wait on their own virtual thread, so the thread that submits a task never blocks.
+ * On older runtimes a fixed pool of platform daemon threads is used instead and the tasks wait in its queue.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class GameJoltExecutor implements Executor, AutoCloseable {
+
+	private final ExecutorService threads;
+	private final Semaphore permits;
+	private final int maxConcurrency;
+	
+	/**
+	 * Creates an executor that uses virtual threads if the runtime supports them.
+	 * @param maxConcurrency the maximum number of tasks that can run at the same time
+	 * @since 1.1.0
+	 */
+	public GameJoltExecutor(int maxConcurrency) {
+		
+		if(maxConcurrency < 1) {
+			
+			throw new IllegalArgumentException("The maximum concurrency has to be at least 1!");
+		}
+		
+		ExecutorService virtualThreads = GameJoltExecutor.createVirtualThreadExecutor();
+		this.maxConcurrency = maxConcurrency;
+		
+		if(virtualThreads != null) {
+			
+			this.threads = virtualThreads;
+			this.permits = new Semaphore(maxConcurrency, true);
+			
+		} else {
+			
+			this.threads = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+				
+				Thread thread = new Thread(runnable, "GameJolt-Worker");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.permits = null;
+		}
+	}
+	
+	@Override
+	public void execute(Runnable command) {
+		
+		if(this.permits == null) {
+			
+			this.threads.execute(command);
+			return;
+		}
+		
+		this.threads.execute(() -> {
+			
+			try {
+				
+				this.permits.acquire();
+				
+			} catch(InterruptedException exception) {
+				
+				// a task that is dropped would leave whoever waits for it waiting forever
+				if(command instanceof Future) {
+					
+					((Future<?>)command).cancel(false);
+					return;
+				}
+				
+				this.permits.acquireUninterruptibly();
+				Thread.currentThread().interrupt();
+			}
+			
+			try {
+				
+				command.run();
+				
+			} finally {
+				
+				this.permits.release();
+			}
+		});
+	}
+	
+	/**
+	 * Stops accepting new tasks and waits up to the given time for the running ones to finish.
+	 * @param timeout the maximum time to wait
+	 * @param unit the unit of the timeout
+	 * @return {@code true} if all tasks finished, else {@code false}
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 * @since 1.1.0
+	 */
+	public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+		
+		this.threads.shutdown();
+		return this.threads.awaitTermination(timeout, unit);
+	}
+	
+	@Override
+	public void close() {
+		
+		this.threads.shutdown();
+	}
+	
+	/**
+	 * @return {@code true} if this executor runs its tasks on virtual threads, else {@code false}
+	 * @since 1.1.0
+	 */
+	public boolean isVirtual() {
+		
+		return this.permits != null;
+	}
+	
+	/**
+	 * @return the number of tasks that could start right now
+	 * @since 1.1.0
+	 */
+	public int getAvailablePermits() {
+		
+		return this.permits != null ? this.permits.availablePermits() : this.maxConcurrency - ((ThreadPoolExecutor)this.threads).getActiveCount();
+	}
+	
+	private static final ExecutorService createVirtualThreadExecutor() {
+		
+		// Looked up reflectively because the library still has to compile for runtimes without virtual threads
+		try {
+			
+			return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			
+		} catch(NoSuchMethodException | IllegalAccessException | InvocationTargetException exception) {
+			
+			return null;
+		}
+	}
+}
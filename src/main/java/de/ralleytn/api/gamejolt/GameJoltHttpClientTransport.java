@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import de.ralleytn.api.gamejolt.internal.ByteBufferBody;
+
+/**
+ * A {@linkplain GameJoltTransport} which is based on the {@linkplain HttpClient} of {@code java.net.http}.
+ * It speaks HTTP/2 with servers that support it, so any number of concurrent requests share a single connection,
+ * and falls back to HTTP/1.1 with a pool of keep-alive connections otherwise.
+ * Requests are sent without blocking a thread, and response bodies are decoded from the {@linkplain java.nio.ByteBuffer}s they arrive in
+ * directly into the JSON parser.
+ * <p>The connect timeout is a setting of the {@linkplain HttpClient} and can't be changed per request. The read timeout of a request
+ * limits how long it waits for the response headers and, while the body is read, for each of its parts.</p>
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class GameJoltHttpClientTransport implements GameJoltTransport {
+
+	private final HttpClient client;
+	
+	/**
+	 * Creates a transport with a client that runs on its own default executor.
+	 * @since 1.1.0
+	 */
+	public GameJoltHttpClientTransport() {
+		
+		this(GameJoltHttpClientTransport.createBuilder().build());
+	}
+	
+	/**
+	 * @param executor the {@linkplain Executor} on which the client handles responses and runs dependent tasks
+	 * @since 1.1.0
+	 */
+	public GameJoltHttpClientTransport(Executor executor) {
+		
+		this(GameJoltHttpClientTransport.createBuilder().executor(executor).build());
+	}
+	
+	/**
+	 * @param client a client that was configured by the caller, for example with a proxy or an {@linkplain javax.net.ssl.SSLContext}
+	 * @since 1.1.0
+	 */
+	public GameJoltHttpClientTransport(HttpClient client) {
+		
+		this.client = client;
+	}
+	
+	/**
+	 * @return a builder for a client that prefers HTTP/2, doesn't follow redirects and has the {@linkplain GameJoltConfig#DEFAULT_CONNECT_TIMEOUT default connect timeout}
+	 * @since 1.1.0
+	 */
+	public static HttpClient.Builder createBuilder() {
+		
+		return HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_2)
+				.followRedirects(HttpClient.Redirect.NEVER)
+				.connectTimeout(Duration.ofMillis(GameJoltConfig.DEFAULT_CONNECT_TIMEOUT));
+	}
+	
+	@Override
+	public Response execute(String method, String url, String body) throws IOException {
+		
+		return this.execute(method, url, body, GameJoltConfig.DEFAULT_CONNECT_TIMEOUT, GameJoltConfig.DEFAULT_READ_TIMEOUT);
+	}
+	
+	@Override
+	public Response execute(String method, String url, String body, long connectTimeout, long readTimeout) throws IOException {
+		
+		try {
+			
+			return new BodyResponse(this.client.send(GameJoltHttpClientTransport.createRequest(method, url, body, readTimeout), info -> new ByteBufferBody(readTimeout)));
+			
+		} catch(InterruptedException exception) {
+			
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the response");
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * The future completes on the given executor, because the body is read by whoever continues with the response.
+	 */
+	@Override
+	public CompletableFuture<Response> executeAsync(String method, String url, String body, Executor executor) {
+		
+		return this.executeAsync(method, url, body, GameJoltConfig.DEFAULT_CONNECT_TIMEOUT, GameJoltConfig.DEFAULT_READ_TIMEOUT, executor);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * The future completes on the given executor, because the body is read by whoever continues with the response.
+	 * Reading it on a thread of the client would block the thread that has to deliver the body.
+	 */
+	@Override
+	public CompletableFuture<Response> executeAsync(String method, String url, String body, long connectTimeout, long readTimeout, Executor executor) {
+		
+		return this.client.sendAsync(GameJoltHttpClientTransport.createRequest(method, url, body, readTimeout), info -> new ByteBufferBody(readTimeout)).thenApplyAsync(BodyResponse::new, executor);
+	}
+	
+	/**
+	 * @return the client that sends the requests
+	 * @since 1.1.0
+	 */
+	public HttpClient getClient() {
+		
+		return this.client;
+	}
+	
+	private static final HttpRequest createRequest(String method, String url, String body, long readTimeout) {
+		
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url));
+		
+		if(body != null) {
+			
+			builder.header("Content-Type", "application/x-www-form-urlencoded");
+		}
+		
+		if(readTimeout > 0) {
+			
+			builder.timeout(Duration.ofMillis(readTimeout));
+		}
+		
+		return builder.method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody()).build();
+	}
+	
+	private static final class BodyResponse extends Response {
+		
+		private final ByteBufferBody body;
+		
+		private BodyResponse(HttpResponse<ByteBufferBody> response) {
+			
+			// HTTP/2 has no reason phrases, so the protocol takes the place of the message
+			super(response.statusCode(), response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1", response.body().getInputStream());
+			
+			this.body = response.body();
+		}
+		
+		@Override
+		public Reader getReader() {
+			
+			return this.body.getReader();
+		}
+		
+		@Override
+		public void close() {
+			
+			this.body.close();
+		}
+	}
+}
@@ -0,0 +1,464 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Limits the rate at which requests are sent, so a burst of requests doesn't get the client throttled by the server.
+ * <p>The limiter is a token bucket: it holds up to {@code burst} tokens, gains {@code requestsPerSecond} tokens per second
+ * and every call to the server takes one. A batch is one call, no matter how many requests it contains.
+ * Results served from the {@linkplain GameJoltCache} or shared with an identical read don't take a token.</p>
+ * <p>Requests that find the bucket empty wait in a queue ordered by {@linkplain Priority}. Writes like achieving trophies and adding scores are
+ * {@link Priority#INTERACTIVE}, session requests are {@link Priority#SESSION} and reads are {@link Priority#BACKGROUND}.
+ * A request is shed, which means it fails with an {@linkplain IOException} without being sent, if it would wait longer than the maximum wait of its priority
+ * or if the queue is full and every queued request is at least as important. If a more important request arrives at a full queue,
+ * the newest of the least important requests is shed to make room for it.</p>
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class GameJoltRateLimiter {
+
+	/**
+	 * The priority classes of requests, from the most to the least important.
+	 * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+	 * @version 1.1.0
+	 * @since 1.1.0
+	 */
+	public static enum Priority {
+		
+		/**
+		 * Writes the player is waiting for, like achieving a trophy or adding a score.
+		 * @since 1.1.0
+		 */
+		INTERACTIVE,
+		
+		/**
+		 * Opening, pinging, checking and closing sessions.
+		 * @since 1.1.0
+		 */
+		SESSION,
+		
+		/**
+		 * Reads, like fetching trophies, scores or users.
+		 * @since 1.1.0
+		 */
+		BACKGROUND;
+	}
+	
+	private static final int PRIORITIES = Priority.values().length;
+	
+	private final double rate;
+	private final int burst;
+	private double tokens;
+	private long refilled;
+	private long sequence;
+	private boolean scheduled;
+	private int maxQueueSize = 100;
+	private final long[] maxWait = {TimeUnit.SECONDS.toNanos(10), TimeUnit.SECONDS.toNanos(30), TimeUnit.SECONDS.toNanos(5)};
+	private final long[] granted = new long[PRIORITIES];
+	private final long[] shed = new long[PRIORITIES];
+	private final long[] waited = new long[PRIORITIES];
+	private final PriorityQueue<Waiter> queue = new PriorityQueue<>();
+	
+	/**
+	 * Creates a limiter with a full bucket, a queue of up to 100 requests and a maximum wait of 10 seconds for interactive requests,
+	 * 30 seconds for session requests and 5 seconds for background requests.
+	 * @param requestsPerSecond the number of calls per second that are sent in the long run
+	 * @param burst the number of calls that may be sent at once after a quiet period
+	 * @throws IllegalArgumentException if the rate is not positive or the burst is smaller than 1
+	 * @since 1.1.0
+	 */
+	public GameJoltRateLimiter(double requestsPerSecond, int burst) {
+		
+		if(!(requestsPerSecond > 0) || burst < 1) {
+			
+			throw new IllegalArgumentException("The rate has to be positive and the burst at least 1");
+		}
+		
+		this.rate = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.burst = burst;
+		this.tokens = burst;
+		this.refilled = System.nanoTime();
+	}
+	
+	/**
+	 * @param maxQueueSize the maximum number of requests waiting for a token; {@code 0} to shed every request that can't be sent immediately
+	 * @since 1.1.0
+	 */
+	public synchronized void setMaxQueueSize(int maxQueueSize) {
+		
+		this.maxQueueSize = Math.max(0, maxQueueSize);
+	}
+	
+	/**
+	 * @param priority the priority
+	 * @param maxWait the longest time a request of the priority waits for a token before it is shed
+	 * @param unit the unit of the time
+	 * @since 1.1.0
+	 */
+	public synchronized void setMaxWait(Priority priority, long maxWait, TimeUnit unit) {
+		
+		this.maxWait[priority.ordinal()] = unit.toNanos(maxWait);
+	}
+	
+	/**
+	 * @return the number of calls per second that are sent in the long run
+	 * @since 1.1.0
+	 */
+	public double getRate() {
+		
+		return this.rate * TimeUnit.SECONDS.toNanos(1);
+	}
+	
+	/**
+	 * @return the number of calls that may be sent at once after a quiet period
+	 * @since 1.1.0
+	 */
+	public int getBurst() {
+		
+		return this.burst;
+	}
+	
+	/**
+	 * @return the number of requests that are currently waiting for a token
+	 * @since 1.1.0
+	 */
+	public synchronized int getQueueDepth() {
+		
+		return this.count(null);
+	}
+	
+	/**
+	 * @param priority the priority
+	 * @return the number of requests of the priority that are currently waiting for a token
+	 * @since 1.1.0
+	 */
+	public synchronized int getQueueDepth(Priority priority) {
+		
+		return this.count(priority);
+	}
+	
+	/**
+	 * @param priority the priority
+	 * @return the number of requests of the priority that got a token
+	 * @since 1.1.0
+	 */
+	public synchronized long getGrantedCount(Priority priority) {
+		
+		return this.granted[priority.ordinal()];
+	}
+	
+	/**
+	 * @param priority the priority
+	 * @return the number of requests of the priority that were shed
+	 * @since 1.1.0
+	 */
+	public synchronized long getShedCount(Priority priority) {
+		
+		return this.shed[priority.ordinal()];
+	}
+	
+	/**
+	 * @param priority the priority
+	 * @param unit the unit of the result
+	 * @return the average time requests of the priority waited for a token, including the ones that didn't have to wait
+	 * @since 1.1.0
+	 */
+	public synchronized long getAverageWait(Priority priority, TimeUnit unit) {
+		
+		long granted = this.granted[priority.ordinal()];
+		return granted > 0 ? unit.convert(this.waited[priority.ordinal()] / granted, TimeUnit.NANOSECONDS) : 0;
+	}
+	
+	/*
+	 * Blocks until the request may be sent.
+	 * @param priority the priority of the request
+	 * @param timeout the longest time to wait in nanoseconds, or {@linkplain Long#MAX_VALUE} to wait as long as the priority allows
+	 * @throws IOException if the request was shed or the timeout expired
+	 * @since 1.1.0
+	 */
+	final void acquire(Priority priority, long timeout) throws IOException {
+		
+		CompletableFuture<Void> future = this.acquireAsync(priority);
+		
+		try {
+			
+			if(timeout == Long.MAX_VALUE) {
+				
+				future.get();
+				
+			} else {
+				
+				future.get(timeout, TimeUnit.NANOSECONDS);
+			}
+			
+		} catch(InterruptedException exception) {
+			
+			// the token is not taken for a waiter that gave up
+			future.cancel(false);
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the rate limiter");
+			
+		} catch(TimeoutException exception) {
+			
+			// the token might have been granted right after the timeout expired
+			if(future.cancel(false) || future.isCompletedExceptionally()) {
+				
+				throw new SocketTimeoutException("Timed out while waiting for the rate limiter");
+			}
+			
+		} catch(ExecutionException exception) {
+			
+			throw (IOException)exception.getCause();
+		}
+	}
+	
+	/*
+	 * @param priority the priority of the request
+	 * @return a future that completes when the request may be sent, or fails with an {@linkplain IOException} if it was shed
+	 * @since 1.1.0
+	 */
+	final CompletableFuture<Void> acquireAsync(Priority priority) {
+		
+		Waiter waiter;
+		Waiter evicted = null;
+		
+		synchronized(this) {
+			
+			long now = System.nanoTime();
+			this.refill(now);
+			int index = priority.ordinal();
+			
+			if(this.count(null) == 0 && this.tokens >= 1) {
+				
+				this.tokens--;
+				this.granted[index]++;
+				return CompletableFuture.completedFuture(null);
+			}
+			
+			waiter = new Waiter(priority, this.sequence++, now, now + this.maxWait[index]);
+			
+			// the requests that are at least as important are sent first, and every one of them takes a token
+			double ahead = this.countAhead(waiter) + 1 - this.tokens;
+			
+			if(ahead / this.rate > this.maxWait[index]) {
+				
+				this.shed[index]++;
+				return CompletableFuture.failedFuture(GameJoltRateLimiter.createShedException(priority));
+			}
+			
+			if(this.count(null) >= this.maxQueueSize) {
+				
+				evicted = this.findLeastImportant();
+				
+				if(evicted == null || evicted.compareTo(waiter) < 0) {
+					
+					this.shed[index]++;
+					return CompletableFuture.failedFuture(GameJoltRateLimiter.createShedException(priority));
+				}
+				
+				this.queue.remove(evicted);
+				this.shed[evicted.priority.ordinal()]++;
+			}
+			
+			this.queue.add(waiter);
+			this.schedule(now);
+		}
+		
+		if(evicted != null) {
+			
+			evicted.future.completeExceptionally(GameJoltRateLimiter.createShedException(evicted.priority));
+		}
+		
+		return waiter.future;
+	}
+	
+	private final void dispatch() {
+		
+		List<Waiter> ready = new ArrayList<>();
+		List<Waiter> expired = new ArrayList<>();
+		
+		synchronized(this) {
+			
+			this.scheduled = false;
+			long now = System.nanoTime();
+			this.refill(now);
+			
+			while(this.tokens >= 1 && !this.queue.isEmpty()) {
+				
+				Waiter waiter = this.queue.poll();
+				
+				if(!waiter.future.isDone()) {
+					
+					int index = waiter.priority.ordinal();
+					this.tokens--;
+					this.granted[index]++;
+					this.waited[index] += now - waiter.enqueued;
+					ready.add(waiter);
+				}
+			}
+			
+			Iterator<Waiter> iterator = this.queue.iterator();
+			
+			while(iterator.hasNext()) {
+				
+				Waiter waiter = iterator.next();
+				
+				if(waiter.future.isDone()) {
+					
+					iterator.remove();
+					
+				} else if(now - waiter.deadline >= 0) {
+					
+					iterator.remove();
+					this.shed[waiter.priority.ordinal()]++;
+					expired.add(waiter);
+				}
+			}
+			
+			this.schedule(now);
+		}
+		
+		ready.forEach(waiter -> waiter.future.complete(null));
+		expired.forEach(waiter -> waiter.future.completeExceptionally(GameJoltRateLimiter.createShedException(waiter.priority)));
+	}
+	
+	/*
+	 * Schedules the next dispatch for the moment the next token is available or the next waiter has to be shed, whatever comes first.
+	 * Must be called while holding the lock.
+	 */
+	private final void schedule(long now) {
+		
+		if(!this.scheduled && !this.queue.isEmpty()) {
+			
+			long delay = (long)Math.ceil((1 - this.tokens) / this.rate);
+			
+			for(Waiter waiter : this.queue) {
+				
+				delay = Math.min(delay, waiter.deadline - now);
+			}
+			
+			this.scheduled = true;
+			CompletableFuture.delayedExecutor(Math.max(0, delay), TimeUnit.NANOSECONDS).execute(this::dispatch);
+		}
+	}
+	
+	private final void refill(long now) {
+		
+		this.tokens = Math.min(this.burst, this.tokens + (now - this.refilled) * this.rate);
+		this.refilled = now;
+	}
+	
+	/*
+	 * @param priority the priority to count the waiters of, or {@code null} to count all waiters
+	 */
+	private final int count(Priority priority) {
+		
+		int count = 0;
+		
+		for(Waiter waiter : this.queue) {
+			
+			if(!waiter.future.isDone() && (priority == null || priority == waiter.priority)) {
+				
+				count++;
+			}
+		}
+		
+		return count;
+	}
+	
+	/*
+	 * @return the number of waiters that are sent before the given one
+	 */
+	private final int countAhead(Waiter waiter) {
+		
+		int count = 0;
+		
+		for(Waiter queued : this.queue) {
+			
+			if(!queued.future.isDone() && queued.compareTo(waiter) < 0) {
+				
+				count++;
+			}
+		}
+		
+		return count;
+	}
+	
+	private final Waiter findLeastImportant() {
+		
+		Waiter least = null;
+		
+		for(Waiter waiter : this.queue) {
+			
+			if(!waiter.future.isDone() && (least == null || waiter.compareTo(least) > 0)) {
+				
+				least = waiter;
+			}
+		}
+		
+		return least;
+	}
+	
+	private static final IOException createShedException(Priority priority) {
+		
+		return new IOException("The rate limiter shed a request of priority " + priority);
+	}
+	
+	private static final class Waiter implements Comparable<Waiter> {
+		
+		private final Priority priority;
+		private final long sequence;
+		private final long enqueued;
+		private final long deadline;
+		private final CompletableFuture<Void> future = new CompletableFuture<>();
+		
+		private Waiter(Priority priority, long sequence, long enqueued, long deadline) {
+			
+			this.priority = priority;
+			this.sequence = sequence;
+			this.enqueued = enqueued;
+			this.deadline = deadline;
+		}
+		
+		@Override
+		public int compareTo(Waiter waiter) {
+			
+			int result = this.priority.compareTo(waiter.priority);
+			return result != 0 ? result : Long.compare(this.sequence, waiter.sequence);
+		}
+	}
+}
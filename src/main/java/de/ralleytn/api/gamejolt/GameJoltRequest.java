@@ -0,0 +1,357 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import de.ralleytn.api.gamejolt.internal.GameJoltObject;
+import de.ralleytn.simple.json.JSONArray;
+import de.ralleytn.simple.json.JSONObject;
+
+/**
+ * Describes a single call to an endpoint together with the way its response is turned into a result.
+ * Every endpoint creates its requests in one place so that the blocking and the asynchronous API share them.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ * @param <T> the result type
+ */
+final class GameJoltRequest<T> {
+
+	private final String endpoint;
+	private final Map<String, Object> params;
+	private final Map<String, Object> postParams;
+	private final Mapper<T> mapper;
+	private boolean checked;
+	private String serviceURL;
+	private boolean batchable;
+	private boolean read;
+	private boolean idempotent;
+	private GameJoltRateLimiter.Priority priority;
+	private boolean cacheable;
+	private boolean refresh;
+	private String invalidates;
+	private String array;
+	private Supplier<Collector<T>> collector;
+	
+	/*
+	 * @param endpoint the endpoint
+	 * @param params the query parameters
+	 * @param postParams the parameters that are sent in the request body, or {@code null} for a GET request
+	 * @param mapper turns the response object into the result
+	 * @since 1.1.0
+	 */
+	GameJoltRequest(String endpoint, Map<String, Object> params, Map<String, Object> postParams, Mapper<T> mapper) {
+		
+		this.endpoint = endpoint;
+		this.params = params;
+		this.postParams = postParams;
+		this.mapper = mapper;
+		this.checked = true;
+		this.batchable = true;
+	}
+	
+	/*
+	 * Creates a request whose result is collected from the elements of an array of the response.
+	 * When the response is read from the network, the array is streamed and every element is handed to the collector as soon as it was read.
+	 * @param endpoint the endpoint
+	 * @param params the query parameters
+	 * @param array the name of the array in the response object
+	 * @param collector creates a new collector for every response
+	 * @return the request
+	 * @since 1.1.0
+	 */
+	static final <T> GameJoltRequest<T> streamed(String endpoint, Map<String, Object> params, String array, Supplier<Collector<T>> collector) {
+		
+		GameJoltRequest<T> request = new GameJoltRequest<>(endpoint, params, null, response -> {
+			
+			Collector<T> elements = collector.get();
+			JSONArray json = response.getArray(array);
+			
+			if(json != null) {
+				
+				for(Object element : json) {
+					
+					elements.add((JSONObject)element);
+				}
+			}
+			
+			return elements.finish();
+		});
+		request.array = array;
+		request.collector = collector;
+		return request;
+	}
+	
+	/*
+	 * Creates a request whose result is the list of objects in an array of the response.
+	 * @param gj the service consumer that creates the objects
+	 * @param endpoint the endpoint
+	 * @param params the query parameters
+	 * @param array the name of the array in the response object
+	 * @param factory creates an object from an element of the array, usually a constructor reference
+	 * @return the request
+	 * @since 1.1.0
+	 */
+	static final <E extends GameJoltObject> GameJoltRequest<List<E>> list(GameJolt gj, String endpoint, Map<String, Object> params, String array, BiFunction<GameJolt, JSONObject, E> factory) {
+		
+		return GameJoltRequest.streamed(endpoint, params, array, () -> new Collector<List<E>>() {
+			
+			private final List<E> list = new ArrayList<>();
+			
+			@Override
+			public void add(JSONObject element) {
+				
+				this.list.add(factory.apply(gj, element));
+			}
+			
+			@Override
+			public List<E> finish() {
+				
+				return this.list;
+			}
+		});
+	}
+	
+	/*
+	 * Tells the request that a response with {@code "success":false} is a valid result and not an error.
+	 * @return this request
+	 * @since 1.1.0
+	 */
+	final GameJoltRequest<T> unchecked() {
+		
+		this.checked = false;
+		return this;
+	}
+	
+	/*
+	 * Tells the request that it must never be sent as part of a batch.
+	 * @return this request
+	 * @since 1.1.0
+	 */
+	final GameJoltRequest<T> unbatchable() {
+		
+		this.batchable = false;
+		return this;
+	}
+	
+	/*
+	 * Marks the request as a read that changes nothing on the server.
+	 * Identical reads that are executed at the same time share one call and its result.
+	 * @return this request
+	 * @since 1.1.0
+	 */
+	final GameJoltRequest<T> read() {
+		
+		this.read = true;
+		return this;
+	}
+	
+	/*
+	 * Marks the request as safe to be sent again after it failed, because sending it twice has the same effect as sending it once.
+	 * Reads are always idempotent.
+	 * @return this request
+	 * @since 1.1.0
+	 */
+	final GameJoltRequest<T> idempotent() {
+		
+		this.idempotent = true;
+		return this;
+	}
+	
+	/*
+	 * Overrides the priority the {@linkplain GameJoltRateLimiter} derives from the kind of the request.
+	 * @param priority the priority
+	 * @return this request
+	 * @since 1.1.0
+	 */
+	final GameJoltRequest<T> prioritize(GameJoltRateLimiter.Priority priority) {
+		
+		this.priority = priority;
+		return this;
+	}
+	
+	/*
+	 * Allows the result of the request to be served from and stored in the {@linkplain GameJoltCache}.
+	 * Implies {@link #read()}.
+	 * @return this request
+	 * @since 1.1.0
+	 */
+	final GameJoltRequest<T> cacheable() {
+		
+		this.cacheable = true;
+		this.read = true;
+		return this;
+	}
+	
+	/*
+	 * Tells the request to ignore a cached result. The new result is still stored in the cache.
+	 * @return this request
+	 * @since 1.1.0
+	 */
+	final GameJoltRequest<T> refresh() {
+		
+		this.refresh = true;
+		return this;
+	}
+	
+	/*
+	 * Tells the request to remove the cached results of another endpoint when it succeeded, because it changes them.
+	 * @param endpoint the endpoint
+	 * @return this request
+	 * @since 1.1.0
+	 */
+	final GameJoltRequest<T> invalidates(String endpoint) {
+		
+		this.invalidates = endpoint;
+		return this;
+	}
+	
+	/*
+	 * Sends the request to another version of the API.
+	 * @param serviceURL the path of the service, for example {@code "/api/game/v1_2"}
+	 * @return this request
+	 * @since 1.1.0
+	 */
+	final GameJoltRequest<T> onService(String serviceURL) {
+		
+		this.serviceURL = serviceURL;
+		return this;
+	}
+	
+	final String getServiceURL() {
+		
+		return this.serviceURL;
+	}
+	
+	final String getEndpoint() {
+		
+		return this.endpoint;
+	}
+	
+	final Map<String, Object> getParams() {
+		
+		return this.params;
+	}
+	
+	final Map<String, Object> getPostParams() {
+		
+		return this.postParams;
+	}
+	
+	final boolean isPost() {
+		
+		return this.postParams != null;
+	}
+	
+	final boolean isBatchable() {
+		
+		return this.batchable && this.serviceURL == null;
+	}
+	
+	final boolean isRead() {
+		
+		return this.read;
+	}
+	
+	final boolean isIdempotent() {
+		
+		return this.idempotent || this.read;
+	}
+	
+	final GameJoltRateLimiter.Priority getPriority() {
+		
+		if(this.priority != null) {
+			
+			return this.priority;
+		}
+		
+		return this.read ? GameJoltRateLimiter.Priority.BACKGROUND : GameJoltRateLimiter.Priority.INTERACTIVE;
+	}
+	
+	final boolean isCacheable() {
+		
+		return this.cacheable;
+	}
+	
+	final boolean isRefresh() {
+		
+		return this.refresh;
+	}
+	
+	final String getInvalidatedEndpoint() {
+		
+		return this.invalidates;
+	}
+	
+	final String getStreamedArray() {
+		
+		return this.array;
+	}
+	
+	final Collector<T> createCollector() {
+		
+		return this.collector.get();
+	}
+	
+	final boolean isChecked() {
+		
+		return this.checked;
+	}
+	
+	final T map(JSONObject response) throws GameJoltException {
+		
+		return this.mapper.map(response);
+	}
+	
+	/**
+	 * Turns the response object of a request into the result.
+	 * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+	 * @version 1.1.0
+	 * @since 1.1.0
+	 * @param <T> the result type
+	 */
+	@FunctionalInterface
+	static interface Mapper<T> {
+		
+		T map(JSONObject response) throws GameJoltException;
+	}
+	
+	/**
+	 * Collects the elements of a streamed array into the result.
+	 * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+	 * @version 1.1.0
+	 * @since 1.1.0
+	 * @param <T> the result type
+	 */
+	static interface Collector<T> {
+		
+		void add(JSONObject element);
+		T finish();
+	}
+}
@@ -0,0 +1,286 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when a failed request is sent again and when an endpoint is not asked at all for a while.
+ * <p>A request fails if the transport throws an {@linkplain IOException} or the server answers with a status of 500 or above.
+ * Only requests that can safely be sent twice are retried: reads, setting data storage entries, pinging sessions and batches made of such requests.
+ * Updating entries or adding scores is never retried, because the first attempt might have reached the server.
+ * The delay before a retry grows exponentially and is randomized (full jitter), so clients that failed together don't retry together.</p>
+ * <p>Retries are limited by a budget: every request adds a fraction of a retry to it and every retry takes a whole one,
+ * so an outage can't multiply the load on the server.</p>
+ * <p>Every endpoint has its own circuit breaker. After a number of failures in a row the circuit opens and requests to the endpoint fail
+ * immediately with an {@linkplain IOException} instead of waiting for timeouts. After a cooldown a single request is let through;
+ * if it succeeds the circuit closes again.</p>
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class GameJoltRetryPolicy {
+
+	private volatile int maxAttempts = 3;
+	private volatile long baseDelay = TimeUnit.MILLISECONDS.toNanos(100);
+	private volatile long maxDelay = TimeUnit.SECONDS.toNanos(5);
+	private volatile double budgetRatio = 0.1;
+	private volatile int budgetMinimum = 10;
+	private volatile int failureThreshold = 5;
+	private volatile long cooldown = TimeUnit.SECONDS.toNanos(30);
+	private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+	private double budget;
+	private long retries;
+	private long rejections;
+	
+	/**
+	 * Creates a policy with up to 3 attempts, a delay of 100 milliseconds to 5 seconds, a budget of 10% retries with at least 10 in reserve
+	 * and circuits that open after 5 failures in a row for 30 seconds.
+	 * @since 1.1.0
+	 */
+	public GameJoltRetryPolicy() {
+		
+		this.budget = this.budgetMinimum;
+	}
+	
+	/**
+	 * @param maxAttempts the maximum number of times a request is sent, including the first time; {@code 1} to never retry
+	 * @throws IllegalArgumentException if the number is not positive
+	 * @since 1.1.0
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		
+		if(maxAttempts < 1) {
+			
+			throw new IllegalArgumentException("A request has to be sent at least once");
+		}
+		
+		this.maxAttempts = maxAttempts;
+	}
+	
+	/**
+	 * Sets the delay before retries. The n-th retry waits a random time between 0 and {@code baseDelay * 2^(n-1)}, but never longer than the maximum.
+	 * @param baseDelay the upper bound of the delay before the first retry
+	 * @param maxDelay the upper bound of the delay before any retry
+	 * @param unit the unit of the delays
+	 * @since 1.1.0
+	 */
+	public void setBackoff(long baseDelay, long maxDelay, TimeUnit unit) {
+		
+		this.baseDelay = unit.toNanos(baseDelay);
+		this.maxDelay = unit.toNanos(maxDelay);
+	}
+	
+	/**
+	 * @param ratio the number of retries that every request adds to the budget, for example {@code 0.1} for one retry per ten requests
+	 * @param minimum the number of retries the budget is filled with and never grows beyond in addition to what was earned recently
+	 * @since 1.1.0
+	 */
+	public synchronized void setRetryBudget(double ratio, int minimum) {
+		
+		this.budgetRatio = ratio;
+		this.budgetMinimum = minimum;
+		this.budget = Math.min(this.budget, minimum);
+	}
+	
+	/**
+	 * @param failureThreshold the number of failures in a row after which the circuit of an endpoint opens
+	 * @param cooldown how long an open circuit fails requests immediately
+	 * @param unit the unit of the cooldown
+	 * @since 1.1.0
+	 */
+	public void setCircuitBreaker(int failureThreshold, long cooldown, TimeUnit unit) {
+		
+		this.failureThreshold = failureThreshold;
+		this.cooldown = unit.toNanos(cooldown);
+	}
+	
+	/**
+	 * @param endpoint the endpoint, for example {@code "/scores"}
+	 * @return {@code true} if requests to the endpoint currently fail immediately, else {@code false}
+	 * @since 1.1.0
+	 */
+	public boolean isCircuitOpen(String endpoint) {
+		
+		Circuit circuit = this.circuits.get(endpoint);
+		return circuit != null && circuit.isOpen();
+	}
+	
+	/**
+	 * @return the number of retries that were made
+	 * @since 1.1.0
+	 */
+	public synchronized long getRetryCount() {
+		
+		return this.retries;
+	}
+	
+	/**
+	 * @return the number of requests that failed immediately because their circuit was open
+	 * @since 1.1.0
+	 */
+	public synchronized long getRejectionCount() {
+		
+		return this.rejections;
+	}
+	
+	/*
+	 * Called once before a request is sent for the first time. Fills the budget.
+	 * @since 1.1.0
+	 */
+	final synchronized void onRequest() {
+		
+		// the budget is capped so a long quiet period doesn't allow a storm of retries
+		this.budget = Math.min(this.budget + this.budgetRatio, this.budgetMinimum + 1);
+	}
+	
+	/*
+	 * Called before every attempt.
+	 * @throws IOException if the circuit of the endpoint is open
+	 * @since 1.1.0
+	 */
+	final void acquire(String endpoint) throws IOException {
+		
+		Circuit circuit = this.circuits.computeIfAbsent(endpoint, key -> new Circuit());
+		
+		if(!circuit.tryAcquire(System.nanoTime(), this.cooldown)) {
+			
+			synchronized(this) {
+				
+				this.rejections++;
+			}
+			
+			throw new IOException("The circuit of " + endpoint + " is open after repeated failures");
+		}
+	}
+	
+	/*
+	 * @since 1.1.0
+	 */
+	final void onSuccess(String endpoint) {
+		
+		this.circuits.computeIfAbsent(endpoint, key -> new Circuit()).onSuccess();
+	}
+	
+	/*
+	 * Called instead of {@link #onFailure(String, int, boolean)} when an attempt was given up because the deadline passed.
+	 * The circuit stays as it is, but a trial request gives its place to the next one.
+	 * @since 1.1.0
+	 */
+	final void onAbandoned(String endpoint) {
+		
+		this.circuits.computeIfAbsent(endpoint, key -> new Circuit()).onAbandoned();
+	}
+	
+	/*
+	 * @param attempt the number of the attempt that failed, starting at 1
+	 * @param retryable {@code true} if the request may be sent again
+	 * @return the delay in nanoseconds before the request is sent again, or a negative value if it must not be sent again
+	 * @since 1.1.0
+	 */
+	final long onFailure(String endpoint, int attempt, boolean retryable) {
+		
+		this.circuits.computeIfAbsent(endpoint, key -> new Circuit()).onFailure(System.nanoTime(), this.failureThreshold);
+		
+		if(!retryable || attempt >= this.maxAttempts) {
+			
+			return -1;
+		}
+		
+		synchronized(this) {
+			
+			if(this.budget < 1) {
+				
+				return -1;
+			}
+			
+			this.budget--;
+			this.retries++;
+		}
+		
+		long bound = this.baseDelay << Math.min(attempt - 1, 30);
+		bound = bound < 0 || bound > this.maxDelay ? this.maxDelay : bound;
+		return bound > 0 ? ThreadLocalRandom.current().nextLong(bound + 1) : 0;
+	}
+	
+	/*
+	 * Closed: requests pass. Open: requests fail until the cooldown is over. Half open: one trial request passes, the others fail.
+	 */
+	private static final class Circuit {
+		
+		private int failures;
+		private long openedAt;
+		private boolean open;
+		private boolean trial;
+		
+		private final synchronized boolean tryAcquire(long now, long cooldown) {
+			
+			if(!this.open) {
+				
+				return true;
+			}
+			
+			if(!this.trial && now - this.openedAt >= cooldown) {
+				
+				this.trial = true;
+				return true;
+			}
+			
+			return false;
+		}
+		
+		private final synchronized boolean isOpen() {
+			
+			return this.open;
+		}
+		
+		private final synchronized void onSuccess() {
+			
+			this.failures = 0;
+			this.open = false;
+			this.trial = false;
+		}
+		
+		private final synchronized void onAbandoned() {
+			
+			this.trial = false;
+		}
+		
+		private final synchronized void onFailure(long now, int threshold) {
+			
+			this.failures++;
+			
+			if(this.trial || this.failures >= threshold) {
+				
+				this.open = true;
+				this.openedAt = now;
+				this.trial = false;
+			}
+		}
+	}
+}
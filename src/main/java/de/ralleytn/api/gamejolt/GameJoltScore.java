@@ -31,9 +31,10 @@ import de.ralleytn.simple.json.JSONObject;
 /**
  * Represents a score on GameJolt.
  * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
+@SuppressWarnings("exports")
 public final class GameJoltScore extends GameJoltObject {
 
 	/*
@@ -46,13 +47,30 @@ public final class GameJoltScore extends GameJoltObject {
 		super(gj, json);
 	}
 	
+	private GameJoltScore(GameJoltScore score) {
+		
+		super(score);
+	}
+	
+	@Override
+	protected final Attributes decode(JSONObject json) {
+		
+		return new Data(json);
+	}
+	
+	@Override
+	protected final GameJoltScore copy() {
+		
+		return new GameJoltScore(this);
+	}
+	
 	/**
 	 * @return the displayed score value
 	 * @since 1.0.0
 	 */
 	public final String getScore() {
 		
-		return this.json.getString("score");
+		return this.getData().score;
 	}
 	
 	/**
@@ -61,7 +79,7 @@ public final class GameJoltScore extends GameJoltObject {
 	 */
 	public final Integer getSortValue() {
 		
-		return this.json.getInteger("sort");
+		return this.getData().sort != ABSENT ? (int)this.getData().sort : null;
 	}
 	
 	/**
@@ -70,7 +88,7 @@ public final class GameJoltScore extends GameJoltObject {
 	 */
 	public final String getExtraData() {
 		
-		return this.json.getString("extra_data");
+		return this.getData().extraData;
 	}
 	
 	/**
@@ -79,7 +97,7 @@ public final class GameJoltScore extends GameJoltObject {
 	 */
 	public final String getUser() {
 		
-		return this.json.getString("user");
+		return this.getData().user;
 	}
 	
 	/**
@@ -88,7 +106,7 @@ public final class GameJoltScore extends GameJoltObject {
 	 */
 	public final Long getUserId() {
 		
-		return this.json.getLong("user_id");
+		return GameJoltObject.toLong(this.getData().userId);
 	}
 	
 	/**
@@ -97,7 +115,7 @@ public final class GameJoltScore extends GameJoltObject {
 	 */
 	public final String getGuest() {
 		
-		return this.json.getString("guest");
+		return this.getData().guest;
 	}
 	
 	/**
@@ -106,6 +124,60 @@ public final class GameJoltScore extends GameJoltObject {
 	 */
 	public final LocalDateTime getStored() {
 		
-		return this.getLocalDateTime("stored_timestamp");
+		return GameJoltObject.toLocalDateTime(this.getData().stored);
+	}
+	
+	/**
+	 * @return the moment this score was made as UNIX time stamp in seconds, or {@code -1} if it is unknown
+	 * @since 1.1.0
+	 */
+	public final long getStoredTimestamp() {
+		
+		long stored = this.getData().stored;
+		return stored != ABSENT ? stored : -1;
+	}
+	
+	private final Data getData() {
+		
+		return this.getAttributes();
+	}
+	
+	/*
+	 * The decoded attributes of a score.
+	 */
+	private static final class Data extends Attributes {
+		
+		private final String score;
+		private final long sort;
+		private final String extraData;
+		private final String user;
+		private final long userId;
+		private final String guest;
+		private final long stored;
+		
+		private Data(JSONObject json) {
+			
+			this.score = json.getString("score");
+			this.sort = GameJoltObject.getLong(json, "sort");
+			this.extraData = json.getString("extra_data");
+			this.user = json.getString("user");
+			this.userId = GameJoltObject.getLong(json, "user_id");
+			this.guest = json.getString("guest");
+			this.stored = GameJoltObject.getLong(json, "stored_timestamp");
+		}
+		
+		@Override
+		protected final JSONObject encode() {
+			
+			JSONObject json = new JSONObject();
+			GameJoltObject.put(json, "score", this.score);
+			GameJoltObject.put(json, "sort", this.sort);
+			GameJoltObject.put(json, "extra_data", this.extraData);
+			GameJoltObject.put(json, "user", this.user);
+			GameJoltObject.put(json, "user_id", this.userId);
+			GameJoltObject.put(json, "guest", this.guest);
+			GameJoltObject.put(json, "stored_timestamp", this.stored);
+			return json;
+		}
 	}
 }
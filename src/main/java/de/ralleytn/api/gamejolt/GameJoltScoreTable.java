@@ -33,9 +33,10 @@ import de.ralleytn.simple.json.JSONParseException;
 /**
  * Represents a score table on GameJolt.
  * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
+@SuppressWarnings("exports")
 public final class GameJoltScoreTable extends GameJoltObject implements GameJoltRefetchable {
 
 	GameJoltScoreTable(GameJolt gj, JSONObject json) {
@@ -43,16 +44,33 @@ public final class GameJoltScoreTable extends GameJoltObject implements GameJolt
 		super(gj, json);
 	}
 	
+	private GameJoltScoreTable(GameJoltScoreTable table) {
+		
+		super(table);
+	}
+	
+	@Override
+	protected final Attributes decode(JSONObject json) {
+		
+		return new Data(json);
+	}
+	
+	@Override
+	protected final GameJoltScoreTable copy() {
+		
+		return new GameJoltScoreTable(this);
+	}
+	
 	@Override
 	public final void refetch() throws IOException, JSONParseException, GameJoltException {
 		
-		List<GameJoltScoreTable> tables = this.serviceConsumer.getScoreTables();
+		List<GameJoltScoreTable> tables = this.serviceConsumer.execute(this.serviceConsumer.createScoreTablesRequest().refresh());
 		
 		for(GameJoltScoreTable table : tables) {
 			
-			if(table.getId() == this.getId()) {
+			if(table.getData().id == this.getData().id) {
 				
-				this.json = table.json;
+				this.update(table);
 				break;
 			}
 		}
@@ -64,7 +82,7 @@ public final class GameJoltScoreTable extends GameJoltObject implements GameJolt
 	 */
 	public final String getDescription() {
 		
-		return this.json.getString("description");
+		return this.getData().description;
 	}
 	
 	/**
@@ -73,7 +91,7 @@ public final class GameJoltScoreTable extends GameJoltObject implements GameJolt
 	 */
 	public final String getName() {
 		
-		return this.json.getString("name");
+		return this.getData().name;
 	}
 	
 	/**
@@ -82,7 +100,7 @@ public final class GameJoltScoreTable extends GameJoltObject implements GameJolt
 	 */
 	public final Long getId() {
 		
-		return this.json.getLong("id");
+		return GameJoltObject.toLong(this.getData().id);
 	}
 	
 	/**
@@ -91,6 +109,41 @@ public final class GameJoltScoreTable extends GameJoltObject implements GameJolt
 	 */
 	public final boolean isPrimary() {
 		
-		return "1".equals(this.json.getString("primary"));
+		return "1".equals(this.getData().primary);
+	}
+	
+	private final Data getData() {
+		
+		return this.getAttributes();
+	}
+	
+	/*
+	 * The decoded attributes of a score table.
+	 */
+	private static final class Data extends Attributes {
+		
+		private final long id;
+		private final String name;
+		private final String description;
+		private final String primary;
+		
+		private Data(JSONObject json) {
+			
+			this.id = GameJoltObject.getLong(json, "id");
+			this.name = json.getString("name");
+			this.description = json.getString("description");
+			this.primary = json.getString("primary");
+		}
+		
+		@Override
+		protected final JSONObject encode() {
+			
+			JSONObject json = new JSONObject();
+			GameJoltObject.put(json, "id", this.id);
+			GameJoltObject.put(json, "name", this.name);
+			GameJoltObject.put(json, "description", this.description);
+			GameJoltObject.put(json, "primary", this.primary);
+			return json;
+		}
 	}
 }
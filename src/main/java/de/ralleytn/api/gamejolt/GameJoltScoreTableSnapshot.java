@@ -0,0 +1,298 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.ralleytn.simple.json.JSONObject;
+
+/**
+ * Immutable snapshot of the scores of a table, stored column by column in primitive arrays instead of one object per score.
+ * The scores are kept in the order the API returned them, so the index of a score is its rank minus one.
+ * A {@linkplain #slice(int, int) slice} counts both indices and ranks from its own first score.
+ * Equal user and guest names share one {@linkplain String} instance. The extra data of the scores is not kept.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class GameJoltScoreTableSnapshot {
+
+	/**
+	 * User ID of a score that was made by a guest.
+	 * @since 1.1.0
+	 */
+	public static final long GUEST = -1;
+	
+	private final Long tableId;
+	private final String[] scores;
+	private final int[] sort;
+	private final long[] userIds;
+	private final long[] stored;
+	private final String[] names;
+	private final int offset;
+	private final int size;
+	private final boolean ascending;
+	
+	private GameJoltScoreTableSnapshot(Long tableId, String[] scores, int[] sort, long[] userIds, long[] stored, String[] names, int offset, int size, boolean ascending) {
+		
+		this.tableId = tableId;
+		this.scores = scores;
+		this.sort = sort;
+		this.userIds = userIds;
+		this.stored = stored;
+		this.names = names;
+		this.offset = offset;
+		this.size = size;
+		this.ascending = ascending;
+	}
+	
+	/**
+	 * @return the ID of the table, or {@code null} if it is the primary table
+	 * @since 1.1.0
+	 */
+	public final Long getTableId() {
+		
+		return this.tableId;
+	}
+	
+	/**
+	 * @return the number of scores in this snapshot
+	 * @since 1.1.0
+	 */
+	public final int size() {
+		
+		return this.size;
+	}
+	
+	/**
+	 * @return {@code true} if lower sort values rank higher, else {@code false}
+	 * @since 1.1.0
+	 */
+	public final boolean isAscending() {
+		
+		return this.ascending;
+	}
+	
+	/**
+	 * @param index the index of the score
+	 * @return the displayed score value
+	 * @since 1.1.0
+	 */
+	public final String getScore(int index) {
+		
+		return this.scores[this.toArrayIndex(index)];
+	}
+	
+	/**
+	 * @param index the index of the score
+	 * @return the integer value of the score which is used to sort it in the table
+	 * @since 1.1.0
+	 */
+	public final int getSortValue(int index) {
+		
+		return this.sort[this.toArrayIndex(index)];
+	}
+	
+	/**
+	 * @param index the index of the score
+	 * @return the ID of the user who made the score, or {@link #GUEST} if it was made by a guest
+	 * @since 1.1.0
+	 */
+	public final long getUserId(int index) {
+		
+		return this.userIds[this.toArrayIndex(index)];
+	}
+	
+	/**
+	 * @param index the index of the score
+	 * @return {@code true} if the score was made by a guest, else {@code false}
+	 * @since 1.1.0
+	 */
+	public final boolean isGuest(int index) {
+		
+		return this.getUserId(index) == GUEST;
+	}
+	
+	/**
+	 * @param index the index of the score
+	 * @return the name of the user or guest who made the score
+	 * @since 1.1.0
+	 */
+	public final String getName(int index) {
+		
+		return this.names[this.toArrayIndex(index)];
+	}
+	
+	/**
+	 * @param index the index of the score
+	 * @return the moment the score was made as UNIX time stamp in seconds
+	 * @since 1.1.0
+	 */
+	public final long getStoredTimestamp(int index) {
+		
+		return this.stored[this.toArrayIndex(index)];
+	}
+	
+	/**
+	 * @param index the index of the score
+	 * @return the moment the score was made
+	 * @since 1.1.0
+	 */
+	public final LocalDateTime getStored(int index) {
+		
+		return LocalDateTime.ofInstant(Instant.ofEpochSecond(this.getStoredTimestamp(index)), ZoneId.systemDefault());
+	}
+	
+	/**
+	 * Finds the rank a score with the given sort value would have in this snapshot with a binary search.
+	 * Scores with the same sort value share a rank. On a slice the rank is counted within the slice;
+	 * adding the index the slice starts at gives the rank in the snapshot it was cut from, as long as the value ranks within the slice.
+	 * @param sortValue the sort value
+	 * @return the rank starting at {@code 1}; {@code size() + 1} if the value is worse than every score of this snapshot
+	 * @since 1.1.0
+	 */
+	public final int getRank(int sortValue) {
+		
+		// first index whose value does not rank higher than the given one
+		int low = 0;
+		int high = this.size;
+		
+		while(low < high) {
+			
+			int middle = (low + high) >>> 1;
+			int value = this.sort[this.offset + middle];
+			
+			if(this.ascending ? value < sortValue : value > sortValue) {
+				
+				low = middle + 1;
+				
+			} else {
+				
+				high = middle;
+			}
+		}
+		
+		return low + 1;
+	}
+	
+	/**
+	 * Creates a view on a range of this snapshot. The arrays are shared, nothing is copied.
+	 * The first score of the view has the index {@code 0} and the rank {@code 1}.
+	 * @param fromIndex the index of the first score (inclusive)
+	 * @param toIndex the index after the last score (exclusive)
+	 * @return the view
+	 * @throws IndexOutOfBoundsException if the range is not within this snapshot
+	 * @since 1.1.0
+	 */
+	public final GameJoltScoreTableSnapshot slice(int fromIndex, int toIndex) {
+		
+		if(fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+			
+			throw new IndexOutOfBoundsException(String.format("[%d, %d) is not within [0, %d)", fromIndex, toIndex, this.size));
+		}
+		
+		return new GameJoltScoreTableSnapshot(this.tableId, this.scores, this.sort, this.userIds, this.stored, this.names, this.offset + fromIndex, toIndex - fromIndex, this.ascending);
+	}
+	
+	private final int toArrayIndex(int index) {
+		
+		if(index < 0 || index >= this.size) {
+			
+			throw new IndexOutOfBoundsException(String.format("Index %d is not within [0, %d)", index, this.size));
+		}
+		
+		return this.offset + index;
+	}
+	
+	/**
+	 * Builds a snapshot from the scores of a response one by one without keeping the JSON data of them.
+	 * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+	 * @version 1.1.0
+	 * @since 1.1.0
+	 */
+	static final class Collector implements GameJoltRequest.Collector<GameJoltScoreTableSnapshot> {
+		
+		private final Long tableId;
+		private final Map<String, String> names = new HashMap<>();
+		private String[] scoreColumn = new String[16];
+		private int[] sortColumn = new int[16];
+		private long[] userIdColumn = new long[16];
+		private long[] storedColumn = new long[16];
+		private String[] nameColumn = new String[16];
+		private int size;
+		
+		/*
+		 * @param tableId the ID of the table, or {@code null} for the primary table
+		 * @since 1.1.0
+		 */
+		Collector(Long tableId) {
+			
+			this.tableId = tableId;
+		}
+		
+		@Override
+		public void add(JSONObject element) {
+			
+			if(this.size == this.sortColumn.length) {
+				
+				int capacity = this.size * 2;
+				this.scoreColumn = Arrays.copyOf(this.scoreColumn, capacity);
+				this.sortColumn = Arrays.copyOf(this.sortColumn, capacity);
+				this.userIdColumn = Arrays.copyOf(this.userIdColumn, capacity);
+				this.storedColumn = Arrays.copyOf(this.storedColumn, capacity);
+				this.nameColumn = Arrays.copyOf(this.nameColumn, capacity);
+			}
+			
+			Integer sort = element.getInteger("sort");
+			Long userId = element.getLong("user_id");
+			Long stored = element.getLong("stored_timestamp");
+			String name = userId != null ? element.getString("user") : element.getString("guest");
+			
+			this.scoreColumn[this.size] = element.getString("score");
+			this.sortColumn[this.size] = sort != null ? sort : 0;
+			this.userIdColumn[this.size] = userId != null ? userId : GUEST;
+			this.storedColumn[this.size] = stored != null ? stored : 0;
+			this.nameColumn[this.size] = name != null ? this.names.computeIfAbsent(name, key -> key) : null;
+			this.size++;
+		}
+		
+		@Override
+		public GameJoltScoreTableSnapshot finish() {
+			
+			boolean ascending = this.size > 1 && this.sortColumn[0] < this.sortColumn[this.size - 1];
+			return new GameJoltScoreTableSnapshot(this.tableId,
+					Arrays.copyOf(this.scoreColumn, this.size),
+					Arrays.copyOf(this.sortColumn, this.size),
+					Arrays.copyOf(this.userIdColumn, this.size),
+					Arrays.copyOf(this.storedColumn, this.size),
+					Arrays.copyOf(this.nameColumn, this.size),
+					0, this.size, ascending);
+		}
+	}
+}
@@ -0,0 +1,328 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import de.ralleytn.simple.json.JSONParseException;
+
+/**
+ * Estimates the time of the GameJolt server, so it can be read every frame without asking the server.
+ * <p>The server only tells the time in whole seconds. Every sample therefore says that the server time was somewhere within a second
+ * at some moment between sending the request and receiving the response. The samples of a {@linkplain #sync()} are spread over a second,
+ * so the intersection of these intervals is usually much narrower than a second or the round trip time.
+ * Later synchronizations also estimate how fast the local clock drifts away from the server clock.</p>
+ * <p>{@link #now()} is computed from {@link System#nanoTime()}, so it doesn't jump when the system clock is changed and it doesn't allocate.</p>
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class GameJoltServerClock implements AutoCloseable {
+
+	/**
+	 * The number of samples {@link #sync()} takes.
+	 * @since 1.1.0
+	 */
+	public static final int DEFAULT_SAMPLES = 5;
+	
+	// the drift of the local clock that is assumed when the uncertainty grows between synchronizations
+	private static final double MAX_DRIFT = 100e-6;
+	
+	// drift estimates above this are treated as clock jumps
+	private static final double DRIFT_LIMIT = 500e-6;
+	
+	// the minimum time between two synchronizations to estimate the drift
+	private static final long DRIFT_BASE = TimeUnit.MINUTES.toNanos(1);
+	
+	private final GameJolt gj;
+	private volatile Estimate estimate;
+	private ScheduledExecutorService timer;
+	private ScheduledFuture<?> recheck;
+	
+	/**
+	 * @param gj the service consumer that should be used
+	 * @since 1.1.0
+	 */
+	public GameJoltServerClock(GameJolt gj) {
+		
+		this.gj = gj;
+	}
+	
+	/**
+	 * Synchronizes this clock with {@value #DEFAULT_SAMPLES} samples. Blocks for about a second.
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final void sync() throws IOException, GameJoltException, JSONParseException {
+		
+		this.sync(DEFAULT_SAMPLES);
+	}
+	
+	/**
+	 * Synchronizes this clock. The samples are spread over a second, so it blocks for about a second if more than one sample is taken.
+	 * @param samples the number of samples
+	 * @throws IllegalArgumentException if the number of samples is not positive
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final void sync(int samples) throws IOException, GameJoltException, JSONParseException {
+		
+		if(samples <= 0) {
+			
+			throw new IllegalArgumentException("At least one sample is needed");
+		}
+		
+		long reference = System.nanoTime();
+		double lower = Double.NEGATIVE_INFINITY;
+		double upper = Double.POSITIVE_INFINITY;
+		double lastLower = 0;
+		double lastUpper = 0;
+		long spacing = TimeUnit.SECONDS.toNanos(1) / samples;
+		
+		for(int index = 0; index < samples; index++) {
+			
+			long start = System.nanoTime();
+			long timestamp = this.gj.execute(this.gj.createTimestampRequest());
+			long end = System.nanoTime();
+			
+			// the server time at the reference moment, as far as this sample knows
+			lastLower = timestamp * 1000.0 - (end - reference) / 1e6;
+			lastUpper = (timestamp + 1) * 1000.0 - (start - reference) / 1e6;
+			lower = Math.max(lower, lastLower);
+			upper = Math.min(upper, lastUpper);
+			
+			if(index + 1 < samples) {
+				
+				GameJoltServerClock.sleep(spacing - (System.nanoTime() - start));
+			}
+		}
+		
+		if(lower > upper) {
+			
+			// the samples contradict each other, most likely the server clock was adjusted; only the newest one is trusted
+			lower = lastLower;
+			upper = lastUpper;
+		}
+		
+		Estimate previous = this.estimate;
+		Estimate next = new Estimate(reference, (lower + upper) / 2, (upper - lower) / 2, 0);
+		
+		if(previous != null && reference - previous.reference >= DRIFT_BASE) {
+			
+			// only the part of the error that both estimates can't explain is blamed on the drift
+			double elapsed = (reference - previous.reference) / 1e6;
+			double error = next.server - previous.at(reference);
+			double unexplained = Math.max(0, Math.abs(error) - previous.uncertainty - next.uncertainty);
+			double drift = previous.drift + Math.copySign(unexplained, error) / elapsed;
+			next = new Estimate(reference, next.server, next.uncertainty, Math.abs(drift) <= DRIFT_LIMIT ? drift : 0);
+			
+		} else if(previous != null) {
+			
+			next = new Estimate(reference, next.server, next.uncertainty, previous.drift);
+		}
+		
+		this.estimate = next;
+	}
+	
+	/**
+	 * @return the current server time in milliseconds since the epoch
+	 * @throws IllegalStateException if this clock was never synchronized
+	 * @since 1.1.0
+	 */
+	public final long now() {
+		
+		return Math.round(this.getEstimate().at(System.nanoTime()));
+	}
+	
+	/**
+	 * The real server time is within {@link #now()} plus or minus this value. It grows slowly until the next synchronization.
+	 * @return the uncertainty of {@link #now()} in milliseconds
+	 * @throws IllegalStateException if this clock was never synchronized
+	 * @since 1.1.0
+	 */
+	public final long getUncertainty() {
+		
+		Estimate estimate = this.getEstimate();
+		return (long)Math.ceil(estimate.uncertainty + Math.abs(System.nanoTime() - estimate.reference) / 1e6 * MAX_DRIFT);
+	}
+	
+	/**
+	 * @return the difference between the server time and the system time in milliseconds; positive if the server is ahead
+	 * @throws IllegalStateException if this clock was never synchronized
+	 * @since 1.1.0
+	 */
+	public final long getOffset() {
+		
+		return this.now() - System.currentTimeMillis();
+	}
+	
+	/**
+	 * @return how much faster the server clock runs than the local clock in parts per million, or 0 if that is not known yet
+	 * @since 1.1.0
+	 */
+	public final double getDrift() {
+		
+		Estimate estimate = this.estimate;
+		return estimate != null ? estimate.drift * 1e6 : 0;
+	}
+	
+	/**
+	 * @return {@code true} if this clock was synchronized at least once, else {@code false}
+	 * @since 1.1.0
+	 */
+	public final boolean isSynchronized() {
+		
+		return this.estimate != null;
+	}
+	
+	/**
+	 * Synchronizes this clock again and again in the background. Failed synchronizations are ignored; the previous estimate stays in use.
+	 * @param interval the time between two synchronizations
+	 * @param unit the unit of the interval
+	 * @throws IllegalArgumentException if the interval is not positive
+	 * @since 1.1.0
+	 */
+	public final synchronized void startRechecking(long interval, TimeUnit unit) {
+		
+		if(interval <= 0) {
+			
+			throw new IllegalArgumentException("The interval has to be positive");
+		}
+		
+		this.stopRechecking();
+		
+		if(this.timer == null) {
+			
+			this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				
+				Thread thread = new Thread(runnable, "GameJolt-ServerClock");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		
+		this.recheck = this.timer.scheduleWithFixedDelay(() -> {
+			
+			try {
+				
+				this.sync();
+				
+			} catch(IOException | GameJoltException | JSONParseException | RuntimeException exception) {
+				
+				// tried again next time
+			}
+			
+		}, this.isSynchronized() ? interval : 0, interval, unit);
+	}
+	
+	/**
+	 * Stops synchronizing this clock in the background.
+	 * @since 1.1.0
+	 */
+	public final synchronized void stopRechecking() {
+		
+		if(this.recheck != null) {
+			
+			this.recheck.cancel(false);
+			this.recheck = null;
+		}
+	}
+	
+	/**
+	 * Stops synchronizing this clock in the background for good. The last estimate can still be used.
+	 * @since 1.1.0
+	 */
+	@Override
+	public final synchronized void close() {
+		
+		this.stopRechecking();
+		
+		if(this.timer != null) {
+			
+			this.timer.shutdown();
+			this.timer = null;
+		}
+	}
+	
+	private final Estimate getEstimate() {
+		
+		Estimate estimate = this.estimate;
+		
+		if(estimate == null) {
+			
+			throw new IllegalStateException("The clock was not synchronized yet");
+		}
+		
+		return estimate;
+	}
+	
+	private static final void sleep(long nanos) throws InterruptedIOException {
+		
+		if(nanos > 0) {
+			
+			try {
+				
+				TimeUnit.NANOSECONDS.sleep(nanos);
+				
+			} catch(InterruptedException exception) {
+				
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while synchronizing the clock");
+			}
+		}
+	}
+	
+	/*
+	 * The server time at a moment of the local monotonic clock, replaced as a whole on every synchronization.
+	 */
+	private static final class Estimate {
+		
+		private final long reference;
+		private final double server;
+		private final double uncertainty;
+		private final double drift;
+		
+		private Estimate(long reference, double server, double uncertainty, double drift) {
+			
+			this.reference = reference;
+			this.server = server;
+			this.uncertainty = uncertainty;
+			this.drift = drift;
+		}
+		
+		private final double at(long nanoTime) {
+			
+			return this.server + (nanoTime - this.reference) / 1e6 * (1 + this.drift);
+		}
+	}
+}
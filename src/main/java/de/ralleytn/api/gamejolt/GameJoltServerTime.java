@@ -37,9 +37,10 @@ import de.ralleytn.simple.json.JSONParseException;
 /**
  * Represents the GameJolt server time.
  * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
+@SuppressWarnings("exports")
 public final class GameJoltServerTime extends GameJoltObject implements GameJoltRefetchable {
 
 	/*
@@ -52,10 +53,27 @@ public final class GameJoltServerTime extends GameJoltObject implements GameJolt
 		super(gj, json);
 	}
 	
+	private GameJoltServerTime(GameJoltServerTime time) {
+		
+		super(time);
+	}
+	
+	@Override
+	protected final Attributes decode(JSONObject json) {
+		
+		return new Data(json);
+	}
+	
+	@Override
+	protected final GameJoltServerTime copy() {
+		
+		return new GameJoltServerTime(this);
+	}
+	
 	@Override
 	public final void refetch() throws IOException, JSONParseException, GameJoltException {
 		
-		this.json = this.serviceConsumer.getServerTime().json;
+		this.update(this.serviceConsumer.getServerTime());
 	}
 	
 	/**
@@ -64,7 +82,7 @@ public final class GameJoltServerTime extends GameJoltObject implements GameJolt
 	 */
 	public final Long getTimestamp() {
 
-		return this.json.getLong("timestamp");
+		return GameJoltObject.toLong(this.getData().timestamp);
 	}
 	
 	/**
@@ -73,7 +91,7 @@ public final class GameJoltServerTime extends GameJoltObject implements GameJolt
 	 */
 	public final String getTimeZone() {
 		
-		return this.json.getString("timezone");
+		return this.getData().timeZone;
 	}
 	
 	/**
@@ -82,7 +100,7 @@ public final class GameJoltServerTime extends GameJoltObject implements GameJolt
 	 */
 	public final Integer getYear() {
 		
-		return this.json.getInteger("year");
+		return GameJoltServerTime.toInteger(this.getData().year);
 	}
 	
 	/**
@@ -91,7 +109,7 @@ public final class GameJoltServerTime extends GameJoltObject implements GameJolt
 	 */
 	public final Integer getMonth() {
 		
-		return this.json.getInteger("month");
+		return GameJoltServerTime.toInteger(this.getData().month);
 	}
 	
 	/**
@@ -100,7 +118,7 @@ public final class GameJoltServerTime extends GameJoltObject implements GameJolt
 	 */
 	public final Integer getDay() {
 		
-		return this.json.getInteger("day");
+		return GameJoltServerTime.toInteger(this.getData().day);
 	}
 	
 	/**
@@ -109,7 +127,7 @@ public final class GameJoltServerTime extends GameJoltObject implements GameJolt
 	 */
 	public final Integer getHour() {
 		
-		return this.json.getInteger("hour");
+		return GameJoltServerTime.toInteger(this.getData().hour);
 	}
 	
 	/**
@@ -118,7 +136,7 @@ public final class GameJoltServerTime extends GameJoltObject implements GameJolt
 	 */
 	public final Integer getMinute() {
 		
-		return this.json.getInteger("minute");
+		return GameJoltServerTime.toInteger(this.getData().minute);
 	}
 	
 	/**
@@ -127,7 +145,7 @@ public final class GameJoltServerTime extends GameJoltObject implements GameJolt
 	 */
 	public final Integer getSeconds() {
 		
-		return this.json.getInteger("seconds");
+		return GameJoltServerTime.toInteger(this.getData().seconds);
 	}
 	
 	/**
@@ -165,4 +183,56 @@ public final class GameJoltServerTime extends GameJoltObject implements GameJolt
 		
 		return ZonedDateTime.ofInstant(this.toInstant(), ZoneId.of(this.getTimeZone()));
 	}
+	
+	private static final Integer toInteger(long value) {
+		
+		return value != ABSENT ? (int)value : null;
+	}
+	
+	private final Data getData() {
+		
+		return this.getAttributes();
+	}
+	
+	/*
+	 * The decoded attributes of a server time.
+	 */
+	private static final class Data extends Attributes {
+		
+		private final long timestamp;
+		private final String timeZone;
+		private final long year;
+		private final long month;
+		private final long day;
+		private final long hour;
+		private final long minute;
+		private final long seconds;
+		
+		private Data(JSONObject json) {
+			
+			this.timestamp = GameJoltObject.getLong(json, "timestamp");
+			this.timeZone = json.getString("timezone");
+			this.year = GameJoltObject.getLong(json, "year");
+			this.month = GameJoltObject.getLong(json, "month");
+			this.day = GameJoltObject.getLong(json, "day");
+			this.hour = GameJoltObject.getLong(json, "hour");
+			this.minute = GameJoltObject.getLong(json, "minute");
+			this.seconds = GameJoltObject.getLong(json, "seconds");
+		}
+		
+		@Override
+		protected final JSONObject encode() {
+			
+			JSONObject json = new JSONObject();
+			GameJoltObject.put(json, "timestamp", this.timestamp);
+			GameJoltObject.put(json, "timezone", this.timeZone);
+			GameJoltObject.put(json, "year", this.year);
+			GameJoltObject.put(json, "month", this.month);
+			GameJoltObject.put(json, "day", this.day);
+			GameJoltObject.put(json, "hour", this.hour);
+			GameJoltObject.put(json, "minute", this.minute);
+			GameJoltObject.put(json, "seconds", this.seconds);
+			return json;
+		}
+	}
 }
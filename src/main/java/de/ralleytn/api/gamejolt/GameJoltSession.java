@@ -27,18 +27,18 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
-import de.ralleytn.simple.json.JSONObject;
 import de.ralleytn.simple.json.JSONParseException;
 
 /**
  * Represents a player session.
  * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
 public final class GameJoltSession {
 
 	private final GameJolt gj;
+	private final GameJoltCredentials credentials;
 	
 	/*
 	 * @param gj the service consumer this session belongs to
@@ -46,7 +46,18 @@ public final class GameJoltSession {
 	 */
 	GameJoltSession(GameJolt gj) {
 		
+		this(gj, null);
+	}
+	
+	/*
+	 * @param gj the service consumer this session belongs to
+	 * @param credentials the user, or {@code null} for the user that is logged in on the service consumer
+	 * @since 1.1.0
+	 */
+	GameJoltSession(GameJolt gj, GameJoltCredentials credentials) {
+		
 		this.gj = gj;
+		this.credentials = credentials;
 	}
 	
 	// ---------------------------------------------------------------------------------------------
@@ -62,12 +73,7 @@ public final class GameJoltSession {
 	 */
 	public final void open() throws IOException, GameJoltException, JSONParseException {
 		
-		Map<String, Object> params = new HashMap<>();
-		params.put("username", this.gj.getUsername());
-		params.put("user_token", gj.getUserToken());
-		
-		JSONObject response = this.gj.get("/sessions/open", params);
-		this.gj.checkStatus(response);
+		this.gj.execute(this.createRequest("/sessions/open"));
 	}
 	
 	// ==== GET /sessions/ping
@@ -94,17 +100,19 @@ public final class GameJoltSession {
 	 */
 	public final void ping(Status status) throws IOException, GameJoltException, JSONParseException {
 		
-		Map<String, Object> params = new HashMap<>();
-		params.put("username", this.gj.getUsername());
-		params.put("user_token", gj.getUserToken());
+		this.gj.execute(this.createPingRequest(status));
+	}
+	
+	final GameJoltRequest<Void> createPingRequest(Status status) {
+		
+		GameJoltRequest<Void> request = this.createRequest("/sessions/ping").idempotent();
 		
 		if(status != null) {
 			
-			params.put("status", status.toString().toLowerCase());
+			request.getParams().put("status", status.toString().toLowerCase());
 		}
 		
-		JSONObject response = this.gj.get("/sessions/ping", params);
-		this.gj.checkStatus(response);
+		return request;
 	}
 	
 	// ==== GET /sessions/check
@@ -118,11 +126,12 @@ public final class GameJoltSession {
 	 */
 	public final boolean isOpen() throws IOException, JSONParseException, GameJoltException {
 	
-		Map<String, Object> params = new HashMap<>();
-		params.put("username", this.gj.getUsername());
-		params.put("user_token", gj.getUserToken());
+		return this.gj.execute(this.createCheckRequest());
+	}
+	
+	final GameJoltRequest<Boolean> createCheckRequest() {
 		
-		return this.gj.get("/sessions/check", params).getBoolean("success");
+		return new GameJoltRequest<>("/sessions/check", this.createParams(), null, response -> response.getBoolean("success")).unchecked().read().prioritize(GameJoltRateLimiter.Priority.SESSION);
 	}
 	
 	// ==== GET /sessions/close
@@ -136,12 +145,17 @@ public final class GameJoltSession {
 	 */
 	public final void close() throws IOException, GameJoltException, JSONParseException {
 		
-		Map<String, Object> params = new HashMap<>();
-		params.put("username", this.gj.getUsername());
-		params.put("user_token", gj.getUserToken());
+		this.gj.execute(this.createRequest("/sessions/close"));
+	}
+	
+	final GameJoltRequest<Void> createRequest(String endpoint) {
+		
+		return new GameJoltRequest<Void>(endpoint, this.createParams(), null, response -> null).prioritize(GameJoltRateLimiter.Priority.SESSION);
+	}
+	
+	private final Map<String, Object> createParams() {
 		
-		JSONObject response = this.gj.get("/sessions/close", params);
-		this.gj.checkStatus(response);
+		return GameJoltCredentials.put(this.credentials != null ? this.credentials : this.gj.getCredentials(), new HashMap<>());
 	}
 	
 	// ---------------------------------------------------------------------------------------------
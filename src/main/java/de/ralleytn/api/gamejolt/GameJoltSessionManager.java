@@ -0,0 +1,326 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import de.ralleytn.api.gamejolt.GameJoltSession.Status;
+import de.ralleytn.simple.json.JSONParseException;
+
+/**
+ * Keeps the sessions of many users open with a single {@linkplain GameJolt} instance, for example on a dedicated server.
+ * One timer pings all sessions. Every session gets a random phase within the ping interval when it is opened, so the pings are spread evenly
+ * over the interval, and the pings that are due at the same time are sent with one {@linkplain GameJoltBatch batch}.
+ * A session whose ping failed is opened again on the next tick.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class GameJoltSessionManager implements AutoCloseable {
+
+	private static final int TICKS_PER_INTERVAL = 10;
+	
+	private final GameJolt gj;
+	private final long interval;
+	private final long tick;
+	private final Map<String, ManagedSession> sessions = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService timer;
+	
+	/**
+	 * Creates a session manager that pings every session every 30 seconds.
+	 * @param gj the service consumer that should be used
+	 * @since 1.1.0
+	 */
+	public GameJoltSessionManager(GameJolt gj) {
+		
+		this(gj, 30, TimeUnit.SECONDS);
+	}
+	
+	/**
+	 * @param gj the service consumer that should be used
+	 * @param pingInterval the time between two pings of the same session; the GameJolt API closes sessions that were not pinged for 120 seconds
+	 * @param unit the unit of the interval
+	 * @throws IllegalArgumentException if the interval is not positive
+	 * @since 1.1.0
+	 */
+	public GameJoltSessionManager(GameJolt gj, long pingInterval, TimeUnit unit) {
+		
+		if(pingInterval <= 0) {
+			
+			throw new IllegalArgumentException("The ping interval has to be positive");
+		}
+		
+		this.gj = gj;
+		this.interval = unit.toNanos(pingInterval);
+		this.tick = Math.max(this.interval / TICKS_PER_INTERVAL, TimeUnit.MILLISECONDS.toNanos(1));
+		this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			
+			Thread thread = new Thread(runnable, "GameJolt-Sessions");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.timer.scheduleWithFixedDelay(this::tick, this.tick, this.tick, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Opens a session for a user and keeps it open until it is {@linkplain #close(String) closed}.
+	 * A session the user already had with this manager is closed first and no longer pinged, because the server only keeps one session per user.
+	 * @param username the name of the user
+	 * @param user_token the token of the user
+	 * @return the session
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final GameJoltSession open(String username, String user_token) throws IOException, GameJoltException, JSONParseException {
+		
+		ManagedSession replaced = this.sessions.remove(username);
+		
+		if(replaced != null) {
+			
+			replaced.closed = true;
+			replaced.session.close();
+		}
+		
+		GameJoltSession session = new GameJoltSession(this.gj, new GameJoltCredentials(username, user_token));
+		session.open();
+		this.sessions.put(username, new ManagedSession(session, System.nanoTime() + ThreadLocalRandom.current().nextLong(this.interval)));
+		return session;
+	}
+	
+	/**
+	 * Closes the session of a user and stops pinging it.
+	 * @param username the name of the user
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final void close(String username) throws IOException, GameJoltException, JSONParseException {
+		
+		ManagedSession managed = this.sessions.remove(username);
+		
+		if(managed != null) {
+			
+			managed.closed = true;
+			managed.session.close();
+		}
+	}
+	
+	/**
+	 * Sets the status that is sent with the next pings of a user's session.
+	 * @param username the name of the user
+	 * @param status the status
+	 * @throws IllegalArgumentException if the user has no session with this manager
+	 * @since 1.1.0
+	 */
+	public final void setStatus(String username, Status status) {
+		
+		this.getManagedSession(username).status = status;
+	}
+	
+	/**
+	 * @param username the name of the user
+	 * @return the status that is sent with the pings of a user's session
+	 * @throws IllegalArgumentException if the user has no session with this manager
+	 * @since 1.1.0
+	 */
+	public final Status getStatus(String username) {
+		
+		return this.getManagedSession(username).status;
+	}
+	
+	/**
+	 * @param username the name of the user
+	 * @return the session of the user, or {@code null} if the user has no session with this manager
+	 * @since 1.1.0
+	 */
+	public final GameJoltSession getSession(String username) {
+		
+		ManagedSession managed = this.sessions.get(username);
+		return managed != null ? managed.session : null;
+	}
+	
+	/**
+	 * @param username the name of the user
+	 * @return {@code true} if the last ping of the user's session succeeded or it was not pinged yet, {@code false} if it failed or the user has no session
+	 * @since 1.1.0
+	 */
+	public final boolean isHealthy(String username) {
+		
+		ManagedSession managed = this.sessions.get(username);
+		return managed != null && !managed.reopen;
+	}
+	
+	/**
+	 * @return the names of all users that have a session with this manager
+	 * @since 1.1.0
+	 */
+	public final Set<String> getUsernames() {
+		
+		return Collections.unmodifiableSet(this.sessions.keySet());
+	}
+	
+	/**
+	 * @return the number of sessions
+	 * @since 1.1.0
+	 */
+	public final int size() {
+		
+		return this.sessions.size();
+	}
+	
+	/**
+	 * Stops pinging and closes all sessions with as few {@linkplain GameJoltBatch batches} as possible.
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	@Override
+	public final void close() throws IOException, GameJoltException, JSONParseException {
+		
+		this.timer.shutdownNow();
+		GameJoltBatch batch = this.gj.createBatch().setParallel(true);
+		List<CompletableFuture<Void>> closed = new ArrayList<>();
+		
+		for(String username : new ArrayList<>(this.sessions.keySet())) {
+			
+			ManagedSession managed = this.sessions.remove(username);
+			
+			if(managed != null) {
+				
+				managed.closed = true;
+				closed.add(batch.add(managed.session.createRequest("/sessions/close")));
+			}
+		}
+		
+		if(batch.size() > 0) {
+			
+			batch.execute();
+		}
+		
+		for(CompletableFuture<Void> future : closed) {
+			
+			GameJolt.await(future);
+		}
+	}
+	
+	private final ManagedSession getManagedSession(String username) {
+		
+		ManagedSession managed = this.sessions.get(username);
+		
+		if(managed == null) {
+			
+			throw new IllegalArgumentException("There is no session for " + username);
+		}
+		
+		return managed;
+	}
+	
+	/*
+	 * Pings all sessions that are due with one batch and opens the ones again whose last ping failed.
+	 * Sessions that were closed or replaced in the meantime are left alone.
+	 */
+	private final void tick() {
+		
+		long now = System.nanoTime();
+		GameJoltBatch batch = this.gj.createBatch().setParallel(true);
+		Map<ManagedSession, CompletableFuture<Void>> due = new LinkedHashMap<>();
+		
+		for(ManagedSession managed : this.sessions.values()) {
+			
+			if(!managed.closed && now - managed.nextPing >= 0) {
+				
+				GameJoltRequest<Void> request = managed.reopen ? managed.session.createRequest("/sessions/open") : managed.session.createPingRequest(managed.status);
+				due.put(managed, batch.add(request));
+			}
+		}
+		
+		if(due.isEmpty()) {
+			
+			return;
+		}
+		
+		try {
+			
+			batch.execute();
+			
+		} catch(IOException | GameJoltException | JSONParseException | RuntimeException exception) {
+			
+			// the futures failed as well; the sessions are tried again on the next tick
+		}
+		
+		for(Map.Entry<ManagedSession, CompletableFuture<Void>> entry : due.entrySet()) {
+			
+			ManagedSession managed = entry.getKey();
+			
+			if(managed.closed) {
+				
+				continue;
+			}
+			
+			if(entry.getValue().isCompletedExceptionally()) {
+				
+				managed.reopen = true;
+				managed.nextPing = now + this.tick;
+				
+			} else {
+				
+				managed.reopen = false;
+				
+				// keeps the phase of the session unless the timer fell behind by a whole interval
+				managed.nextPing = now - managed.nextPing < this.interval ? managed.nextPing + this.interval : now + this.interval;
+			}
+		}
+	}
+	
+	private static final class ManagedSession {
+		
+		private final GameJoltSession session;
+		private volatile Status status = Status.ACTIVE;
+		private volatile long nextPing;
+		private volatile boolean reopen;
+		private volatile boolean closed;
+		
+		private ManagedSession(GameJoltSession session, long nextPing) {
+			
+			this.session = session;
+			this.nextPing = nextPing;
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends the signed requests of a {@linkplain GameJolt} instance over the wire.
+ * Implementations have to be thread safe because a single transport is shared by every request of its {@linkplain GameJolt} instance.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public interface GameJoltTransport {
+
+	/**
+	 * Sends a request. The returned {@linkplain Response} has to be closed by the caller.
+	 * @param method the HTTP method ({@code "GET"} or {@code "POST"})
+	 * @param url the signed request URL
+	 * @param body the form encoded request body, or {@code null} if there is none
+	 * @return the response
+	 * @throws IOException if something went wrong during the data transfer
+	 * @since 1.1.0
+	 */
+	public Response execute(String method, String url, String body) throws IOException;
+	
+	/**
+	 * Sends a request with the timeouts of the {@linkplain GameJoltConfig}, which are already shortened to what is left of the deadline of the call.
+	 * The default implementation ignores the timeouts and calls {@link #execute(String, String, String)}.
+	 * @param method the HTTP method ({@code "GET"} or {@code "POST"})
+	 * @param url the signed request URL
+	 * @param body the form encoded request body, or {@code null} if there is none
+	 * @param connectTimeout the connect timeout in milliseconds; {@code 0} to wait forever
+	 * @param readTimeout the read timeout in milliseconds; {@code 0} to wait forever
+	 * @return the response
+	 * @throws IOException if something went wrong during the data transfer or a timeout expired
+	 * @since 1.1.0
+	 */
+	public default Response execute(String method, String url, String body, long connectTimeout, long readTimeout) throws IOException {
+		
+		return this.execute(method, url, body);
+	}
+	
+	/**
+	 * Sends a request without blocking the calling thread.
+	 * The default implementation runs {@link #execute(String, String, String)} on the given {@linkplain Executor}.
+	 * Transports that are based on a non-blocking client should override this method.
+	 * @param method the HTTP method ({@code "GET"} or {@code "POST"})
+	 * @param url the signed request URL
+	 * @param body the form encoded request body, or {@code null} if there is none
+	 * @param executor the {@linkplain Executor} on which blocking work may be done
+	 * @return a future that completes with the response
+	 * @since 1.1.0
+	 */
+	public default CompletableFuture<Response> executeAsync(String method, String url, String body, Executor executor) {
+		
+		return CompletableFuture.supplyAsync(() -> {
+			
+			try {
+				
+				return this.execute(method, url, body);
+				
+			} catch(IOException exception) {
+				
+				throw new CompletionException(exception);
+			}
+			
+		}, executor);
+	}
+	
+	/**
+	 * Sends a request with timeouts without blocking the calling thread.
+	 * The default implementation ignores the timeouts and calls {@link #executeAsync(String, String, String, Executor)}.
+	 * A call that takes longer than its deadline is abandoned by the {@linkplain GameJolt} instance either way.
+	 * @param method the HTTP method ({@code "GET"} or {@code "POST"})
+	 * @param url the signed request URL
+	 * @param body the form encoded request body, or {@code null} if there is none
+	 * @param connectTimeout the connect timeout in milliseconds; {@code 0} to wait forever
+	 * @param readTimeout the read timeout in milliseconds; {@code 0} to wait forever
+	 * @param executor the {@linkplain Executor} on which blocking work may be done
+	 * @return a future that completes with the response
+	 * @since 1.1.0
+	 */
+	public default CompletableFuture<Response> executeAsync(String method, String url, String body, long connectTimeout, long readTimeout, Executor executor) {
+		
+		return this.executeAsync(method, url, body, executor);
+	}
+	
+	/**
+	 * Releases all resources held by this transport.
+	 * @since 1.1.0
+	 */
+	public default void close() {}
+	
+	/**
+	 * Represents the response to a request sent by a {@linkplain GameJoltTransport}.
+	 * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+	 * @version 1.1.0
+	 * @since 1.1.0
+	 */
+	public static class Response implements Closeable {
+
+		private final int status;
+		private final String message;
+		private final InputStream body;
+		
+		/**
+		 * @param status the HTTP status code
+		 * @param message the HTTP status message
+		 * @param body the response body
+		 * @since 1.1.0
+		 */
+		public Response(int status, String message, InputStream body) {
+			
+			this.status = status;
+			this.message = message;
+			this.body = body;
+		}
+		
+		/**
+		 * @return the HTTP status code
+		 * @since 1.1.0
+		 */
+		public int getStatus() {
+			
+			return this.status;
+		}
+		
+		/**
+		 * @return the HTTP status message
+		 * @since 1.1.0
+		 */
+		public String getMessage() {
+			
+			return this.message;
+		}
+		
+		/**
+		 * @return the response body
+		 * @since 1.1.0
+		 */
+		public InputStream getBody() {
+			
+			return this.body;
+		}
+		
+		/**
+		 * Transports that receive the body in another form than a stream of bytes may override this method to decode it directly.
+		 * The caller buffers the characters on its own, so the reader doesn't need to.
+		 * @return the response body decoded as UTF-8
+		 * @since 1.1.0
+		 */
+		public Reader getReader() {
+			
+			return new InputStreamReader(this.body, StandardCharsets.UTF_8);
+		}
+		
+		@Override
+		public void close() throws IOException {
+			
+			this.body.close();
+		}
+	}
+}
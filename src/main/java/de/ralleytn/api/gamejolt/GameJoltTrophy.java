@@ -32,20 +32,45 @@ import de.ralleytn.simple.json.JSONParseException;
 /**
  * Represents a trophy/an achievement on GameJolt.
  * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
+@SuppressWarnings("exports")
 public final class GameJoltTrophy extends GameJoltObject implements GameJoltRefetchable {
 	
-	GameJoltTrophy(GameJolt gj, JSONObject json) {
+	private final GameJoltCredentials credentials;
+	
+	/*
+	 * @param credentials the user the trophy was fetched for; a refetch asks for the same user
+	 */
+	GameJoltTrophy(GameJolt gj, JSONObject json, GameJoltCredentials credentials) {
 		
 		super(gj, json);
+		this.credentials = credentials;
+	}
+	
+	private GameJoltTrophy(GameJoltTrophy trophy) {
+		
+		super(trophy);
+		this.credentials = trophy.credentials;
+	}
+	
+	@Override
+	protected final Attributes decode(JSONObject json) {
+		
+		return new Data(json);
+	}
+	
+	@Override
+	protected final GameJoltTrophy copy() {
+		
+		return new GameJoltTrophy(this);
 	}
 	
 	@Override
 	public final void refetch() throws IOException, JSONParseException, GameJoltException {
 		
-		this.json = this.serviceConsumer.getTrophy(this.getId()).json;
+		this.update(this.serviceConsumer.execute(this.serviceConsumer.createTrophiesRequest(this.credentials, null, new long[] {this.getData().id}).refresh()).get(0));
 	}
 
 	/**
@@ -54,7 +79,7 @@ public final class GameJoltTrophy extends GameJoltObject implements GameJoltRefe
 	 */
 	public final Long getId() {
 		
-		return this.json.getLong("id");
+		return GameJoltObject.toLong(this.getData().id);
 	}
 	
 	/**
@@ -63,7 +88,7 @@ public final class GameJoltTrophy extends GameJoltObject implements GameJoltRefe
 	 */
 	public final String getTitle() {
 		
-		return this.json.getString("title");
+		return this.getData().title;
 	}
 	
 	/**
@@ -72,7 +97,7 @@ public final class GameJoltTrophy extends GameJoltObject implements GameJoltRefe
 	 */
 	public final String getDescription() {
 		
-		return this.json.getString("description");
+		return this.getData().description;
 	}
 	
 	/**
@@ -81,7 +106,7 @@ public final class GameJoltTrophy extends GameJoltObject implements GameJoltRefe
 	 */
 	public final Difficulty getDifficulty() {
 		
-		return this.getEnum("difficulty", Difficulty.class);
+		return this.getData().difficulty;
 	}
 	
 	/**
@@ -90,7 +115,7 @@ public final class GameJoltTrophy extends GameJoltObject implements GameJoltRefe
 	 */
 	public final String getImageUrl() {
 		
-		return this.json.getString("image_url");
+		return this.getData().imageUrl;
 	}
 	
 	/**
@@ -99,7 +124,7 @@ public final class GameJoltTrophy extends GameJoltObject implements GameJoltRefe
 	 */
 	public final boolean isAchieved() {
 		
-		return !"false".equals(this.json.getString("achieved"));
+		return !"false".equals(this.getData().achieved);
 	}
 	
 	/**
@@ -134,4 +159,45 @@ public final class GameJoltTrophy extends GameJoltObject implements GameJoltRefe
 		 */
 		PLATINUM;
 	}
+	
+	private final Data getData() {
+		
+		return this.getAttributes();
+	}
+	
+	/*
+	 * The decoded attributes of a trophy.
+	 */
+	private static final class Data extends Attributes {
+		
+		private final long id;
+		private final String title;
+		private final String description;
+		private final Difficulty difficulty;
+		private final String imageUrl;
+		private final String achieved;
+		
+		private Data(JSONObject json) {
+			
+			this.id = GameJoltObject.getLong(json, "id");
+			this.title = json.getString("title");
+			this.description = json.getString("description");
+			this.difficulty = GameJoltObject.getEnum(json, "difficulty", Difficulty.class);
+			this.imageUrl = json.getString("image_url");
+			this.achieved = json.getString("achieved");
+		}
+		
+		@Override
+		protected final JSONObject encode() {
+			
+			JSONObject json = new JSONObject();
+			GameJoltObject.put(json, "id", this.id);
+			GameJoltObject.put(json, "title", this.title);
+			GameJoltObject.put(json, "description", this.description);
+			GameJoltObject.put(json, "difficulty", GameJoltObject.toString(this.difficulty));
+			GameJoltObject.put(json, "image_url", this.imageUrl);
+			GameJoltObject.put(json, "achieved", this.achieved);
+			return json;
+		}
+	}
 }
@@ -0,0 +1,233 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import de.ralleytn.api.gamejolt.internal.Util;
+
+/**
+ * The default {@linkplain GameJoltTransport} which is based on {@linkplain HttpURLConnection}.
+ * Connections are not disconnected after a request. Instead every response body is drained when it is closed,
+ * which hands the socket back to the keep-alive cache of the JDK so that the next request to the same host skips the TCP and TLS handshake.
+ * The JDK evicts idle sockets from that cache on its own. Because the number of sockets to a host can never exceed the number of requests
+ * in flight to it, the pool is bounded by limiting the number of concurrent requests per host and in total.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class GameJoltURLConnectionTransport implements GameJoltTransport {
+
+	/**
+	 * The default maximum number of requests that can be in flight at the same time.
+	 * @since 1.1.0
+	 */
+	public static final int DEFAULT_MAX_IN_FLIGHT = 64;
+	
+	/**
+	 * The default maximum number of concurrent requests (and thereby pooled connections) per host.
+	 * @since 1.1.0
+	 */
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 8;
+	
+	private final Semaphore inFlight;
+	private final int maxConnectionsPerHost;
+	private final Map<String, Semaphore> hosts;
+	
+	/**
+	 * Creates a transport with {@value #DEFAULT_MAX_IN_FLIGHT} requests in flight and {@value #DEFAULT_MAX_CONNECTIONS_PER_HOST} connections per host at most.
+	 * @since 1.1.0
+	 */
+	public GameJoltURLConnectionTransport() {
+		
+		this(GameJoltURLConnectionTransport.DEFAULT_MAX_IN_FLIGHT, GameJoltURLConnectionTransport.DEFAULT_MAX_CONNECTIONS_PER_HOST);
+	}
+	
+	/**
+	 * @param maxInFlight the maximum number of requests that can be in flight at the same time
+	 * @param maxConnectionsPerHost the maximum number of concurrent requests (and thereby pooled connections) per host
+	 * @since 1.1.0
+	 */
+	public GameJoltURLConnectionTransport(int maxInFlight, int maxConnectionsPerHost) {
+		
+		if(maxInFlight < 1 || maxConnectionsPerHost < 1) {
+			
+			throw new IllegalArgumentException("The limits have to be at least 1!");
+		}
+		
+		this.inFlight = new Semaphore(maxInFlight, true);
+		this.maxConnectionsPerHost = maxConnectionsPerHost;
+		this.hosts = new ConcurrentHashMap<>();
+	}
+	
+	@Override
+	public Response execute(String method, String url, String body) throws IOException {
+		
+		return this.execute(method, url, body, GameJoltConfig.DEFAULT_CONNECT_TIMEOUT, GameJoltConfig.DEFAULT_READ_TIMEOUT);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * Waiting for a free connection counts towards the connect timeout.
+	 */
+	@Override
+	public Response execute(String method, String url, String body, long connectTimeout, long readTimeout) throws IOException {
+		
+		URL requestURL = new URL(url);
+		Semaphore host = this.hosts.computeIfAbsent(requestURL.getHost() + ':' + requestURL.getPort(), key -> new Semaphore(this.maxConnectionsPerHost, true));
+		long start = System.nanoTime();
+		GameJoltURLConnectionTransport.acquire(this.inFlight, connectTimeout);
+		
+		try {
+			
+			GameJoltURLConnectionTransport.acquire(host, GameJoltURLConnectionTransport.remaining(connectTimeout, start));
+			
+		} catch(IOException exception) {
+			
+			this.inFlight.release();
+			throw exception;
+		}
+
+		try {
+			
+			HttpURLConnection connection = Util.createConnection(url, method, body != null, GameJoltURLConnectionTransport.remaining(connectTimeout, start), readTimeout);
+			
+			if(body != null) {
+				
+				Util.write(connection.getOutputStream(), body);
+			}
+			
+			int status = connection.getResponseCode();
+			InputStream stream = status < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream() : connection.getErrorStream();
+			return new PooledResponse(status, connection.getResponseMessage(), stream != null ? stream : new ByteArrayInputStream(new byte[0]), host);
+			
+		} catch(IOException | RuntimeException exception) {
+			
+			host.release();
+			this.inFlight.release();
+			throw exception;
+		}
+	}
+	
+	@Override
+	public CompletableFuture<Response> executeAsync(String method, String url, String body, long connectTimeout, long readTimeout, Executor executor) {
+		
+		return CompletableFuture.supplyAsync(() -> {
+			
+			try {
+				
+				return this.execute(method, url, body, connectTimeout, readTimeout);
+				
+			} catch(IOException exception) {
+				
+				throw new CompletionException(exception);
+			}
+			
+		}, executor);
+	}
+	
+	/**
+	 * @return the number of requests that could be sent right now without waiting for another one to finish
+	 * @since 1.1.0
+	 */
+	public int getAvailablePermits() {
+		
+		return this.inFlight.availablePermits();
+	}
+	
+	/*
+	 * @return what is left of the timeout in milliseconds, but at least 1 so that it doesn't mean "forever"; {@code 0} if the timeout is {@code 0}
+	 */
+	private static final long remaining(long timeout, long start) {
+		
+		return timeout > 0 ? Math.max(1, timeout - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)) : 0;
+	}
+	
+	private static final void acquire(Semaphore semaphore, long timeout) throws IOException {
+		
+		try {
+			
+			if(timeout <= 0) {
+				
+				semaphore.acquire();
+				
+			} else if(!semaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+				
+				throw new SocketTimeoutException("Timed out while waiting for a free connection");
+			}
+			
+		} catch(InterruptedException exception) {
+			
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a free connection");
+		}
+	}
+	
+	private final class PooledResponse extends Response {
+		
+		private final Semaphore host;
+		private boolean closed;
+		
+		private PooledResponse(int status, String message, InputStream body, Semaphore host) {
+			
+			super(status, message, body);
+			
+			this.host = host;
+		}
+		
+		@Override
+		public synchronized void close() throws IOException {
+			
+			if(!this.closed) {
+				
+				this.closed = true;
+				
+				try(InputStream body = this.getBody()) {
+					
+					// The JDK only reuses a connection after its response body was read completely
+					byte[] buffer = new byte[1024];
+					while(body.read(buffer) != -1);
+					
+				} finally {
+					
+					this.host.release();
+					GameJoltURLConnectionTransport.this.inFlight.release();
+				}
+			}
+		}
+	}
+}
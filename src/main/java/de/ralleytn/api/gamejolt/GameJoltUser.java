@@ -33,9 +33,10 @@ import de.ralleytn.simple.json.JSONParseException;
 /**
  * Represents a GameJolt user.
  * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
+@SuppressWarnings("exports")
 public final class GameJoltUser extends GameJoltObject implements GameJoltRefetchable {
 	
 	/*
@@ -48,10 +49,27 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 		super(gj, json);
 	}
 	
+	private GameJoltUser(GameJoltUser user) {
+		
+		super(user);
+	}
+	
+	@Override
+	protected final Attributes decode(JSONObject json) {
+		
+		return new Data(json);
+	}
+	
+	@Override
+	protected final GameJoltUser copy() {
+		
+		return new GameJoltUser(this);
+	}
+	
 	@Override
 	public final void refetch() throws IOException, JSONParseException, GameJoltException {
 		
-		this.json = this.serviceConsumer.getUser(this.getId()).json;
+		this.update(this.serviceConsumer.execute(this.serviceConsumer.createUsersRequest(new long[] {this.getData().id}).refresh()).get(0));
 	}
 
 	/**
@@ -60,7 +78,7 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 	 */
 	public final Long getId() {
 		
-		return this.json.getLong("id");
+		return GameJoltObject.toLong(this.getData().id);
 	}
 	
 	/**
@@ -69,7 +87,7 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 	 */
 	public final Type getType() {
 		
-		return this.getEnum("type", Type.class);
+		return this.getData().type;
 	}
 	
 	/**
@@ -78,7 +96,7 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 	 */
 	public final String getUsername() {
 		
-		return this.json.getString("username");
+		return this.getData().username;
 	}
 	
 	/**
@@ -87,7 +105,7 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 	 */
 	public final String getAvatarUrl() {
 		
-		return this.json.getString("avatar_url");
+		return this.getData().avatarUrl;
 	}
 	
 	/**
@@ -96,7 +114,7 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 	 */
 	public final LocalDateTime getSignedUp() {
 		
-		return this.getLocalDateTime("signed_up_timestamp");
+		return GameJoltObject.toLocalDateTime(this.getData().signedUp);
 	}
 	
 	/**
@@ -105,7 +123,7 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 	 */
 	public final LocalDateTime getLastLoggedIn() {
 		
-		return this.getLocalDateTime("last_logged_in_timestamp");
+		return GameJoltObject.toLocalDateTime(this.getData().lastLoggedIn);
 	}
 	
 	/**
@@ -114,7 +132,7 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 	 */
 	public final boolean isOnline() {
 		
-		return "Online Now".equals(this.json.getString("last_logged_in"));
+		return "Online Now".equals(this.getData().lastLoggedInText);
 	}
 	
 	/**
@@ -123,7 +141,7 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 	 */
 	public final boolean isBanned() {
 		
-		return !"Active".equals(this.json.getString("status"));
+		return !"Active".equals(this.getData().status);
 	}
 	
 	/**
@@ -132,7 +150,7 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 	 */
 	public final String getDeveloperName() {
 		
-		return this.json.getString("developer_name");
+		return this.getData().developerName;
 	}
 	
 	/**
@@ -141,7 +159,7 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 	 */
 	public final String getDeveloperWebsite() {
 		
-		return this.json.getString("developer_website");
+		return this.getData().developerWebsite;
 	}
 	
 	/**
@@ -150,7 +168,7 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 	 */
 	public final String getDeveloperDescription() {
 		
-		return this.json.getString("developer_description");
+		return this.getData().developerDescription;
 	}
 	
 	/**
@@ -185,4 +203,60 @@ public final class GameJoltUser extends GameJoltObject implements GameJoltRefetc
 		 */
 		ADMINISTRATOR;
 	}
+	
+	private final Data getData() {
+		
+		return this.getAttributes();
+	}
+	
+	/*
+	 * The decoded attributes of a user.
+	 */
+	private static final class Data extends Attributes {
+		
+		private final long id;
+		private final Type type;
+		private final String username;
+		private final String avatarUrl;
+		private final long signedUp;
+		private final long lastLoggedIn;
+		private final String lastLoggedInText;
+		private final String status;
+		private final String developerName;
+		private final String developerWebsite;
+		private final String developerDescription;
+		
+		private Data(JSONObject json) {
+			
+			this.id = GameJoltObject.getLong(json, "id");
+			this.type = GameJoltObject.getEnum(json, "type", Type.class);
+			this.username = json.getString("username");
+			this.avatarUrl = json.getString("avatar_url");
+			this.signedUp = GameJoltObject.getLong(json, "signed_up_timestamp");
+			this.lastLoggedIn = GameJoltObject.getLong(json, "last_logged_in_timestamp");
+			this.lastLoggedInText = json.getString("last_logged_in");
+			this.status = json.getString("status");
+			this.developerName = json.getString("developer_name");
+			this.developerWebsite = json.getString("developer_website");
+			this.developerDescription = json.getString("developer_description");
+		}
+		
+		@Override
+		protected final JSONObject encode() {
+			
+			JSONObject json = new JSONObject();
+			GameJoltObject.put(json, "id", this.id);
+			GameJoltObject.put(json, "type", GameJoltObject.toString(this.type));
+			GameJoltObject.put(json, "username", this.username);
+			GameJoltObject.put(json, "avatar_url", this.avatarUrl);
+			GameJoltObject.put(json, "signed_up_timestamp", this.signedUp);
+			GameJoltObject.put(json, "last_logged_in_timestamp", this.lastLoggedIn);
+			GameJoltObject.put(json, "last_logged_in", this.lastLoggedInText);
+			GameJoltObject.put(json, "status", this.status);
+			GameJoltObject.put(json, "developer_name", this.developerName);
+			GameJoltObject.put(json, "developer_website", this.developerWebsite);
+			GameJoltObject.put(json, "developer_description", this.developerDescription);
+			return json;
+		}
+	}
 }
@@ -0,0 +1,311 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.io.IOException;
+import java.util.List;
+
+import de.ralleytn.simple.json.JSONParseException;
+
+/**
+ * The requests of a single user. Unlike {@linkplain GameJolt#login(String, String) logging in}, a user context never changes,
+ * so one {@linkplain GameJolt} instance can serve any number of users from any number of threads at the same time.
+ * All requests go through the {@linkplain GameJolt} instance the context was {@linkplain GameJolt#as(String, String) created} by
+ * and share its transport, cache and batching.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class GameJoltUserContext {
+
+	private final GameJolt gj;
+	private final GameJoltCredentials credentials;
+	private final GameJoltSession session;
+	private final GameJoltDataStorage storage;
+	
+	/*
+	 * @param gj the service consumer this context belongs to
+	 * @param credentials the user
+	 * @since 1.1.0
+	 */
+	GameJoltUserContext(GameJolt gj, GameJoltCredentials credentials) {
+		
+		this.gj = gj;
+		this.credentials = credentials;
+		this.session = new GameJoltSession(gj, credentials);
+		this.storage = new GameJoltDataStorage(gj, false, credentials);
+	}
+	
+	// ---------------------------------------------------------------------------------------------
+	
+	// ==== GET /users/auth
+	
+	/**
+	 * Checks the name and the token of the user.
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final void authenticate() throws IOException, GameJoltException, JSONParseException {
+		
+		this.gj.execute(this.gj.createAuthRequest(this.credentials));
+	}
+	
+	// ==== GET /trophies/add-achieved
+	
+	/**
+	 * Achieves a trophy for the user.
+	 * @param trophy_id the trophy ID
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final void achieveTrophy(long trophy_id) throws IOException, GameJoltException, JSONParseException {
+		
+		this.gj.execute(this.gj.createAchieveTrophyRequest(this.credentials, trophy_id));
+	}
+	
+	// ==== GET|POST /scores/add
+	
+	/**
+	 * Adds a new score for the user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final void addUserScore(String score, int sort) throws IOException, GameJoltException, JSONParseException {
+		
+		this.gj.execute(this.gj.createAddScoreRequest(this.credentials, score, sort, null, null, null));
+	}
+	
+	/**
+	 * Adds a new score for the user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param extra_data some extra data
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final void addUserScore(String score, int sort, String extra_data) throws IOException, GameJoltException, JSONParseException {
+		
+		this.gj.execute(this.gj.createAddScoreRequest(this.credentials, score, sort, null, null, extra_data));
+	}
+	
+	/**
+	 * Adds a new score for the user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param table_id the ID of the table this score should be added to
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final void addUserScore(String score, int sort, long table_id) throws IOException, GameJoltException, JSONParseException {
+		
+		this.gj.execute(this.gj.createAddScoreRequest(this.credentials, score, sort, table_id, null, null));
+	}
+	
+	/**
+	 * Adds a new score for the user.
+	 * @param score the display value of the score
+	 * @param sort the sort value of the score
+	 * @param table_id the ID of the table this score should be added to
+	 * @param extra_data some extra data
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final void addUserScore(String score, int sort, long table_id, String extra_data) throws IOException, GameJoltException, JSONParseException {
+		
+		this.gj.execute(this.gj.createAddScoreRequest(this.credentials, score, sort, table_id, null, extra_data));
+	}
+	
+	// ==== GET /scores
+	
+	/**
+	 * @return the top ten scores of the user from the primary table
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final List<GameJoltScore> getUserScores() throws IOException, GameJoltException, JSONParseException {
+		
+		return this.gj.execute(this.gj.createScoresRequest(this.credentials, null, null));
+	}
+	
+	/**
+	 * @param limit the limit of scores that should be returned (1 - 100)
+	 * @return a list of scores of the user from the primary table
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final List<GameJoltScore> getUserScores(int limit) throws IOException, GameJoltException, JSONParseException {
+		
+		return this.gj.execute(this.gj.createScoresRequest(this.credentials, limit, null));
+	}
+	
+	/**
+	 * @param table_id the ID of the table from which the scores should be fetched
+	 * @return the top ten scores of the user on the given table
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final List<GameJoltScore> getUserScores(long table_id) throws IOException, GameJoltException, JSONParseException {
+		
+		return this.gj.execute(this.gj.createScoresRequest(this.credentials, null, table_id));
+	}
+	
+	/**
+	 * @param table_id the ID of the table from which the scores should be fetched
+	 * @param limit the limit of scores that should be returned (1 - 100)
+	 * @return a list of scores of the user from the given table
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final List<GameJoltScore> getUserScores(long table_id, int limit) throws IOException, GameJoltException, JSONParseException {
+		
+		return this.gj.execute(this.gj.createScoresRequest(this.credentials, limit, table_id));
+	}
+	
+	// ==== GET /trophies
+	
+	/**
+	 * @return all trophies, with the achievements of the user
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final List<GameJoltTrophy> getTrophies() throws IOException, GameJoltException, JSONParseException {
+		
+		return this.gj.execute(this.gj.createTrophiesRequest(this.credentials, null, null));
+	}
+	
+	/**
+	 * @param achieved {@code true} for the trophies the user achieved, {@code false} for the ones the user did not achieve yet
+	 * @return the trophies
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final List<GameJoltTrophy> getTrophies(boolean achieved) throws IOException, GameJoltException, JSONParseException {
+		
+		return this.gj.execute(this.gj.createTrophiesRequest(this.credentials, achieved, null));
+	}
+	
+	/**
+	 * @param trophy_ids the trophy IDs
+	 * @return the trophies with the given IDs, with the achievements of the user
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final List<GameJoltTrophy> getTrophies(long[] trophy_ids) throws IOException, GameJoltException, JSONParseException {
+		
+		return this.gj.execute(this.gj.createTrophiesRequest(this.credentials, null, trophy_ids));
+	}
+	
+	/**
+	 * @param trophy_id the trophy ID
+	 * @return the trophy with the given ID, with the achievement of the user
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final GameJoltTrophy getTrophy(long trophy_id) throws IOException, GameJoltException, JSONParseException {
+		
+		return this.getTrophies(new long[] {trophy_id}).get(0);
+	}
+	
+	// ==== GET /users
+	
+	/**
+	 * @return the user
+	 * @throws IOException if something went wrong during the data transfer
+	 * @throws JSONParseException if the JSON data could not be parsed
+	 * @throws GameJoltException if the service says something went wrong
+	 * @since 1.1.0
+	 */
+	public final GameJoltUser getUser() throws IOException, GameJoltException, JSONParseException {
+		
+		return this.gj.getUser(this.credentials.getUsername());
+	}
+	
+	// ---------------------------------------------------------------------------------------------
+	
+	/**
+	 * @return the session of the user
+	 * @since 1.1.0
+	 */
+	public final GameJoltSession getSession() {
+		
+		return this.session;
+	}
+	
+	/**
+	 * @return the data storage of the user
+	 * @since 1.1.0
+	 */
+	public final GameJoltDataStorage getUserDataStorage() {
+		
+		return this.storage;
+	}
+	
+	/**
+	 * @return the name of the user
+	 * @since 1.1.0
+	 */
+	public final String getUsername() {
+		
+		return this.credentials.getUsername();
+	}
+	
+	/**
+	 * @return the service consumer this context belongs to
+	 * @since 1.1.0
+	 */
+	public final GameJolt getServiceConsumer() {
+		
+		return this.gj;
+	}
+}
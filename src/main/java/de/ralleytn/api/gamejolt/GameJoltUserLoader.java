@@ -0,0 +1,202 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the users that are requested by their ID within a short time window and fetches all of them with a single call.
+ * Every caller gets its own user back. A user that is requested more than once in a window is only fetched once.
+ * If there is a {@linkplain GameJoltCache}, users are looked up there first and every fetched user is added to it.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+final class GameJoltUserLoader {
+
+	private final GameJolt gj;
+	private final long window;
+	private final int maxUsers;
+	private final ScheduledExecutorService timer;
+	private Map<Long, CompletableFuture<GameJoltUser>> pending;
+	
+	/*
+	 * @param gj the service consumer that fetches the users
+	 * @param window the time window in nanoseconds
+	 * @param maxUsers the maximum number of users per call
+	 * @since 1.1.0
+	 */
+	GameJoltUserLoader(GameJolt gj, long window, int maxUsers) {
+		
+		this.gj = gj;
+		this.window = window;
+		this.maxUsers = maxUsers;
+		this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			
+			Thread thread = new Thread(runnable, "GameJolt-UserLoader");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/*
+	 * Adds a user to the current window.
+	 * @param user_id the ID of the user
+	 * @return a future that completes with the user
+	 * @since 1.1.0
+	 */
+	final CompletableFuture<GameJoltUser> load(long user_id) {
+		
+		GameJoltCache cache = this.gj.getCache();
+		
+		if(cache != null) {
+			
+			String key = cache.createKey(this.gj.createUsersRequest(new long[] {user_id}));
+			List<GameJoltUser> users = key != null ? cache.get(key) : null;
+			
+			if(users != null) {
+				
+				return CompletableFuture.completedFuture(users.get(0));
+			}
+		}
+		
+		Map<Long, CompletableFuture<GameJoltUser>> full = null;
+		CompletableFuture<GameJoltUser> future;
+		
+		synchronized(this) {
+			
+			if(this.pending == null) {
+				
+				Map<Long, CompletableFuture<GameJoltUser>> window = new LinkedHashMap<>();
+				this.pending = window;
+				this.timer.schedule(() -> this.flush(window), this.window, TimeUnit.NANOSECONDS);
+			}
+			
+			future = this.pending.computeIfAbsent(user_id, key -> new CompletableFuture<>());
+			
+			if(this.pending.size() >= this.maxUsers) {
+				
+				full = this.pending;
+				this.pending = null;
+			}
+		}
+		
+		if(full != null) {
+			
+			this.send(full);
+		}
+		
+		return future;
+	}
+	
+	/*
+	 * Sends the current window immediately and stops the timer.
+	 * @since 1.1.0
+	 */
+	final void close() {
+		
+		Map<Long, CompletableFuture<GameJoltUser>> window;
+		
+		synchronized(this) {
+			
+			window = this.pending;
+			this.pending = null;
+		}
+		
+		if(window != null) {
+			
+			this.send(window);
+		}
+		
+		this.timer.shutdown();
+	}
+	
+	private final void flush(Map<Long, CompletableFuture<GameJoltUser>> window) {
+		
+		synchronized(this) {
+			
+			// the window was already sent because it was full
+			if(this.pending != window) {
+				
+				return;
+			}
+			
+			this.pending = null;
+		}
+		
+		this.send(window);
+	}
+	
+	private final void send(Map<Long, CompletableFuture<GameJoltUser>> window) {
+		
+		long[] user_ids = new long[window.size()];
+		int index = 0;
+		
+		for(long user_id : window.keySet()) {
+			
+			user_ids[index++] = user_id;
+		}
+		
+		this.gj.executeAsync(this.gj.createUsersRequest(user_ids), this.gj.getExecutor()).whenComplete((users, exception) -> {
+			
+			if(exception != null) {
+				
+				window.values().forEach(future -> future.completeExceptionally(exception));
+				return;
+			}
+			
+			GameJoltCache cache = this.gj.getCache();
+			
+			for(GameJoltUser user : users) {
+				
+				CompletableFuture<GameJoltUser> future = window.get(user.getId());
+				
+				if(future != null) {
+					
+					future.complete(user);
+				}
+				
+				if(cache != null) {
+					
+					String key = cache.createKey(this.gj.createUsersRequest(new long[] {user.getId()}));
+					
+					if(key != null) {
+						
+						cache.put(key, "/users", Collections.singletonList(user));
+					}
+				}
+			}
+			
+			// completed futures are not affected, only the ones of users that were not returned fail
+			window.forEach((user_id, future) -> future.completeExceptionally(new GameJoltException(this.gj, "There is no user with the ID " + user_id + "!")));
+		});
+	}
+}
@@ -0,0 +1,386 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives a response body from the {@linkplain java.net.http.HttpClient} as the {@linkplain ByteBuffer}s it arrives in and lets it be read
+ * as it arrives, either as bytes or as UTF-8 text. The text is decoded from the buffers directly into the array of the caller,
+ * so the {@linkplain JSONReader} gets its characters without an {@linkplain java.io.InputStreamReader} and a {@linkplain java.io.BufferedReader} in between.
+ * Only one of the two views may be used. Reading blocks until the next buffer arrived or the read timeout passed.
+ * After a timeout or an interruption the subscription is cancelled, so the rest of the body is not downloaded anymore.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class ByteBufferBody implements HttpResponse.BodySubscriber<ByteBufferBody> {
+
+	private static final List<ByteBuffer> END = Collections.unmodifiableList(new ArrayList<>());
+	
+	private final BlockingQueue<List<ByteBuffer>> queue = new LinkedBlockingQueue<>();
+	private final long readTimeout;
+	private volatile Flow.Subscription subscription;
+	private volatile Throwable error;
+	private volatile boolean closed;
+	private volatile boolean cancelled;
+	private Iterator<ByteBuffer> buffers = Collections.emptyIterator();
+	private ByteBuffer current;
+	private boolean ended;
+	
+	/**
+	 * Creates a body that waits forever for the next buffer.
+	 * @since 1.1.0
+	 */
+	public ByteBufferBody() {
+		
+		this(0);
+	}
+	
+	/**
+	 * @param readTimeout how long to wait for the next buffer in milliseconds; {@code 0} to wait forever
+	 * @since 1.1.0
+	 */
+	public ByteBufferBody(long readTimeout) {
+		
+		this.readTimeout = readTimeout;
+	}
+	
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		
+		this.subscription = subscription;
+		
+		if(this.cancelled) {
+			
+			subscription.cancel();
+			
+		} else {
+			
+			subscription.request(this.closed ? Long.MAX_VALUE : 1);
+		}
+	}
+	
+	@Override
+	public void onNext(List<ByteBuffer> item) {
+		
+		if(!this.closed) {
+			
+			this.queue.add(item);
+		}
+	}
+	
+	@Override
+	public void onError(Throwable throwable) {
+		
+		this.error = throwable;
+		this.queue.add(ByteBufferBody.END);
+	}
+	
+	@Override
+	public void onComplete() {
+		
+		this.queue.add(ByteBufferBody.END);
+	}
+	
+	@Override
+	public CompletionStage<ByteBufferBody> getBody() {
+		
+		// the body is read while it arrives, so it is available right away
+		return CompletableFuture.completedFuture(this);
+	}
+	
+	/**
+	 * @return the body as bytes
+	 * @since 1.1.0
+	 */
+	public InputStream getInputStream() {
+		
+		return new InputStream() {
+			
+			@Override
+			public int read() throws IOException {
+				
+				ByteBuffer buffer = ByteBufferBody.this.next();
+				return buffer != null ? buffer.get() & 0xFF : -1;
+			}
+			
+			@Override
+			public int read(byte[] bytes, int offset, int length) throws IOException {
+				
+				if(length == 0) {
+					
+					return 0;
+				}
+				
+				ByteBuffer buffer = ByteBufferBody.this.next();
+				
+				if(buffer == null) {
+					
+					return -1;
+				}
+				
+				int count = Math.min(length, buffer.remaining());
+				buffer.get(bytes, offset, count);
+				return count;
+			}
+			
+			@Override
+			public void close() {
+				
+				ByteBufferBody.this.close();
+			}
+		};
+	}
+	
+	/**
+	 * @return the body as UTF-8 text; malformed input is replaced with {@code U+FFFD}
+	 * @since 1.1.0
+	 */
+	public Reader getReader() {
+		
+		return new Reader() {
+			
+			private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+			private char pending;
+			private boolean flushed;
+			
+			@Override
+			public int read(char[] characters, int offset, int length) throws IOException {
+				
+				if(length == 0) {
+					
+					return 0;
+				}
+				
+				if(this.pending != 0) {
+					
+					characters[offset] = this.pending;
+					this.pending = 0;
+					return 1;
+				}
+				
+				if(length == 1) {
+					
+					// a character outside of the BMP needs two chars, the second one is returned by the next call
+					char[] pair = new char[2];
+					int count = this.read(pair, 0, 2);
+					
+					if(count == 2) {
+						
+						this.pending = pair[1];
+					}
+					
+					if(count > 0) {
+						
+						characters[offset] = pair[0];
+					}
+					
+					return Math.min(count, 1);
+				}
+				
+				CharBuffer target = CharBuffer.wrap(characters, offset, length);
+				
+				while(target.position() == offset) {
+					
+					ByteBuffer buffer = ByteBufferBody.this.next();
+					
+					if(buffer == null) {
+						
+						return this.finish(target, offset);
+					}
+					
+					this.decoder.decode(buffer, target, false);
+					
+					// the rest of the buffer is the beginning of a character that continues in the next buffer
+					if(target.position() == offset && buffer.hasRemaining() && !ByteBufferBody.this.joinNext()) {
+						
+						this.decoder.decode(buffer, target, true);
+						return this.finish(target, offset);
+					}
+				}
+				
+				return target.position() - offset;
+			}
+			
+			private final int finish(CharBuffer target, int offset) {
+				
+				if(!this.flushed) {
+					
+					this.flushed = true;
+					this.decoder.decode(ByteBuffer.allocate(0), target, true);
+					this.decoder.flush(target);
+				}
+				
+				return target.position() > offset ? target.position() - offset : -1;
+			}
+			
+			@Override
+			public void close() {
+				
+				ByteBufferBody.this.close();
+			}
+		};
+	}
+	
+	/**
+	 * Stops reading the body. The rest of the body is still received, but dropped, so the connection can be used for the next request.
+	 * Does nothing if receiving the body was already given up after a timeout or an interruption.
+	 * @since 1.1.0
+	 */
+	public void close() {
+		
+		if(!this.closed) {
+			
+			this.closed = true;
+			this.queue.clear();
+			Flow.Subscription subscription = this.subscription;
+			
+			if(subscription != null) {
+				
+				subscription.request(Long.MAX_VALUE);
+			}
+		}
+	}
+	
+	/*
+	 * Gives up receiving the body. Draining a body that stalls would keep the connection busy for nothing, so it is closed instead.
+	 */
+	private final void cancel() {
+		
+		this.cancelled = true;
+		this.closed = true;
+		this.queue.clear();
+		Flow.Subscription subscription = this.subscription;
+		
+		if(subscription != null) {
+			
+			subscription.cancel();
+		}
+	}
+	
+	/*
+	 * @return the buffer with the next bytes of the body, or {@code null} at the end of the body
+	 */
+	private final ByteBuffer next() throws IOException {
+		
+		while(this.current == null || !this.current.hasRemaining()) {
+			
+			if(this.buffers.hasNext()) {
+				
+				this.current = this.buffers.next();
+				continue;
+			}
+			
+			if(this.ended || this.closed) {
+				
+				return this.end();
+			}
+			
+			List<ByteBuffer> item;
+			
+			try {
+				
+				item = this.readTimeout > 0 ? this.queue.poll(this.readTimeout, TimeUnit.MILLISECONDS) : this.queue.take();
+				
+			} catch(InterruptedException exception) {
+				
+				this.cancel();
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for the response body");
+			}
+			
+			if(item == null) {
+				
+				this.cancel();
+				throw new SocketTimeoutException("No part of the response body arrived within " + this.readTimeout + " ms");
+			}
+			
+			if(item == ByteBufferBody.END) {
+				
+				this.ended = true;
+				return this.end();
+			}
+			
+			this.buffers = item.iterator();
+			this.subscription.request(1);
+		}
+		
+		return this.current;
+	}
+	
+	private final ByteBuffer end() throws IOException {
+		
+		Throwable error = this.error;
+		
+		if(error != null) {
+			
+			throw error instanceof IOException ? (IOException)error : new IOException(error);
+		}
+		
+		return null;
+	}
+	
+	/*
+	 * Puts the remaining bytes of the current buffer in front of the next buffer.
+	 * @return {@code false} if there is no next buffer
+	 */
+	private final boolean joinNext() throws IOException {
+		
+		ByteBuffer rest = this.current;
+		this.current = null;
+		ByteBuffer next = this.next();
+		
+		if(next == null) {
+			
+			this.current = rest;
+			return false;
+		}
+		
+		ByteBuffer joined = ByteBuffer.allocate(rest.remaining() + next.remaining());
+		joined.put(rest).put(next).flip();
+		this.current = joined;
+		return true;
+	}
+}
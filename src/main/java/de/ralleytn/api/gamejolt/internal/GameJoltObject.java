@@ -28,34 +28,96 @@ import java.io.Writer;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Locale;
 
 import de.ralleytn.api.gamejolt.GameJolt;
 import de.ralleytn.simple.json.JSONObject;
 
 /**
  * An abstract representation of an object used in the GameJolt API.
+ * The attributes are decoded once when the object is created. The JSON data itself is only kept if
+ * {@link GameJolt#isRetainingJSON()} was {@code true} at that moment, otherwise it is encoded again from the decoded attributes when needed.
+ * The decoded attributes are immutable and replaced as a whole when the object is refetched, so a reader on another thread
+ * never sees a mix of old and new attributes.
  * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
 public abstract class GameJoltObject {
 
-	protected JSONObject json;
+	/**
+	 * Marks a numeric attribute that is missing in the JSON data.
+	 * @since 1.1.0
+	 */
+	protected static final long ABSENT = Long.MIN_VALUE;
+	
 	protected GameJolt serviceConsumer;
+	private volatile Attributes attributes;
 	
 	protected GameJoltObject(GameJolt serviceConsumer, JSONObject json) {
 		
-		this.json = json;
+		Attributes attributes = this.decode(json);
+		attributes.json = serviceConsumer == null || serviceConsumer.isRetainingJSON() ? json : null;
+		this.attributes = attributes;
 		this.serviceConsumer = serviceConsumer;
 	}
 	
+	/**
+	 * Creates a copy of an object. The copy shares the attributes with the object until one of them is refetched.
+	 * @param object the object
+	 * @since 1.1.0
+	 */
+	protected GameJoltObject(GameJoltObject object) {
+		
+		this.attributes = object.attributes;
+		this.serviceConsumer = object.serviceConsumer;
+	}
+	
+	/**
+	 * Decodes the attributes of an object from the given JSON data.
+	 * Called by the constructor, so it must not depend on the state of the object.
+	 * @param json the JSON data
+	 * @return the attributes
+	 * @since 1.1.0
+	 */
+	protected abstract Attributes decode(JSONObject json);
+	
+	/**
+	 * @return a copy of this object that can be refetched without changing this object
+	 * @since 1.1.0
+	 */
+	protected abstract GameJoltObject copy();
+	
+	/**
+	 * @param <A> the type of the attributes
+	 * @return the current attributes of this object
+	 * @since 1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	protected final <A extends Attributes>A getAttributes() {
+		
+		return (A)this.attributes;
+	}
+	
+	/**
+	 * Replaces the attributes of this object with the ones of another object of the same type.
+	 * Used to refetch an object.
+	 * @param object the other object
+	 * @since 1.1.0
+	 */
+	protected final void update(GameJoltObject object) {
+		
+		this.attributes = object.attributes;
+	}
+	
 	/**
 	 * @return the JSON data of this object
 	 * @since 1.0.0
 	 */
 	public JSONObject getJSON() {
 		
-		return this.json;
+		Attributes attributes = this.attributes;
+		return attributes.json != null ? attributes.json : attributes.encode();
 	}
 
 	/**
@@ -75,44 +137,81 @@ public abstract class GameJoltObject {
 	 */
 	public void write(Writer writer) throws IOException {
 		
-		this.json.write(writer);
+		this.getJSON().write(writer);
 	}
 	
 	@Override
 	public String toString() {
 		
-		return this.json.toString();
+		return this.getJSON().toString();
 	}
 	
 	/**
+	 * @param json the JSON data
 	 * @param param the attribute name
-	 * @return the value as an instance of {@linkplain LocalDateTime}
-	 * @since 1.0.0
+	 * @return the value, or {@link #ABSENT} if the attribute is missing
+	 * @since 1.1.0
+	 */
+	protected static final long getLong(JSONObject json, String param) {
+		
+		Long value = json.getLong(param);
+		return value != null ? value : ABSENT;
+	}
+	
+	/**
+	 * @param value a value decoded with {@link #getLong(JSONObject, String)}
+	 * @return the value, or {@code null} if it is {@link #ABSENT}
+	 * @since 1.1.0
 	 */
-	protected final LocalDateTime getLocalDateTime(String param) {
+	protected static final Long toLong(long value) {
 		
-		Long timestamp = this.json.getLong(param);
-		return timestamp != null ? LocalDateTime.ofInstant(Instant.ofEpochSecond(timestamp), ZoneId.systemDefault()) : null;
+		return value != ABSENT ? value : null;
+	}
+	
+	/**
+	 * @param timestamp a UNIX time stamp in seconds decoded with {@link #getLong(JSONObject, String)}
+	 * @return the value as an instance of {@linkplain LocalDateTime}, or {@code null} if it is {@link #ABSENT}
+	 * @since 1.1.0
+	 */
+	protected static final LocalDateTime toLocalDateTime(long timestamp) {
+		
+		return timestamp != ABSENT ? LocalDateTime.ofInstant(Instant.ofEpochSecond(timestamp), ZoneId.systemDefault()) : null;
+	}
+	
+	/**
+	 * Puts a value on the given JSON data unless it is {@code null} or {@link #ABSENT}.
+	 * @param json the JSON data
+	 * @param param the attribute name
+	 * @param value the value
+	 * @since 1.1.0
+	 */
+	protected static final void put(JSONObject json, String param, Object value) {
+		
+		if(value != null && !Long.valueOf(ABSENT).equals(value)) {
+			
+			json.put(param, value);
+		}
 	}
 	
 	/**
 	 * Replacement for {@link JSONObject#getEnum(String, Class)}.
 	 * Has to be done because the GameJolt API doesn't have upper case enums.
+	 * @param json the JSON data
 	 * @param param the attribute name
 	 * @param type the enum class
 	 * @param <T> the enum type
 	 * @return the value as the enum type
-	 * @since 1.0.0
+	 * @since 1.1.0
 	 */
-	protected final <T extends Enum<?>>T getEnum(String param, Class<T> type) {
+	protected static final <T extends Enum<?>>T getEnum(JSONObject json, String param, Class<T> type) {
 		
-		String value = this.json.getString(param);
+		String value = json.getString(param);
 		
 		if(value != null) {
 			
 			for(T constant : type.getEnumConstants()) {
 				
-				if(constant.name().equals(value.toUpperCase())) {
+				if(constant.name().equalsIgnoreCase(value)) {
 					
 					return constant;
 				}
@@ -121,4 +220,39 @@ public abstract class GameJoltObject {
 		
 		return null;
 	}
+	
+	/**
+	 * @param constant the enum constant
+	 * @return the name of the constant the way the GameJolt API writes it, or {@code null}
+	 * @since 1.1.0
+	 */
+	protected static final String toString(Enum<?> constant) {
+		
+		if(constant != null) {
+			
+			String name = constant.name();
+			return name.charAt(0) + name.substring(1).toLowerCase(Locale.ROOT);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * The decoded attributes of an object. Subclasses only have final fields, so that the attributes can be shared by copies of the object.
+	 * Texts that the getters interpret, like the status of a user, are kept as they were sent, so that {@link #encode()} doesn't lose them.
+	 * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+	 * @version 1.1.0
+	 * @since 1.1.0
+	 */
+	protected abstract static class Attributes {
+		
+		// only written before the attributes are published through the volatile field of the object
+		private JSONObject json;
+		
+		/**
+		 * @return the attributes as JSON data
+		 * @since 1.1.0
+		 */
+		protected abstract JSONObject encode();
+	}
 }
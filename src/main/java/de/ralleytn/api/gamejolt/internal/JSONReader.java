@@ -0,0 +1,635 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2017 Ralph Niemitz
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.ralleytn.api.gamejolt.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+import de.ralleytn.simple.json.JSONArray;
+import de.ralleytn.simple.json.JSONObject;
+import de.ralleytn.simple.json.JSONParseException;
+
+/**
+ * A pull parser that reads JSON one token at a time instead of building the whole tree at once.
+ * Values are converted to the same types the {@linkplain de.ralleytn.simple.json.JSONParser} creates.
+ * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class JSONReader implements Closeable {
+
+	private static final int EMPTY_ARRAY = 1;
+	private static final int NONEMPTY_ARRAY = 2;
+	private static final int EMPTY_OBJECT = 3;
+	private static final int DANGLING_NAME = 4;
+	private static final int NONEMPTY_OBJECT = 5;
+	private static final int EMPTY_DOCUMENT = 6;
+	private static final int NONEMPTY_DOCUMENT = 7;
+	
+	private final Reader reader;
+	private final char[] buffer;
+	private final StringBuilder text;
+	private int position;
+	private int limit;
+	private long offset;
+	private int[] stack;
+	private int depth;
+	private Token peeked;
+	
+	/**
+	 * @param reader the {@linkplain Reader} from which the JSON data is read
+	 * @since 1.1.0
+	 */
+	public JSONReader(Reader reader) {
+		
+		this.reader = reader;
+		this.buffer = new char[8192];
+		this.text = new StringBuilder();
+		this.stack = new int[16];
+		this.stack[this.depth++] = JSONReader.EMPTY_DOCUMENT;
+	}
+	
+	/**
+	 * @return the type of the next token without consuming it
+	 * @throws IOException if the data could not be read
+	 * @throws JSONParseException if the data is no valid JSON
+	 * @since 1.1.0
+	 */
+	public Token peek() throws IOException, JSONParseException {
+		
+		if(this.peeked != null) {
+			
+			return this.peeked;
+		}
+		
+		int character;
+		
+		switch(this.stack[this.depth - 1]) {
+		
+			case JSONReader.EMPTY_ARRAY:
+				this.stack[this.depth - 1] = JSONReader.NONEMPTY_ARRAY;
+				
+				if(this.nextNonWhitespace() == ']') {
+					
+					return this.peeked = Token.END_ARRAY;
+				}
+				
+				this.position--;
+				break;
+				
+			case JSONReader.NONEMPTY_ARRAY:
+				character = this.nextNonWhitespace();
+				
+				if(character == ']') {
+					
+					return this.peeked = Token.END_ARRAY;
+					
+				} else if(character != ',') {
+					
+					throw this.unexpected(character);
+				}
+				
+				break;
+				
+			case JSONReader.EMPTY_OBJECT:
+			case JSONReader.NONEMPTY_OBJECT:
+				character = this.nextNonWhitespace();
+				
+				if(character == '}') {
+					
+					return this.peeked = Token.END_OBJECT;
+				}
+				
+				if(this.stack[this.depth - 1] == JSONReader.NONEMPTY_OBJECT) {
+					
+					if(character != ',') {
+						
+						throw this.unexpected(character);
+					}
+					
+					character = this.nextNonWhitespace();
+				}
+				
+				if(character != '"') {
+					
+					throw this.unexpected(character);
+				}
+				
+				this.stack[this.depth - 1] = JSONReader.DANGLING_NAME;
+				this.readString();
+				return this.peeked = Token.NAME;
+				
+			case JSONReader.DANGLING_NAME:
+				character = this.nextNonWhitespace();
+				
+				if(character != ':') {
+					
+					throw this.unexpected(character);
+				}
+				
+				this.stack[this.depth - 1] = JSONReader.NONEMPTY_OBJECT;
+				break;
+				
+			case JSONReader.EMPTY_DOCUMENT:
+				this.stack[this.depth - 1] = JSONReader.NONEMPTY_DOCUMENT;
+				break;
+				
+			default:
+				character = this.read();
+				
+				while(character != -1 && JSONReader.isWhitespace(character)) {
+					
+					character = this.read();
+				}
+				
+				if(character != -1) {
+					
+					throw this.unexpected(character);
+				}
+				
+				return this.peeked = Token.END_DOCUMENT;
+		}
+		
+		character = this.nextNonWhitespace();
+		
+		switch(character) {
+		
+			case '{': return this.peeked = Token.BEGIN_OBJECT;
+			case '[': return this.peeked = Token.BEGIN_ARRAY;
+			case '"':
+				this.readString();
+				return this.peeked = Token.STRING;
+			case 't':
+				this.readLiteral("rue");
+				return this.peeked = Token.TRUE;
+			case 'f':
+				this.readLiteral("alse");
+				return this.peeked = Token.FALSE;
+			case 'n':
+				this.readLiteral("ull");
+				return this.peeked = Token.NULL;
+			default:
+				if(character == '-' || (character >= '0' && character <= '9')) {
+					
+					this.readNumber(character);
+					return this.peeked = Token.NUMBER;
+				}
+				
+				throw this.unexpected(character);
+		}
+	}
+	
+	/**
+	 * @return {@code true} if the current object or array has another element, else {@code false}
+	 * @throws IOException if the data could not be read
+	 * @throws JSONParseException if the data is no valid JSON
+	 * @since 1.1.0
+	 */
+	public boolean hasNext() throws IOException, JSONParseException {
+		
+		Token token = this.peek();
+		return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+	}
+	
+	/**
+	 * Consumes the beginning of an object.
+	 * @throws IOException if the data could not be read
+	 * @throws JSONParseException if the next token is not the beginning of an object
+	 * @since 1.1.0
+	 */
+	public void beginObject() throws IOException, JSONParseException {
+		
+		this.consume(Token.BEGIN_OBJECT);
+		this.push(JSONReader.EMPTY_OBJECT);
+	}
+	
+	/**
+	 * Consumes the end of an object.
+	 * @throws IOException if the data could not be read
+	 * @throws JSONParseException if the next token is not the end of an object
+	 * @since 1.1.0
+	 */
+	public void endObject() throws IOException, JSONParseException {
+		
+		this.consume(Token.END_OBJECT);
+		this.depth--;
+	}
+	
+	/**
+	 * Consumes the beginning of an array.
+	 * @throws IOException if the data could not be read
+	 * @throws JSONParseException if the next token is not the beginning of an array
+	 * @since 1.1.0
+	 */
+	public void beginArray() throws IOException, JSONParseException {
+		
+		this.consume(Token.BEGIN_ARRAY);
+		this.push(JSONReader.EMPTY_ARRAY);
+	}
+	
+	/**
+	 * Consumes the end of an array.
+	 * @throws IOException if the data could not be read
+	 * @throws JSONParseException if the next token is not the end of an array
+	 * @since 1.1.0
+	 */
+	public void endArray() throws IOException, JSONParseException {
+		
+		this.consume(Token.END_ARRAY);
+		this.depth--;
+	}
+	
+	/**
+	 * @return the next attribute name
+	 * @throws IOException if the data could not be read
+	 * @throws JSONParseException if the next token is not an attribute name
+	 * @since 1.1.0
+	 */
+	public String nextName() throws IOException, JSONParseException {
+		
+		this.consume(Token.NAME);
+		return this.text.toString();
+	}
+	
+	/**
+	 * Reads the next value completely. Objects and arrays are returned as {@linkplain JSONObject} and {@linkplain JSONArray},
+	 * integers as {@linkplain Long} and all other numbers as {@linkplain Double}.
+	 * @return the next value
+	 * @throws IOException if the data could not be read
+	 * @throws JSONParseException if the next token is not the beginning of a value
+	 * @since 1.1.0
+	 */
+	public Object nextValue() throws IOException, JSONParseException {
+		
+		switch(this.peek()) {
+		
+			case BEGIN_OBJECT:
+				JSONObject object = new JSONObject();
+				this.beginObject();
+				
+				while(this.hasNext()) {
+					
+					String name = this.nextName();
+					object.put(name, this.nextValue());
+				}
+				
+				this.endObject();
+				return object;
+				
+			case BEGIN_ARRAY:
+				JSONArray array = new JSONArray();
+				this.beginArray();
+				
+				while(this.hasNext()) {
+					
+					array.add(this.nextValue());
+				}
+				
+				this.endArray();
+				return array;
+				
+			case STRING:
+				this.peeked = null;
+				return this.text.toString();
+				
+			case NUMBER:
+				this.peeked = null;
+				return JSONReader.toNumber(this.text);
+				
+			case TRUE:
+				this.peeked = null;
+				return Boolean.TRUE;
+				
+			case FALSE:
+				this.peeked = null;
+				return Boolean.FALSE;
+				
+			case NULL:
+				this.peeked = null;
+				return null;
+				
+			default:
+				throw new JSONParseException(this.getPosition(), JSONParseException.ERROR_UNEXPECTED_TOKEN, this.peeked);
+		}
+	}
+	
+	/**
+	 * Skips the next value without creating any objects for it.
+	 * @throws IOException if the data could not be read
+	 * @throws JSONParseException if the next token is not the beginning of a value
+	 * @since 1.1.0
+	 */
+	public void skipValue() throws IOException, JSONParseException {
+		
+		int level = 0;
+		
+		do {
+			
+			switch(this.peek()) {
+			
+				case BEGIN_OBJECT: this.beginObject(); level++; break;
+				case BEGIN_ARRAY: this.beginArray(); level++; break;
+				case END_OBJECT: this.endObject(); level--; break;
+				case END_ARRAY: this.endArray(); level--; break;
+				case END_DOCUMENT: throw new JSONParseException(this.getPosition(), JSONParseException.ERROR_UNEXPECTED_TOKEN, Token.END_DOCUMENT);
+				default: this.peeked = null; break;
+			}
+			
+		} while(level > 0);
+	}
+	
+	@Override
+	public void close() throws IOException {
+		
+		this.reader.close();
+	}
+	
+	private final void consume(Token expected) throws IOException, JSONParseException {
+		
+		Token token = this.peek();
+		
+		if(token != expected) {
+			
+			throw new JSONParseException(this.getPosition(), JSONParseException.ERROR_UNEXPECTED_TOKEN, token);
+		}
+		
+		this.peeked = null;
+	}
+	
+	private final void push(int scope) {
+		
+		if(this.depth == this.stack.length) {
+			
+			int[] stack = new int[this.depth * 2];
+			System.arraycopy(this.stack, 0, stack, 0, this.depth);
+			this.stack = stack;
+		}
+		
+		this.stack[this.depth++] = scope;
+	}
+	
+	private final int read() throws IOException {
+		
+		if(this.position == this.limit) {
+			
+			this.offset += this.limit;
+			this.position = 0;
+			this.limit = Math.max(0, this.reader.read(this.buffer));
+			
+			if(this.limit == 0) {
+				
+				return -1;
+			}
+		}
+		
+		return this.buffer[this.position++];
+	}
+	
+	private final int nextNonWhitespace() throws IOException, JSONParseException {
+		
+		int character = this.read();
+		
+		while(character != -1 && JSONReader.isWhitespace(character)) {
+			
+			character = this.read();
+		}
+		
+		if(character == -1) {
+			
+			throw new JSONParseException(this.getPosition(), JSONParseException.ERROR_UNEXPECTED_TOKEN, Token.END_DOCUMENT);
+		}
+		
+		return character;
+	}
+	
+	private final void readString() throws IOException, JSONParseException {
+		
+		this.text.setLength(0);
+		
+		while(true) {
+			
+			int character = this.read();
+			
+			if(character == '"') {
+				
+				return;
+				
+			} else if(character == '\\') {
+				
+				int escaped = this.read();
+				
+				switch(escaped) {
+				
+					case '"': case '\\': case '/': this.text.append((char)escaped); break;
+					case 'b': this.text.append('\b'); break;
+					case 'f': this.text.append('\f'); break;
+					case 'n': this.text.append('\n'); break;
+					case 'r': this.text.append('\r'); break;
+					case 't': this.text.append('\t'); break;
+					case 'u':
+						int code = 0;
+						
+						for(int index = 0; index < 4; index++) {
+							
+							int digit = Character.digit(this.read(), 16);
+							
+							if(digit == -1) {
+								
+								throw new JSONParseException(this.getPosition(), JSONParseException.ERROR_UNEXPECTED_CHAR, "\\u");
+							}
+							
+							code = (code << 4) | digit;
+						}
+						
+						this.text.append((char)code);
+						break;
+					default: throw this.unexpected(escaped);
+				}
+				
+			} else if(character == -1) {
+				
+				throw new JSONParseException(this.getPosition(), JSONParseException.ERROR_UNEXPECTED_TOKEN, Token.END_DOCUMENT);
+				
+			} else {
+				
+				this.text.append((char)character);
+			}
+		}
+	}
+	
+	private final void readNumber(int first) throws IOException, JSONParseException {
+		
+		this.text.setLength(0);
+		this.text.append((char)first);
+		
+		while(true) {
+			
+			int character = this.read();
+			
+			if((character >= '0' && character <= '9') || character == '.' || character == 'e' || character == 'E' || character == '+' || character == '-') {
+				
+				this.text.append((char)character);
+				
+			} else {
+				
+				if(character != -1) {
+					
+					this.position--;
+				}
+				
+				return;
+			}
+		}
+	}
+	
+	private final void readLiteral(String rest) throws IOException, JSONParseException {
+		
+		for(int index = 0; index < rest.length(); index++) {
+			
+			int character = this.read();
+			
+			if(character != rest.charAt(index)) {
+				
+				throw this.unexpected(character);
+			}
+		}
+	}
+	
+	private final JSONParseException unexpected(int character) {
+		
+		return new JSONParseException(this.getPosition(), JSONParseException.ERROR_UNEXPECTED_CHAR, character == -1 ? Token.END_DOCUMENT : (Object)(char)character);
+	}
+	
+	private final int getPosition() {
+		
+		return (int)(this.offset + this.position);
+	}
+	
+	private static final boolean isWhitespace(int character) {
+		
+		return character == ' ' || character == '\n' || character == '\r' || character == '\t';
+	}
+	
+	private static final Number toNumber(CharSequence text) throws JSONParseException {
+		
+		String number = text.toString();
+		
+		try {
+			
+			if(number.indexOf('.') == -1 && number.indexOf('e') == -1 && number.indexOf('E') == -1) {
+				
+				try {
+					
+					return Long.valueOf(number);
+					
+				} catch(NumberFormatException exception) {
+					
+					// too big for a long
+				}
+			}
+			
+			return Double.valueOf(number);
+			
+		} catch(NumberFormatException exception) {
+			
+			throw new JSONParseException(0, JSONParseException.ERROR_UNEXPECTED_TOKEN, number);
+		}
+	}
+	
+	/**
+	 * Represents the type of a JSON token.
+	 * @author Ralph Niemitz/RalleYTN(ralph.niemitz@gmx.de)
+	 * @version 1.1.0
+	 * @since 1.1.0
+	 */
+	public static enum Token {
+		
+		/**
+		 * The beginning of an object
+		 * @since 1.1.0
+		 */
+		BEGIN_OBJECT,
+		
+		/**
+		 * The end of an object
+		 * @since 1.1.0
+		 */
+		END_OBJECT,
+		
+		/**
+		 * The beginning of an array
+		 * @since 1.1.0
+		 */
+		BEGIN_ARRAY,
+		
+		/**
+		 * The end of an array
+		 * @since 1.1.0
+		 */
+		END_ARRAY,
+		
+		/**
+		 * The name of an attribute
+		 * @since 1.1.0
+		 */
+		NAME,
+		
+		/**
+		 * A string value
+		 * @since 1.1.0
+		 */
+		STRING,
+		
+		/**
+		 * A number value
+		 * @since 1.1.0
+		 */
+		NUMBER,
+		
+		/**
+		 * The value {@code true}
+		 * @since 1.1.0
+		 */
+		TRUE,
+		
+		/**
+		 * The value {@code false}
+		 * @since 1.1.0
+		 */
+		FALSE,
+		
+		/**
+		 * The value {@code null}
+		 * @since 1.1.0
+		 */
+		NULL,
+		
+		/**
+		 * The end of the JSON data
+		 * @since 1.1.0
+		 */
+		END_DOCUMENT;
+	}
+}
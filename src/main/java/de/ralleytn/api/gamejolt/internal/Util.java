@@ -30,10 +30,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Array;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLEncoder;
@@ -42,15 +39,19 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltConfig;
 import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltTransport;
 import de.ralleytn.simple.json.JSONArray;
 import de.ralleytn.simple.json.JSONObject;
 import de.ralleytn.simple.json.JSONParseException;
-import de.ralleytn.simple.json.JSONParser;
 
 /**
  * 
@@ -60,37 +61,56 @@ import de.ralleytn.simple.json.JSONParser;
  */
 public final class Util {
 
+	private static final char[] LOWER_HEX = "0123456789abcdef".toCharArray();
+	private static final char[] UPPER_HEX = "0123456789ABCDEF".toCharArray();
+	private static final ThreadLocal<Map<String, Digester>> DIGESTERS = ThreadLocal.withInitial(HashMap::new);
+	
 	private Util() {}
 	
 	/**
 	 * 
 	 * @param array
-	 * @param type
+	 * @param factory creates an object from an element of the array
 	 * @param consumer
 	 * @return
 	 * @since 1.0.0
 	 */
-	public static final <T extends GameJoltObject>List<T> toList(JSONArray array, Class<T> type, GameJolt consumer) {
+	public static final <T extends GameJoltObject>List<T> toList(JSONArray array, BiFunction<GameJolt, JSONObject, T> factory, GameJolt consumer) {
 		
-		List<T> list = new ArrayList<>();
+		List<T> list = new ArrayList<>(array.size());
 		
 		for(Object element : array) {
 			
-			try {
-				
-				Constructor<T> constructor = type.getDeclaredConstructor(GameJolt.class, JSONObject.class);
-				constructor.setAccessible(true);
-				list.add(constructor.newInstance(consumer, (JSONObject)element));
-				constructor.setAccessible(false);
+			list.add(factory.apply(consumer, (JSONObject)element));
+		}
+		
+		return list;
+	}
+	
+	/**
+	 * Copies the result of a request for a caller, so that it can be modified and its objects can be refetched without affecting other callers.
+	 * @param result the result
+	 * @param <T> the type of the result
+	 * @return a modifiable copy of a list with copies of its elements, a copy of a {@linkplain GameJoltObject}, or any other result as it is
+	 * @since 1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static final <T>T copy(T result) {
+		
+		if(result instanceof List) {
 			
-			} catch(InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException exception) {
+			List<?> list = (List<?>)result;
+			List<Object> copy = new ArrayList<>(list.size());
+			
+			for(Object element : list) {
 				
-				// SHOULD NEVER HAPPEN!
-				throw new RuntimeException(exception);
+				copy.add(Util.copy(element));
 			}
+			
+			return (T)copy;
 		}
 		
-		return list;
+		return result instanceof GameJoltObject ? (T)((GameJoltObject)result).copy() : result;
 	}
 	
 	/**
@@ -104,11 +124,27 @@ public final class Util {
 	 */
 	public static final HttpURLConnection createConnection(String requestURL, String requestMethod, boolean doOutput) throws IOException {
 
+		return Util.createConnection(requestURL, requestMethod, doOutput, GameJoltConfig.DEFAULT_CONNECT_TIMEOUT, GameJoltConfig.DEFAULT_READ_TIMEOUT);
+	}
+	
+	/**
+	 * 
+	 * @param requestURL
+	 * @param requestMethod
+	 * @param doOutput
+	 * @param connectTimeout the connect timeout in milliseconds; {@code 0} to wait forever
+	 * @param readTimeout the read timeout in milliseconds; {@code 0} to wait forever
+	 * @return
+	 * @throws IOException
+	 * @since 1.1.0
+	 */
+	public static final HttpURLConnection createConnection(String requestURL, String requestMethod, boolean doOutput, long connectTimeout, long readTimeout) throws IOException {
+
 		HttpURLConnection connection = (HttpURLConnection)new URL(requestURL).openConnection();
 		connection.setRequestMethod(requestMethod);
 		connection.setAllowUserInteraction(false);
-		connection.setConnectTimeout(5000); // 5 seconds
-		connection.setReadTimeout(300000); // 5 min
+		connection.setConnectTimeout((int)Math.min(connectTimeout, Integer.MAX_VALUE));
+		connection.setReadTimeout((int)Math.min(readTimeout, Integer.MAX_VALUE));
 		connection.setDefaultUseCaches(false);
 		connection.setDoInput(true);
 		connection.setDoOutput(doOutput);
@@ -145,37 +181,105 @@ public final class Util {
 	/**
 	 * 
 	 * @param service
-	 * @param connection
+	 * @param response
 	 * @return
 	 * @throws GameJoltException
 	 * @throws IOException
 	 * @throws JSONParseException
 	 * @since 1.0.0
 	 */
-	public static final JSONObject finishRequest(GameJolt service, HttpURLConnection connection) throws GameJoltException, IOException, JSONParseException {
+	public static final JSONObject finishRequest(GameJolt service, GameJoltTransport.Response response) throws GameJoltException, IOException, JSONParseException {
 		
-		int status = connection.getResponseCode();
+		return Util.finishRequest(service, response, null, null);
+	}
+	
+	/**
+	 * Reads the response object with a {@linkplain JSONReader}. The elements of the array with the given name are not added to the
+	 * response object but handed to the element consumer one by one as soon as they were read, so the array never exists as a whole.
+	 * @param service
+	 * @param response
+	 * @param array the name of the streamed array in the response object, or {@code null}
+	 * @param elementConsumer receives the elements of the streamed array
+	 * @return the response object without the streamed array
+	 * @throws GameJoltException
+	 * @throws IOException
+	 * @throws JSONParseException
+	 * @since 1.1.0
+	 */
+	public static final JSONObject finishRequest(GameJolt service, GameJoltTransport.Response response, String array, Consumer<JSONObject> elementConsumer) throws GameJoltException, IOException, JSONParseException {
 		
-		if(status == HttpURLConnection.HTTP_OK) {
+		try(response) {
 			
-			try(BufferedReader reader = Util.createReader(connection.getInputStream())) {
+			int status = response.getStatus();
+			
+			if(status == HttpURLConnection.HTTP_OK) {
 				
-				Object parsedObject = new JSONParser().parse(reader);
+				JSONReader reader = new JSONReader(response.getReader());
 				
-				if(parsedObject instanceof JSONObject) {
+				if(reader.peek() != JSONReader.Token.BEGIN_OBJECT) {
 					
-					return ((JSONObject)parsedObject).getObject("response");
+					throw new GameJoltException(service, "A JSON object was expected, not an array!");
+				}
+				
+				JSONObject result = null;
+				reader.beginObject();
+				
+				while(reader.hasNext()) {
 					
-				} else {
+					if("response".equals(reader.nextName()) && reader.peek() == JSONReader.Token.BEGIN_OBJECT) {
+						
+						result = Util.readResponse(reader, array, elementConsumer);
+						
+					} else {
+						
+						reader.skipValue();
+					}
+				}
+				
+				reader.endObject();
+				
+				if(result == null) {
 					
-					throw new GameJoltException(service, "A JSON object was expected, not an array!");
+					throw new GameJoltException(service, "The response object is missing!");
 				}
+				
+				return result;
+				
+			} else {
+				
+				throw new GameJoltException(service, String.format("%d %s: %s", status, response.getMessage(), Util.read(response.getBody())));
 			}
+		}
+	}
+	
+	private static final JSONObject readResponse(JSONReader reader, String array, Consumer<JSONObject> elementConsumer) throws IOException, JSONParseException {
+		
+		JSONObject response = new JSONObject();
+		reader.beginObject();
+		
+		while(reader.hasNext()) {
 			
-		} else {
+			String name = reader.nextName();
 			
-			throw new GameJoltException(service, String.format("%d %s: %s", status, connection.getResponseMessage(), Util.read(connection.getErrorStream())));
+			if(name.equals(array) && reader.peek() == JSONReader.Token.BEGIN_ARRAY) {
+				
+				reader.beginArray();
+				
+				while(reader.hasNext()) {
+					
+					elementConsumer.accept((JSONObject)reader.nextValue());
+				}
+				
+				reader.endArray();
+				
+			} else {
+				
+				response.put(name, reader.nextValue());
+			}
 		}
+		
+		reader.endObject();
+		return response;
 	}
 	
 	/**
@@ -236,18 +340,35 @@ public final class Util {
 	}
 	
 	/**
-	 * 
-	 * @param base
-	 * @param privateKey
-	 * @return
+	 * Creates the signature of a request. The characters of the base and the private key are encoded straight into a per thread
+	 * buffer and hashed with a per thread {@linkplain MessageDigest}, without joining them to a new string first.
+	 * @param base the URL without the signature
+	 * @param privateKey the private key of the game
+	 * @return the signature as a hexadecimal string
 	 * @since 1.0.0
 	 */
-	public static final String createSignature(String base, String privateKey) {
+	public static final String createSignature(CharSequence base, String privateKey) {
 		
-		StringBuilder signatureBuilder = new StringBuilder();
-		signatureBuilder.append(base);
-		signatureBuilder.append(privateKey);
-		return Util.hashSHA1(signatureBuilder.toString());
+		Digester digester = Util.getDigester("SHA-1");
+		digester.update(base);
+		digester.update(privateKey);
+		return Util.toHexString(digester.digest.digest());
+	}
+	
+	/**
+	 * Creates the signature of a request with a private key that was already encoded as UTF-8.
+	 * @param base the URL without the signature
+	 * @param privateKey the UTF-8 encoded private key of the game
+	 * @param algorithm the name of the hash algorithm, {@code "SHA-1"} or {@code "MD5"}
+	 * @return the signature as a hexadecimal string
+	 * @since 1.1.0
+	 */
+	public static final String createSignature(CharSequence base, byte[] privateKey, String algorithm) {
+		
+		Digester digester = Util.getDigester(algorithm);
+		digester.update(base);
+		digester.digest.update(privateKey);
+		return Util.toHexString(digester.digest.digest());
 	}
 	
 	/**
@@ -258,15 +379,9 @@ public final class Util {
 	 */
 	public static final String hashSHA1(String message) {
 
-		try {
-			
-			return Util.toHexString(MessageDigest.getInstance("SHA-1").digest(message.getBytes("UTF-8")));
-			
-		} catch(UnsupportedEncodingException | NoSuchAlgorithmException exception) {
-			
-			// SHOULD NEVER HAPPEN
-			throw new RuntimeException(exception);
-		}
+		Digester digester = Util.getDigester("SHA-1");
+		digester.update(message);
+		return Util.toHexString(digester.digest.digest());
 	}
 	
 	/**
@@ -277,47 +392,208 @@ public final class Util {
 	 */
 	public static final String getQueryString(Map<String, ?> params) {
 
-		try {
+		return Util.appendQueryString(new StringBuilder().append('?'), params).toString();
+	}
+	
+	/**
+	 * Appends parameters to a query string. Every parameter is separated with a {@code &} from what is already in the builder,
+	 * unless the builder is empty or ends with {@code ?}.
+	 * @param builder the builder
+	 * @param params the parameters
+	 * @return the builder
+	 * @since 1.1.0
+	 */
+	public static final StringBuilder appendQueryString(StringBuilder builder, Map<String, ?> params) {
+		
+		for(Map.Entry<String, ?> entry : params.entrySet()) {
+			
+			Util.appendParam(builder, entry.getKey(), entry.getValue());
+		}
+		
+		return builder;
+	}
+	
+	/**
+	 * Appends a parameter to a query string. Lists and arrays are joined with commas,
+	 * unless the name ends with {@code []}, in which case the parameter is repeated for every element the way PHP expects it.
+	 * @param builder the builder
+	 * @param name the name of the parameter
+	 * @param value the value of the parameter
+	 * @return the builder
+	 * @see #appendQueryString(StringBuilder, Map)
+	 * @since 1.1.0
+	 */
+	public static final StringBuilder appendParam(StringBuilder builder, String name, Object value) {
+		
+		if(builder.length() > 0 && builder.charAt(builder.length() - 1) != '?') {
+			
+			builder.append('&');
+		}
+		
+		int nameStart = builder.length();
+		Util.appendEncoded(builder, name);
+		int nameEnd = builder.length();
+		builder.append('=');
+		
+		if(value instanceof List) {
+			
+			List<?> list = (List<?>)value;
+			
+			for(int index = 0; index < list.size(); index++) {
+				
+				Util.appendSeparator(builder, name, nameStart, nameEnd, index);
+				Util.appendValue(builder, list.get(index));
+			}
+			
+		} else if(value instanceof long[]) {
+			
+			long[] array = (long[])value;
+			
+			for(int index = 0; index < array.length; index++) {
+				
+				Util.appendSeparator(builder, name, nameStart, nameEnd, index);
+				builder.append(array[index]);
+			}
+			
+		} else if(value instanceof int[]) {
+			
+			int[] array = (int[])value;
+			
+			for(int index = 0; index < array.length; index++) {
+				
+				Util.appendSeparator(builder, name, nameStart, nameEnd, index);
+				builder.append(array[index]);
+			}
+			
+		} else if(value != null && value.getClass().isArray()) {
+			
+			for(int index = 0; index < Array.getLength(value); index++) {
+				
+				Util.appendSeparator(builder, name, nameStart, nameEnd, index);
+				Util.appendValue(builder, Array.get(value, index));
+			}
+			
+		} else {
+			
+			Util.appendValue(builder, value);
+		}
+		
+		return builder;
+	}
+	
+	private static final void appendSeparator(StringBuilder builder, String name, int nameStart, int nameEnd, int index) {
+		
+		if(index > 0) {
+			
+			if(name.endsWith("[]")) {
+				
+				// PHP style array parameter: the key is repeated for every element
+				builder.append('&');
+				builder.append(builder, nameStart, nameEnd);
+				builder.append('=');
+				
+			} else {
+				
+				builder.append(',');
+			}
+		}
+	}
+	
+	private static final void appendValue(StringBuilder builder, Object value) {
+		
+		// digits and the minus sign never have to be escaped
+		if(value instanceof Long || value instanceof Integer) {
+			
+			builder.append(((Number)value).longValue());
+			
+		} else {
+			
+			Util.appendEncoded(builder, String.valueOf(value));
+		}
+	}
+	
+	/**
+	 * Appends a text in the {@code application/x-www-form-urlencoded} format, exactly like {@link URLEncoder#encode(String, String)}
+	 * with UTF-8 does it, but without creating any intermediate strings or arrays.
+	 * @param builder the builder
+	 * @param text the text
+	 * @return the builder
+	 * @since 1.1.0
+	 */
+	public static final StringBuilder appendEncoded(StringBuilder builder, CharSequence text) {
+		
+		int length = text.length();
+		
+		for(int index = 0; index < length; index++) {
+			
+			char character = text.charAt(index);
 			
-			StringBuilder result = new StringBuilder().append('?');
-			boolean first = true;
+			if((character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || (character >= '0' && character <= '9') ||
+			   character == '.' || character == '-' || character == '*' || character == '_') {
 				
-			for(Map.Entry<String, ?> entry : params.entrySet()) {
+				builder.append(character);
+				
+			} else if(character == ' ') {
+				
+				builder.append('+');
+				
+			} else {
+				
+				int codePoint = Util.codePointAt(text, index);
+				
+				if(codePoint > 0xFFFF) {
 					
-				if(first) first = false; else result.append('&');
-				result.append(URLEncoder.encode(entry.getKey().toString(), "UTF-8")).append('=');
-				boolean firstElement = true;
-				Object value = entry.getValue();
+					index++;
+				}
+				
+				if(codePoint < 0x80) {
+					
+					Util.appendEscaped(builder, codePoint);
+					
+				} else if(codePoint < 0x800) {
+					
+					Util.appendEscaped(builder, 0xC0 | (codePoint >> 6));
+					Util.appendEscaped(builder, 0x80 | (codePoint & 0x3F));
+					
+				} else if(codePoint < 0x10000) {
+					
+					Util.appendEscaped(builder, 0xE0 | (codePoint >> 12));
+					Util.appendEscaped(builder, 0x80 | ((codePoint >> 6) & 0x3F));
+					Util.appendEscaped(builder, 0x80 | (codePoint & 0x3F));
 					
-				if(value instanceof List) {
-						
-					for(Object element : (List<?>)value) {
-							
-						if(firstElement) firstElement = false; else result.append(',');
-						result.append(URLEncoder.encode(element.toString(), "UTF-8"));
-					}
-						
-				} else if(value != null && value.getClass().isArray()) {
-						
-					for(int index = 0; index < Array.getLength(entry.getValue()); index++) {
-							
-						if(firstElement) firstElement = false; else result.append(',');
-						result.append(URLEncoder.encode(Array.get(value, index).toString(), "UTF-8"));
-					}
-						
 				} else {
-
-					result.append(URLEncoder.encode(String.valueOf(value), "UTF-8"));
+					
+					Util.appendEscaped(builder, 0xF0 | (codePoint >> 18));
+					Util.appendEscaped(builder, 0x80 | ((codePoint >> 12) & 0x3F));
+					Util.appendEscaped(builder, 0x80 | ((codePoint >> 6) & 0x3F));
+					Util.appendEscaped(builder, 0x80 | (codePoint & 0x3F));
 				}
 			}
-				
-			return result.toString();
-			
-		} catch(UnsupportedEncodingException exception) {
+		}
+		
+		return builder;
+	}
+	
+	private static final void appendEscaped(StringBuilder builder, int octet) {
+		
+		builder.append('%');
+		builder.append(UPPER_HEX[octet >> 4]);
+		builder.append(UPPER_HEX[octet & 0xF]);
+	}
+	
+	/*
+	 * Like Character.codePointAt, but a surrogate without its partner becomes a question mark, just like the UTF-8 encoder of the JDK replaces it.
+	 */
+	private static final int codePointAt(CharSequence text, int index) {
+		
+		char character = text.charAt(index);
+		
+		if(Character.isHighSurrogate(character) && index + 1 < text.length() && Character.isLowSurrogate(text.charAt(index + 1))) {
 			
-			// SHOULD NEVER HAPPEN!
-			throw new RuntimeException(exception);
+			return Character.toCodePoint(character, text.charAt(index + 1));
 		}
+		
+		return Character.isSurrogate(character) ? '?' : character;
 	}
 	
 	/**
@@ -328,13 +604,93 @@ public final class Util {
 	 */
 	public static final String toHexString(byte[] binary) {
 		
-		StringBuilder hexBuilder = new StringBuilder();
+		char[] hex = new char[binary.length * 2];
 		
-		for(byte b : binary) {
+		for(int index = 0; index < binary.length; index++) {
 			
-			hexBuilder.append(Integer.toString((b & 0xFF) + 0x100, 16).substring(1));
+			hex[index * 2] = LOWER_HEX[(binary[index] >> 4) & 0xF];
+			hex[index * 2 + 1] = LOWER_HEX[binary[index] & 0xF];
 		}
 		
-		return hexBuilder.toString();
+		return new String(hex);
+	}
+	
+	/*
+	 * Looking up a digest with MessageDigest.getInstance asks every security provider, so every thread keeps one per algorithm.
+	 */
+	private static final Digester getDigester(String algorithm) {
+		
+		return DIGESTERS.get().computeIfAbsent(algorithm, Digester::new);
+	}
+	
+	/*
+	 * A per thread digest together with a small buffer the characters are encoded into before they are hashed.
+	 */
+	private static final class Digester {
+		
+		private final MessageDigest digest;
+		private final byte[] buffer = new byte[1024];
+		private int length;
+		
+		private Digester(String algorithm) {
+			
+			try {
+				
+				this.digest = MessageDigest.getInstance(algorithm);
+				
+			} catch(NoSuchAlgorithmException exception) {
+				
+				// SHOULD NEVER HAPPEN
+				throw new RuntimeException(exception);
+			}
+		}
+		
+		private final void update(CharSequence text) {
+			
+			int length = text.length();
+			
+			for(int index = 0; index < length; index++) {
+				
+				// leaves room for the longest UTF-8 sequence
+				if(this.length > this.buffer.length - 4) {
+					
+					this.flush();
+				}
+				
+				int codePoint = Util.codePointAt(text, index);
+				
+				if(codePoint < 0x80) {
+					
+					this.buffer[this.length++] = (byte)codePoint;
+					
+				} else if(codePoint < 0x800) {
+					
+					this.buffer[this.length++] = (byte)(0xC0 | (codePoint >> 6));
+					this.buffer[this.length++] = (byte)(0x80 | (codePoint & 0x3F));
+					
+				} else if(codePoint < 0x10000) {
+					
+					this.buffer[this.length++] = (byte)(0xE0 | (codePoint >> 12));
+					this.buffer[this.length++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+					this.buffer[this.length++] = (byte)(0x80 | (codePoint & 0x3F));
+					
+				} else {
+					
+					this.buffer[this.length++] = (byte)(0xF0 | (codePoint >> 18));
+					this.buffer[this.length++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+					this.buffer[this.length++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+					this.buffer[this.length++] = (byte)(0x80 | (codePoint & 0x3F));
+					index++;
+				}
+			}
+			
+			this.flush();
+		}
+		
+		private final void flush() {
+			
+			this.digest.update(this.buffer, 0, this.length);
+			this.length = 0;
+		}
 	}
 }
@@ -1,6 +1,7 @@
 module de.ralleytn.api.gamejolt {
 	
 	requires transitive de.ralleytn.simple.json;
+	requires transitive java.net.http;
 	
 	exports de.ralleytn.api.gamejolt;
 }
\ No newline at end of file
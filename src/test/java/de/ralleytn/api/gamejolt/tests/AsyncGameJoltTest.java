@@ -0,0 +1,115 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.AsyncGameJolt;
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltTrophy;
+import de.ralleytn.api.gamejolt.GameJoltUser;
+
+class AsyncGameJoltTest {
+
+	@Test
+	void testTrophies() throws InterruptedException, ExecutionException {
+		
+		MockTransport transport = new MockTransport(url -> "{\"success\":\"true\",\"trophies\":[{\"id\":\"1\",\"difficulty\":\"Gold\"},{\"id\":\"2\",\"difficulty\":\"Bronze\"}]}");
+		AsyncGameJolt api = new AsyncGameJolt(new GameJolt(1, "key", transport));
+		List<GameJoltTrophy> trophies = api.getTrophiesAsync().get();
+		
+		assertEquals(2, trophies.size());
+		assertEquals(GameJoltTrophy.Difficulty.GOLD, trophies.get(0).getDifficulty());
+		assertEquals(2L, (long)trophies.get(1).getId());
+	}
+	
+	@Test
+	void testFailure() {
+		
+		MockTransport transport = new MockTransport(url -> "{\"success\":\"false\",\"message\":\"No such trophy\"}");
+		AsyncGameJolt api = new AsyncGameJolt(new GameJolt(1, "key", transport));
+		CompletableFuture<Void> future = api.achieveTrophyAsync(1);
+		
+		ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+		assertTrue(exception.getCause() instanceof GameJoltException);
+	}
+	
+	@Test
+	void testSharedReads() throws InterruptedException, ExecutionException {
+		
+		CountDownLatch release = new CountDownLatch(1);
+		MockTransport transport = new MockTransport(url -> {
+			
+			try {
+				
+				release.await();
+				
+			} catch(InterruptedException exception) {
+				
+				Thread.currentThread().interrupt();
+			}
+			
+			return "{\"success\":\"true\",\"users\":[{\"id\":\"7\"}]}";
+		});
+		AsyncGameJolt api = new AsyncGameJolt(new GameJolt(1, "key", transport));
+		List<CompletableFuture<List<GameJoltUser>>> futures = new ArrayList<>();
+		
+		for(int index = 0; index < 5; index++) {
+			
+			futures.add(api.getUsersAsync(new long[] {7}));
+		}
+		
+		release.countDown();
+		
+		for(CompletableFuture<List<GameJoltUser>> future : futures) {
+			
+			assertEquals(7L, (long)future.get().get(0).getId());
+		}
+		
+		assertEquals(1, transport.getRequests().size());
+		assertNotSame(futures.get(0).get(), futures.get(1).get());
+		
+		// every caller gets objects of its own, so refetching them doesn't change the ones of the others
+		for(int index = 1; index < futures.size(); index++) {
+			
+			assertNotSame(futures.get(0).get().get(0), futures.get(index).get().get(0));
+		}
+		
+		api.getUsersAsync(new long[] {7}).get();
+		assertEquals(2, transport.getRequests().size());
+	}
+	
+	@Test
+	void testUserLoading() throws InterruptedException, ExecutionException {
+		
+		MockTransport transport = new MockTransport(url -> "{\"success\":\"true\",\"users\":[{\"id\":\"1\"},{\"id\":\"2\"}]}");
+		GameJolt gj = new GameJolt(1, "key", transport);
+		gj.enableUserLoading(50, TimeUnit.MILLISECONDS, 10);
+		AsyncGameJolt api = new AsyncGameJolt(gj);
+		CompletableFuture<GameJoltUser> first = api.getUserAsync(1);
+		CompletableFuture<GameJoltUser> second = api.getUserAsync(2);
+		CompletableFuture<GameJoltUser> again = api.getUserAsync(1);
+		CompletableFuture<GameJoltUser> missing = api.getUserAsync(3);
+		
+		assertEquals(1L, (long)first.get().getId());
+		assertEquals(2L, (long)second.get().getId());
+		assertEquals(first.get(), again.get());
+		
+		ExecutionException exception = assertThrows(ExecutionException.class, missing::get);
+		assertTrue(exception.getCause() instanceof GameJoltException);
+		assertEquals(1, transport.getRequests().size());
+		assertTrue(transport.getRequests().get(0).contains("user_id=1,2,3"));
+		gj.disableUserLoading();
+	}
+}
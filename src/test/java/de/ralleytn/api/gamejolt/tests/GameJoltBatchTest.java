@@ -0,0 +1,133 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltBatch;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltBatchTest {
+
+	private static final String respond(int count, int failAt) {
+		
+		StringBuilder builder = new StringBuilder("{\"success\":\"true\",\"responses\":[");
+		
+		for(int index = 0; index < count; index++) {
+			
+			if(index > 0) builder.append(',');
+			builder.append(index == failAt ? "{\"success\":\"false\",\"message\":\"failed\"}" : "{\"success\":\"true\",\"data\":\"" + index + "\"}");
+		}
+		
+		return builder.append("]}").toString();
+	}
+	
+	@Test
+	void testBatch() throws IOException, GameJoltException, JSONParseException, InterruptedException, ExecutionException {
+		
+		MockTransport transport = new MockTransport(url -> respond(3, 1));
+		GameJolt api = new GameJolt(1, "key", transport);
+		GameJoltBatch batch = api.createBatch();
+		CompletableFuture<String> first = batch.get(api.getGlobalDataStorage(), "a");
+		CompletableFuture<Void> second = batch.achieveTrophy(5);
+		CompletableFuture<String> third = batch.get(api.getGlobalDataStorage(), "c");
+		batch.execute();
+		
+		assertEquals("0", first.get());
+		assertThrows(ExecutionException.class, second::get);
+		assertEquals("2", third.get());
+		assertEquals(0, batch.size());
+		
+		String request = transport.getRequests().get(0);
+		assertEquals(1, transport.getRequests().size());
+		assertTrue(request.startsWith("https://gamejolt.com/api/game/v1_2/batch?"));
+		assertTrue(request.contains("#requests%5B%5D=%2Fdata-store%3F"));
+		assertTrue(request.contains("&requests%5B%5D=%2Ftrophies%2Fadd-achieved%3F"));
+	}
+	
+	@Test
+	void testRejectedBatch() {
+		
+		MockTransport transport = new MockTransport(url -> "{\"success\":\"false\",\"message\":\"The signature you entered for the request is invalid.\"}");
+		GameJolt api = new GameJolt(1, "key", transport);
+		GameJoltBatch batch = api.createBatch();
+		CompletableFuture<String> first = batch.get(api.getGlobalDataStorage(), "a");
+		
+		assertThrows(GameJoltException.class, batch::execute);
+		assertTrue(first.isCompletedExceptionally());
+		
+		CompletableFuture<String> second = batch.get(api.getGlobalDataStorage(), "b");
+		CompletableFuture<Void> executed = batch.executeAsync();
+		
+		assertTrue(assertThrows(ExecutionException.class, executed::get).getCause() instanceof GameJoltException);
+		assertTrue(second.isCompletedExceptionally());
+	}
+	
+	@Test
+	void testAutoBatching() throws InterruptedException, ExecutionException {
+		
+		MockTransport transport = new MockTransport(request -> respond(request.split("requests%5B%5D=").length - 1, -1));
+		GameJolt api = new GameJolt(1, "key", transport);
+		api.enableAutoBatching(200, TimeUnit.MILLISECONDS, 5);
+		List<Callable<Void>> tasks = new ArrayList<>();
+		
+		for(int index = 0; index < 7; index++) {
+			
+			long trophy = index;
+			tasks.add(() -> {
+				
+				api.achieveTrophy(trophy);
+				return null;
+			});
+		}
+		
+		for(Future<Void> future : api.invokeAll(tasks)) {
+			
+			future.get();
+		}
+		
+		api.disableAutoBatching();
+		assertEquals(2, transport.getRequests().size());
+	}
+	
+	@Test
+	void testChunks() throws IOException, GameJoltException, JSONParseException, InterruptedException, ExecutionException {
+		
+		MockTransport transport = new MockTransport(url -> respond(GameJoltBatch.MAX_REQUESTS, -1));
+		GameJolt api = new GameJolt(1, "key", transport);
+		GameJoltBatch batch = api.createBatch().setBreakOnError(true);
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		
+		for(int index = 0; index < GameJoltBatch.MAX_REQUESTS + 1; index++) {
+			
+			futures.add(batch.achieveTrophy(index));
+		}
+		
+		batch.execute();
+		
+		assertEquals(2, transport.getRequests().size());
+		assertTrue(transport.getRequests().get(0).contains("break_on_error=true"));
+		
+		for(CompletableFuture<Void> future : futures) {
+			
+			assertTrue(future.isDone());
+		}
+		
+		// the mock answers the second call with 50 responses although it only contained one request
+		futures.get(GameJoltBatch.MAX_REQUESTS).get();
+		assertThrows(IllegalStateException.class, () -> batch.setParallel(true));
+	}
+}
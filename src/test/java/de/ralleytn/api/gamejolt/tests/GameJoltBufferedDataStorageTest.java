@@ -0,0 +1,165 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltBufferedDataStorage;
+import de.ralleytn.api.gamejolt.GameJoltDataStorage.Operation;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltBufferedDataStorageTest {
+
+	private static MockTransport createTransport() {
+		
+		return new MockTransport(request -> {
+			
+			StringBuilder builder = new StringBuilder("{\"success\":\"true\",\"responses\":[");
+			int count = request.split("requests%5B%5D=").length - 1;
+			
+			for(int index = 0; index < count; index++) {
+				
+				if(index > 0) builder.append(',');
+				builder.append("{\"success\":\"true\",\"data\":\"0\"}");
+			}
+			
+			return builder.append("]}").toString();
+		});
+	}
+	
+	@Test
+	void testFolding() throws IOException, GameJoltException, JSONParseException {
+		
+		MockTransport transport = createTransport();
+		GameJolt gj = new GameJolt(1, "key", transport);
+		
+		try(GameJoltBufferedDataStorage storage = new GameJoltBufferedDataStorage(gj.getGlobalDataStorage())) {
+			
+			storage.set("a", "5");
+			storage.update("a", "3", Operation.ADD);
+			storage.update("b", "2", Operation.ADD);
+			storage.update("b", "5", Operation.SUBTRACT);
+			storage.update("b", "2", Operation.MULTIPLY);
+			storage.remove("c");
+			storage.set("c", "x");
+			
+			assertEquals("8", storage.get("a"));
+			assertEquals(3, storage.getDirtyKeyCount());
+			assertEquals(0, transport.getRequests().size());
+			
+			storage.flush();
+			
+			String request = transport.getRequests().get(0);
+			assertEquals(1, transport.getRequests().size());
+			assertEquals(4, request.split("requests%5B%5D=").length - 1);
+			assertTrue(request.contains("data%3D8"));
+			assertTrue(request.contains("operation%3Dsubtract"));
+			assertTrue(request.contains("value%3D3"));
+			assertEquals(0, storage.getDirtyKeyCount());
+		}
+	}
+	
+	@Test
+	void testJournal() throws IOException, GameJoltException, JSONParseException {
+		
+		Path journal = Files.createTempFile("gamejolt", ".journal");
+		
+		try {
+			
+			MockTransport transport = createTransport();
+			transport.setStatus(500);
+			GameJolt gj = new GameJolt(1, "key", transport);
+			GameJoltBufferedDataStorage storage = new GameJoltBufferedDataStorage(gj.getGlobalDataStorage(), journal);
+			storage.set("progress", "level 2");
+			storage.update("coins", "10", Operation.ADD);
+			assertThrows(GameJoltException.class, storage::flush);
+			assertEquals(2, storage.getDirtyKeyCount());
+			
+			// as if the process died and was started again
+			GameJoltBufferedDataStorage restored = new GameJoltBufferedDataStorage(gj.getGlobalDataStorage(), journal);
+			assertEquals(2, restored.getDirtyKeyCount());
+			assertEquals("level 2", restored.get("progress"));
+			
+			transport.setStatus(200);
+			restored.close();
+			assertEquals(0, restored.getDirtyKeyCount());
+			assertEquals(0, Files.size(journal));
+			
+		} finally {
+			
+			Files.deleteIfExists(journal);
+		}
+	}
+	
+	@Test
+	void testTornJournal() throws IOException, GameJoltException, JSONParseException {
+		
+		Path journal = Files.createTempFile("gamejolt", ".journal");
+		
+		try {
+			
+			MockTransport transport = createTransport();
+			transport.setStatus(500);
+			GameJolt gj = new GameJolt(1, "key", transport);
+			GameJoltBufferedDataStorage storage = new GameJoltBufferedDataStorage(gj.getGlobalDataStorage(), journal);
+			storage.set("name", "");
+			storage.set("progress", "level 12");
+			
+			// the process died while the last line was written
+			byte[] content = Files.readAllBytes(journal);
+			Files.write(journal, Arrays.copyOf(content, content.length - 3));
+			
+			GameJoltBufferedDataStorage restored = new GameJoltBufferedDataStorage(gj.getGlobalDataStorage(), journal);
+			assertEquals(1, restored.getDirtyKeyCount());
+			assertEquals("", restored.get("name"));
+			
+			transport.setStatus(200);
+			restored.close();
+			assertThrows(IllegalStateException.class, () -> restored.set("name", "x"));
+			
+		} finally {
+			
+			Files.deleteIfExists(journal);
+		}
+	}
+	
+	@Test
+	void testRejectedBatch() throws IOException, GameJoltException, JSONParseException {
+		
+		Path journal = Files.createTempFile("gamejolt", ".journal");
+		
+		try {
+			
+			String[] response = {"{\"success\":\"false\",\"message\":\"The signature you entered for the request is invalid.\"}"};
+			MockTransport transport = new MockTransport(request -> response[0]);
+			GameJolt gj = new GameJolt(1, "key", transport);
+			GameJoltBufferedDataStorage storage = new GameJoltBufferedDataStorage(gj.getGlobalDataStorage(), journal);
+			storage.set("progress", "level 2");
+			storage.update("coins", "10", Operation.ADD);
+			
+			// the whole batch was rejected, so no write was processed and all of them are kept
+			assertThrows(GameJoltException.class, storage::flush);
+			assertEquals(2, storage.getDirtyKeyCount());
+			assertEquals(2, new GameJoltBufferedDataStorage(gj.getGlobalDataStorage(), journal).getDirtyKeyCount());
+			
+			// the first write was rejected on its own and the batch stopped there, so only the second one is kept
+			response[0] = "{\"success\":\"false\",\"responses\":[{\"success\":\"false\",\"message\":\"failed\"}]}";
+			assertThrows(GameJoltException.class, storage::flush);
+			assertEquals(1, storage.getDirtyKeyCount());
+			assertEquals(1, new GameJoltBufferedDataStorage(gj.getGlobalDataStorage(), journal).getDirtyKeyCount());
+			
+		} finally {
+			
+			Files.deleteIfExists(journal);
+		}
+	}
+}
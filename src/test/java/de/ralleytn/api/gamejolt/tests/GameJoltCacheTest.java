@@ -0,0 +1,88 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.AsyncGameJolt;
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltCache;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltTrophy;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltCacheTest {
+
+	private static MockTransport createTransport() {
+		
+		AtomicInteger version = new AtomicInteger();
+		return new MockTransport(url -> url.contains("/trophies/add-achieved") ? "{\"success\":\"true\"}" : "{\"success\":\"true\",\"trophies\":[{\"id\":\"1\",\"title\":\"v" + version.incrementAndGet() + "\"}],\"users\":[{\"id\":\"2\"}]}");
+	}
+	
+	@Test
+	void testReadThrough() throws IOException, JSONParseException, GameJoltException, InterruptedException, ExecutionException {
+		
+		MockTransport transport = createTransport();
+		GameJolt gj = new GameJolt(1, "key", transport);
+		GameJoltCache cache = new GameJoltCache();
+		gj.setCache(cache);
+		
+		List<GameJoltTrophy> trophies = gj.getTrophies();
+		List<GameJoltTrophy> cached = gj.getTrophies();
+		assertNotSame(trophies, cached);
+		assertNotSame(trophies.get(0), cached.get(0));
+		assertEquals("v1", cached.get(0).getTitle());
+		assertEquals("v1", new AsyncGameJolt(gj).getTrophiesAsync().get().get(0).getTitle());
+		
+		// every caller gets a list of its own
+		cached.clear();
+		assertEquals(1, gj.getTrophies().size());
+		assertEquals(1, transport.getRequests().size());
+		assertEquals(3, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		
+		// a refetch only changes the object of the caller
+		trophies.get(0).refetch();
+		assertEquals("v2", trophies.get(0).getTitle());
+		assertEquals("v1", gj.getTrophies().get(0).getTitle());
+		assertEquals(2, transport.getRequests().size());
+		
+		gj.achieveTrophy(1);
+		assertEquals("v3", gj.getTrophies().get(0).getTitle());
+		assertEquals(4, transport.getRequests().size());
+		
+		cache.setTimeToLive("/users", 0, TimeUnit.SECONDS);
+		gj.getUser(2);
+		gj.getUser(2);
+		assertEquals(6, transport.getRequests().size());
+	}
+	
+	@Test
+	void testEviction() throws IOException, JSONParseException, GameJoltException {
+		
+		MockTransport transport = createTransport();
+		GameJolt gj = new GameJolt(1, "key", transport);
+		GameJoltCache cache = new GameJoltCache(2);
+		gj.setCache(cache);
+		
+		gj.getUser(1);
+		gj.getUser(2);
+		gj.getUser(1);
+		gj.getUser(3);
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		
+		gj.getUser(1);
+		assertEquals(3, transport.getRequests().size());
+		
+		cache.invalidate("/users");
+		assertEquals(0, cache.size());
+	}
+}
@@ -0,0 +1,158 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.AsyncGameJolt;
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltConfig;
+import de.ralleytn.api.gamejolt.GameJoltConfig.EndpointGroup;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltRetryPolicy;
+import de.ralleytn.api.gamejolt.GameJoltTransport;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltConfigTest {
+
+	private static final String RESPONSE = "{\"response\":{\"success\":\"true\",\"timestamp\":1500000000,\"scores\":[]}}";
+	
+	/*
+	 * Records the timeouts of every call. Fails every call after a short delay if {@code failing} is {@code true}
+	 * and never answers asynchronous calls.
+	 */
+	private static final class TimeoutTransport implements GameJoltTransport {
+		
+		private final List<long[]> timeouts = new CopyOnWriteArrayList<>();
+		private final boolean failing;
+		
+		private TimeoutTransport(boolean failing) {
+			
+			this.failing = failing;
+		}
+		
+		@Override
+		public Response execute(String method, String url, String body) throws IOException {
+			
+			return this.execute(method, url, body, 0, 0);
+		}
+		
+		@Override
+		public Response execute(String method, String url, String body, long connectTimeout, long readTimeout) throws IOException {
+			
+			this.timeouts.add(new long[] {connectTimeout, readTimeout});
+			
+			if(this.failing) {
+				
+				try {
+					
+					Thread.sleep(Math.min(readTimeout, 20));
+					
+				} catch(InterruptedException exception) {
+					
+					Thread.currentThread().interrupt();
+				}
+				
+				throw new IOException("Connection reset");
+			}
+			
+			return new Response(200, "OK", new ByteArrayInputStream(RESPONSE.getBytes(StandardCharsets.UTF_8)));
+		}
+		
+		@Override
+		public CompletableFuture<Response> executeAsync(String method, String url, String body, long connectTimeout, long readTimeout, Executor executor) {
+			
+			this.timeouts.add(new long[] {connectTimeout, readTimeout});
+			return new CompletableFuture<>();
+		}
+	}
+	
+	@Test
+	void testEndpointGroups() {
+		
+		assertEquals(EndpointGroup.SESSIONS, EndpointGroup.of("/sessions/ping"));
+		assertEquals(EndpointGroup.DATA_STORE, EndpointGroup.of("/data-store"));
+		assertEquals(EndpointGroup.DATA_STORE, EndpointGroup.of("/data-store/get-keys"));
+		assertEquals(EndpointGroup.SCORES, EndpointGroup.of("/scores"));
+		assertEquals(EndpointGroup.TIME, EndpointGroup.of("/get-time"));
+		assertEquals(EndpointGroup.BATCH, EndpointGroup.of("/batch"));
+		assertEquals(EndpointGroup.OTHER, EndpointGroup.of("/scoreboard"));
+	}
+	
+	@Test
+	void testTimeouts() throws IOException, GameJoltException, JSONParseException {
+		
+		TimeoutTransport transport = new TimeoutTransport(false);
+		GameJolt gj = new GameJolt(1, "key", transport);
+		GameJoltConfig config = gj.getConfig();
+		config.setTimeouts(EndpointGroup.TIME, 1, 2, TimeUnit.SECONDS);
+		
+		gj.getServerTime();
+		gj.getScores(5);
+		
+		assertEquals(1000, transport.timeouts.get(0)[0]);
+		assertEquals(2000, transport.timeouts.get(0)[1]);
+		assertEquals(GameJoltConfig.DEFAULT_CONNECT_TIMEOUT, transport.timeouts.get(1)[0]);
+		assertEquals(GameJoltConfig.DEFAULT_READ_TIMEOUT, transport.timeouts.get(1)[1]);
+		assertEquals(2, config.getReadTimeout(EndpointGroup.TIME, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	void testDeadline() {
+		
+		TimeoutTransport transport = new TimeoutTransport(true);
+		GameJolt gj = new GameJolt(1, "key", transport);
+		GameJoltRetryPolicy policy = new GameJoltRetryPolicy();
+		policy.setMaxAttempts(1000);
+		policy.setBackoff(1, 1, TimeUnit.MILLISECONDS);
+		policy.setRetryBudget(1, 1000);
+		policy.setCircuitBreaker(1000, 1, TimeUnit.MINUTES);
+		gj.setRetryPolicy(policy);
+		gj.getConfig().setDeadline(EndpointGroup.TIME, 300, TimeUnit.MILLISECONDS);
+		
+		long start = System.nanoTime();
+		assertThrows(IOException.class, gj::getServerTime);
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		
+		// the retries stop at the deadline, and every attempt only gets the time that is left
+		assertTrue(elapsed >= 250 && elapsed < 1000, "took " + elapsed + " ms");
+		assertTrue(transport.timeouts.size() > 1);
+		
+		for(long[] timeouts : transport.timeouts) {
+			
+			assertTrue(timeouts[0] <= 300 && timeouts[1] <= 300);
+		}
+	}
+	
+	@Test
+	void testAsyncDeadline() {
+		
+		TimeoutTransport transport = new TimeoutTransport(false);
+		GameJolt gj = new GameJolt(1, "key", transport);
+		GameJoltRetryPolicy policy = new GameJoltRetryPolicy();
+		policy.setCircuitBreaker(1, 1, TimeUnit.MINUTES);
+		gj.setRetryPolicy(policy);
+		gj.getConfig().setDeadline(100, TimeUnit.MILLISECONDS);
+		
+		// the transport never answers, so the call has to be abandoned
+		CompletionException exception = assertThrows(CompletionException.class, new AsyncGameJolt(gj).getServerTimeAsync()::join);
+		assertTrue(exception.getCause() instanceof SocketTimeoutException);
+		
+		// running out of time isn't counted by the circuit
+		assertFalse(policy.isCircuitOpen("/get-time"));
+	}
+}
@@ -0,0 +1,237 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.AsyncGameJolt;
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltDataStorage;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltDataStorageTest {
+
+	@Test
+	void testMirror() throws IOException, GameJoltException, JSONParseException {
+		
+		MockTransport transport = new MockTransport(request -> {
+			
+			if(request.contains("/data-store/get-keys")) {
+				
+				return "{\"success\":\"true\",\"keys\":[{\"key\":\"save_1\"},{\"key\":\"save_2\"}]}";
+				
+			} else if(request.contains("/batch")) {
+				
+				return "{\"success\":\"true\",\"responses\":[{\"success\":\"true\",\"data\":\"first\"},{\"success\":\"true\",\"data\":\"second\"}]}";
+			}
+			
+			return "{\"success\":\"true\",\"data\":\"server\"}";
+		});
+		GameJoltDataStorage storage = new GameJolt(1, "key", transport).getGlobalDataStorage();
+		storage.enableMirroring("save_*");
+		
+		assertTrue(storage.isMirroring());
+		assertEquals(2, transport.getRequests().size());
+		assertTrue(transport.getRequests().get(1).contains("parallel=true"));
+		assertEquals("first", storage.get("save_1"));
+		assertEquals("second", storage.get("save_2"));
+		assertEquals(2, transport.getRequests().size());
+		
+		storage.set("save_1", "changed");
+		assertEquals("changed", storage.get("save_1"));
+		storage.remove("save_2");
+		assertEquals(4, transport.getRequests().size());
+		assertEquals("server", storage.get("save_2"));
+		assertEquals("server", storage.get("other"));
+		assertEquals(6, transport.getRequests().size());
+		
+		storage.refresh();
+		assertEquals(8, transport.getRequests().size());
+		storage.disableMirroring();
+		storage.get("save_1");
+		assertEquals(9, transport.getRequests().size());
+	}
+	
+	@Test
+	void testMirrorOwner() throws IOException, GameJoltException, JSONParseException {
+		
+		MockTransport transport = new MockTransport(request -> {
+			
+			String user = request.contains("alice") ? "alice" : "bob";
+			
+			if(request.contains("/data-store/get-keys")) {
+				
+				return "{\"success\":\"true\",\"keys\":[{\"key\":\"save\"}]}";
+				
+			} else if(request.contains("/batch")) {
+				
+				return "{\"success\":\"true\",\"responses\":[{\"success\":\"true\",\"data\":\"" + user + "\"}]}";
+			}
+			
+			return "{\"success\":\"true\",\"data\":\"" + user + "\"}";
+		});
+		GameJolt gj = new GameJolt(1, "key", transport);
+		GameJoltDataStorage storage = gj.getUserDataStorage();
+		gj.login("alice", "token");
+		storage.enableMirroring(null);
+		
+		assertTrue(storage.isMirroring());
+		assertEquals("alice", storage.get("save"));
+		
+		gj.logout();
+		gj.login("bob", "token");
+		
+		assertFalse(storage.isMirroring());
+		assertEquals("bob", storage.get("save"));
+	}
+	
+	@Test
+	void testWriteDuringRefresh() throws IOException, GameJoltException, JSONParseException {
+		
+		GameJoltDataStorage[] storage = new GameJoltDataStorage[1];
+		MockTransport transport = new MockTransport(request -> {
+			
+			if(request.contains("/data-store/get-keys")) {
+				
+				return "{\"success\":\"true\",\"keys\":[{\"key\":\"save\"}]}";
+				
+			} else if(request.contains("/batch")) {
+				
+				// the entry is changed after the server answered the snapshot read
+				try {
+					
+					storage[0].set("save", "new");
+					
+				} catch(IOException | GameJoltException | JSONParseException exception) {
+					
+					throw new RuntimeException(exception);
+				}
+				
+				return "{\"success\":\"true\",\"responses\":[{\"success\":\"true\",\"data\":\"old\"}]}";
+			}
+			
+			return "{\"success\":\"true\"}";
+		});
+		storage[0] = new GameJolt(1, "key", transport).getGlobalDataStorage();
+		storage[0].enableMirroring(null);
+		
+		assertEquals("new", storage[0].get("save"));
+		assertEquals(3, transport.getRequests().size());
+	}
+	
+	@Test
+	void testCodec() throws IOException, GameJoltException, JSONParseException {
+		
+		Map<String, String> entries = new ConcurrentHashMap<>();
+		MockTransport transport = new MockTransport(request -> GameJoltDataStorageTest.handle(entries, request));
+		GameJolt gj = new GameJolt(1, "key", transport);
+		GameJoltDataStorage storage = gj.getGlobalDataStorage();
+		storage.setCompressionThreshold(16);
+		storage.setChunkSize(40);
+		
+		StringBuilder builder = new StringBuilder();
+		Random random = new Random(42);
+		
+		for(int index = 0; index < 500; index++) {
+			
+			builder.append("level ").append(random.nextInt(8)).append(" \u00e4 ");
+		}
+		
+		String value = builder.toString();
+		storage.set("save", value);
+		
+		assertEquals(2, transport.getRequests().size());
+		assertTrue(entries.get("save").startsWith("gjc:"));
+		assertTrue(entries.get("save#0").startsWith("gjz:"));
+		assertTrue(entries.get("save#1").length() <= 40);
+		assertTrue(entries.size() < value.length() / 40);
+		assertEquals(value, storage.get("save"));
+		assertEquals(4, transport.getRequests().size());
+		assertTrue(transport.getRequests().get(3).contains("parallel=true"));
+		assertEquals(value, new AsyncGameJolt(gj).getGlobalDataStorage().getAsync("save").join());
+		
+		storage.set("short", "hello");
+		assertEquals("hello", entries.get("short"));
+		storage.set("marked", "gjz:plain");
+		assertEquals("gjz:plain", storage.get("marked"));
+		assertTrue(entries.get("marked").length() > "gjz:plain".length());
+		
+		storage.remove("save");
+		assertFalse(entries.containsKey("save"));
+		assertFalse(entries.containsKey("save#0"));
+		assertEquals(2, entries.size());
+	}
+	
+	/*
+	 * A tiny data storage server that understands the data store endpoints and batches of them.
+	 */
+	private static final String handle(Map<String, String> entries, String request) {
+		
+		Map<String, List<String>> params = GameJoltDataStorageTest.parse(request.substring(request.indexOf('?') + 1).replace('#', '&'));
+		
+		if(request.contains("/batch")) {
+			
+			StringBuilder responses = new StringBuilder();
+			
+			for(String subRequest : params.get("requests[]")) {
+				
+				if(responses.length() > 0) responses.append(',');
+				responses.append(GameJoltDataStorageTest.handle(entries, subRequest));
+			}
+			
+			return "{\"success\":\"true\",\"responses\":[" + responses + "]}";
+		}
+		
+		String key = params.get("key").get(0);
+		
+		if(request.contains("/data-store/set")) {
+			
+			entries.put(key, params.get("data").get(0));
+			return "{\"success\":\"true\"}";
+			
+		} else if(request.contains("/data-store/remove")) {
+			
+			return "{\"success\":\"" + (entries.remove(key) != null) + "\"}";
+		}
+		
+		String data = entries.get(key);
+		return data != null ? "{\"success\":\"true\",\"data\":\"" + data + "\"}" : "{\"success\":\"false\",\"message\":\"No item with that key could be found.\"}";
+	}
+	
+	private static final Map<String, List<String>> parse(String query) {
+		
+		try {
+			
+			Map<String, List<String>> params = new HashMap<>();
+			
+			for(String pair : query.split("&")) {
+				
+				int separator = pair.indexOf('=');
+				
+				if(separator > 0) {
+					
+					params.computeIfAbsent(URLDecoder.decode(pair.substring(0, separator), "UTF-8"), name -> new ArrayList<>()).add(URLDecoder.decode(pair.substring(separator + 1), "UTF-8"));
+				}
+			}
+			
+			return params;
+			
+		} catch(UnsupportedEncodingException exception) {
+			
+			throw new RuntimeException(exception);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltDataStorage;
+import de.ralleytn.api.gamejolt.GameJoltDiskCache;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltDiskCacheTest {
+
+	@Test
+	void testPersistence() throws IOException {
+		
+		Path file = Files.createTempFile("gamejolt", ".cache");
+		
+		try {
+			
+			try(GameJoltDiskCache cache = new GameJoltDiskCache(file, 1 << 20)) {
+				
+				cache.put("replay", "r\u00e4play data");
+				cache.put("level", "old");
+				cache.put("level", "new");
+				cache.put("gone", "x");
+				cache.invalidate("gone");
+				
+				// every caller gets a copy
+				byte[] data = cache.get("replay");
+				assertEquals("r\u00e4play data", new String(data, StandardCharsets.UTF_8));
+				data[0] = 'x';
+				assertEquals("r\u00e4play data", cache.getString("replay"));
+			}
+			
+			// a record that was only partly written
+			Files.write(file, new byte[] {0x47, 0x4A, 0x44}, StandardOpenOption.APPEND);
+			long size = Files.size(file);
+			
+			try(GameJoltDiskCache cache = new GameJoltDiskCache(file, 1 << 20)) {
+				
+				assertEquals(2, cache.size());
+				assertEquals("new", cache.getString("level"));
+				assertNull(cache.getString("gone"));
+				assertEquals(size - 3, cache.getFileSize());
+			}
+			
+		} finally {
+			
+			Files.deleteIfExists(file);
+		}
+	}
+	
+	@Test
+	void testMaxAge() throws IOException, InterruptedException {
+		
+		Path file = Files.createTempFile("gamejolt", ".cache");
+		
+		try {
+			
+			try(GameJoltDiskCache cache = new GameJoltDiskCache(file, 1 << 20)) {
+				
+				assertEquals(10, cache.getMaxAge(TimeUnit.MINUTES));
+				cache.put("level", "old");
+			}
+			
+			try(GameJoltDiskCache cache = new GameJoltDiskCache(file, 1 << 20)) {
+				
+				assertEquals("old", cache.getString("level"));
+				
+				// the age is kept across runs, so an old record isn't served again after a restart
+				Thread.sleep(20);
+				cache.setMaxAge(10, TimeUnit.MILLISECONDS);
+				assertNull(cache.getString("level"));
+				assertNull(cache.get("level"));
+				
+				cache.put("level", "new");
+				assertEquals("new", cache.getString("level"));
+				
+				cache.setMaxAge(0, TimeUnit.MILLISECONDS);
+				Thread.sleep(20);
+				assertEquals("new", cache.getString("level"));
+			}
+			
+		} finally {
+			
+			Files.deleteIfExists(file);
+		}
+	}
+	
+	@Test
+	void testCompaction() throws IOException {
+		
+		Path file = Files.createTempFile("gamejolt", ".cache");
+		char[] data = new char[200];
+		Arrays.fill(data, 'a');
+		
+		try {
+			
+			try(GameJoltDiskCache cache = new GameJoltDiskCache(file, 1000)) {
+				
+				for(int index = 0; index < 10; index++) {
+					
+					cache.put("key" + index, new String(data));
+					cache.getString("key0");
+				}
+				
+				assertTrue(cache.getFileSize() <= 1000);
+				assertEquals(new String(data), cache.getString("key0"));
+				assertEquals(new String(data), cache.getString("key9"));
+				assertNull(cache.getString("key1"));
+			}
+			
+			try(GameJoltDiskCache cache = new GameJoltDiskCache(file, 1000)) {
+				
+				assertEquals(Files.size(file), cache.getFileSize());
+				assertEquals(new String(data), cache.getString("key0"));
+				assertEquals(new String(data), cache.getString("key9"));
+				assertNull(cache.getString("key1"));
+			}
+			
+		} finally {
+			
+			Files.deleteIfExists(file);
+		}
+	}
+	
+	@Test
+	void testStorage() throws IOException, GameJoltException, JSONParseException {
+		
+		Path file = Files.createTempFile("gamejolt", ".cache");
+		
+		try(GameJoltDiskCache cache = new GameJoltDiskCache(file, 1 << 20)) {
+			
+			MockTransport transport = new MockTransport(request -> "{\"success\":\"true\",\"data\":\"" + (request.contains("username=alice") ? "alice" : "level pack") + "\"}");
+			GameJolt gj = new GameJolt(1, "key", transport);
+			GameJoltDataStorage storage = gj.getGlobalDataStorage();
+			GameJoltDataStorage user = gj.getUserDataStorage();
+			storage.setDiskCache(cache);
+			user.setDiskCache(cache);
+			
+			assertEquals("level pack", storage.get("pack"));
+			assertEquals("level pack", storage.get("pack"));
+			assertEquals(1, transport.getRequests().size());
+			assertEquals("level pack", cache.getString("1/global/pack"));
+			
+			gj.login("alice", "token");
+			assertEquals("alice", user.get("pack"));
+			assertEquals("alice", cache.getString("1/user/alice/pack"));
+			assertEquals("level pack", storage.get("pack"));
+			assertEquals(3, transport.getRequests().size());
+			
+			storage.remove("pack");
+			assertNull(cache.getString("1/global/pack"));
+			assertEquals("alice", user.get("pack"));
+			
+		} finally {
+			
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.GameJoltExecutor;
+
+class GameJoltExecutorTest {
+
+	@Test
+	void testConcurrency() throws InterruptedException {
+		
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch finished = new CountDownLatch(8);
+		
+		try(GameJoltExecutor executor = new GameJoltExecutor(2)) {
+			
+			for(int index = 0; index < 8; index++) {
+				
+				executor.execute(() -> {
+					
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					
+					try {
+						
+						Thread.sleep(50);
+						
+					} catch(InterruptedException exception) {
+						
+						Thread.currentThread().interrupt();
+					}
+					
+					running.decrementAndGet();
+					finished.countDown();
+				});
+			}
+			
+			// submitting never waits for a permit
+			assertTrue(finished.getCount() > 0);
+			assertTrue(finished.await(5, TimeUnit.SECONDS));
+			assertEquals(2, maxRunning.get());
+			assertTrue(executor.shutdown(5, TimeUnit.SECONDS));
+			assertEquals(2, executor.getAvailablePermits());
+		}
+	}
+	
+	@Test
+	void testFutures() throws Exception {
+		
+		try(GameJoltExecutor executor = new GameJoltExecutor(1)) {
+			
+			FutureTask<String> task = new FutureTask<>(() -> "done");
+			executor.execute(task);
+			
+			assertEquals("done", task.get(5, TimeUnit.SECONDS));
+			assertEquals("async", CompletableFuture.supplyAsync(() -> "async", executor).get(5, TimeUnit.SECONDS));
+			
+			executor.close();
+			assertThrows(RuntimeException.class, () -> executor.execute(() -> {}));
+		}
+	}
+}
@@ -0,0 +1,268 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltHttpClientTransport;
+import de.ralleytn.api.gamejolt.GameJoltTransport;
+import de.ralleytn.api.gamejolt.internal.ByteBufferBody;
+import de.ralleytn.api.gamejolt.internal.Util;
+import de.ralleytn.simple.json.JSONObject;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltHttpClientTransportTest {
+
+	private static final String TEXT = "{\"name\":\"\u00e4\u20ac\ud83d\ude00\"}";
+	
+	/*
+	 * Answers a GET with a response object and a POST with its own body. On /stall the body stops after its first byte,
+	 * on /slow the response starts after a delay.
+	 */
+	private static final HttpServer startServer() throws IOException {
+		
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			
+			String path = exchange.getRequestURI().getPath();
+			byte[] response;
+			
+			if(path.equals("/stall")) {
+				
+				exchange.sendResponseHeaders(200, 64);
+				
+				try(OutputStream body = exchange.getResponseBody()) {
+					
+					body.write('{');
+					body.flush();
+					Thread.sleep(2000);
+					
+				} catch(InterruptedException exception) {
+					
+					Thread.currentThread().interrupt();
+				}
+				
+				return;
+			}
+			
+			if(path.equals("/slow")) {
+				
+				try {
+					
+					Thread.sleep(200);
+					
+				} catch(InterruptedException exception) {
+					
+					Thread.currentThread().interrupt();
+				}
+			}
+			
+			
+			try(InputStream body = exchange.getRequestBody()) {
+				
+				response = "POST".equals(exchange.getRequestMethod()) ? body.readAllBytes() : "{\"response\":{\"success\":\"true\",\"name\":\"\u00e4\u20ac\"}}".getBytes(StandardCharsets.UTF_8);
+			}
+			
+			exchange.sendResponseHeaders(path.equals("/error") ? 503 : 200, response.length);
+			
+			try(OutputStream body = exchange.getResponseBody()) {
+				
+				body.write(response);
+			}
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		return server;
+	}
+	
+	private static final String read(Reader reader, int length) throws IOException {
+		
+		StringBuilder builder = new StringBuilder();
+		char[] buffer = new char[length];
+		int count;
+		
+		while((count = reader.read(buffer)) != -1) {
+			
+			builder.append(buffer, 0, count);
+		}
+		
+		return builder.toString();
+	}
+	
+	@Test
+	void testTransport() throws IOException, GameJoltException, JSONParseException {
+		
+		HttpServer server = GameJoltHttpClientTransportTest.startServer();
+		String url = "http://127.0.0.1:" + server.getAddress().getPort();
+		
+		try {
+			
+			GameJoltHttpClientTransport transport = new GameJoltHttpClientTransport(Executors.newCachedThreadPool());
+			GameJolt gj = new GameJolt(1, "key", transport);
+			
+			JSONObject response = Util.finishRequest(gj, transport.execute("GET", url + "/get", null));
+			assertEquals("\u00e4\u20ac", response.getString("name"));
+			
+			try(GameJoltTransport.Response echo = transport.executeAsync("POST", url + "/post", "a=b&c=d", gj.getExecutor()).join()) {
+				
+				assertEquals(200, echo.getStatus());
+				assertEquals("a=b&c=d", GameJoltHttpClientTransportTest.read(echo.getReader(), 64));
+			}
+			
+			GameJoltException exception = assertThrows(GameJoltException.class, () -> Util.finishRequest(gj, transport.execute("POST", url + "/error", "x=1")));
+			assertTrue(exception.getMessage().contains(": 503 HTTP/1.1: x=1"), exception.getMessage());
+			
+		} finally {
+			
+			server.stop(0);
+		}
+	}
+	
+	@Test
+	void testStalledBody() throws IOException {
+		
+		HttpServer server = GameJoltHttpClientTransportTest.startServer();
+		String url = "http://127.0.0.1:" + server.getAddress().getPort();
+		
+		try {
+			
+			GameJoltHttpClientTransport transport = new GameJoltHttpClientTransport();
+			
+			try(GameJoltTransport.Response response = transport.execute("GET", url + "/stall", null, 1000, 200)) {
+				
+				long start = System.nanoTime();
+				assertThrows(SocketTimeoutException.class, () -> GameJoltHttpClientTransportTest.read(response.getReader(), 64));
+				assertTrue(System.nanoTime() - start < 1_500_000_000L);
+			}
+			
+		} finally {
+			
+			server.stop(0);
+		}
+	}
+	
+	@Test
+	void testCallerExecutor() throws Exception {
+		
+		HttpServer server = GameJoltHttpClientTransportTest.startServer();
+		String url = "http://127.0.0.1:" + server.getAddress().getPort();
+		ExecutorService client = Executors.newSingleThreadExecutor();
+		ExecutorService caller = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "caller"));
+		
+		try {
+			
+			GameJoltHttpClientTransport transport = new GameJoltHttpClientTransport(client);
+			
+			// the body must not be read on the only thread of the client, which has to deliver it
+			String body = transport.executeAsync("GET", url + "/slow", null, caller).thenApply(response -> {
+				
+				try(response) {
+					
+					return Thread.currentThread().getName() + ' ' + GameJoltHttpClientTransportTest.read(response.getReader(), 64);
+					
+				} catch(IOException exception) {
+					
+					throw new UncheckedIOException(exception);
+				}
+				
+			}).get(5, TimeUnit.SECONDS);
+			
+			assertTrue(body.startsWith("caller {\"response\""), body);
+			
+		} finally {
+			
+			server.stop(0);
+			client.shutdown();
+			caller.shutdown();
+		}
+	}
+	
+	@Test
+	void testSplitCharacters() throws IOException {
+		
+		byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+		
+		// every possible split, so multi-byte characters are torn apart between two buffers
+		for(int split = 0; split <= bytes.length; split++) {
+			
+			for(int length : new int[] {1, 2, 3, 64}) {
+				
+				ByteBufferBody body = new ByteBufferBody();
+				body.onSubscribe(new Flow.Subscription() {
+					
+					@Override public void request(long n) {}
+					@Override public void cancel() {}
+				});
+				body.onNext(List.of(ByteBuffer.wrap(bytes, 0, split)));
+				body.onNext(List.of(ByteBuffer.wrap(bytes, split, bytes.length - split)));
+				body.onComplete();
+				
+				assertEquals(TEXT, GameJoltHttpClientTransportTest.read(body.getReader(), length));
+			}
+		}
+		
+		ByteBufferBody body = new ByteBufferBody();
+		body.onSubscribe(new Flow.Subscription() {
+			
+			@Override public void request(long n) {}
+			@Override public void cancel() {}
+		});
+		body.onNext(List.of(ByteBuffer.wrap("a\ud83d\ude00".getBytes(StandardCharsets.UTF_8), 0, 4)));
+		body.onComplete();
+		
+		// a character that is cut off at the end is replaced
+		assertEquals("a\ufffd", GameJoltHttpClientTransportTest.read(body.getReader(), 64));
+	}
+	
+	@Test
+	void testCancel() throws IOException {
+		
+		List<String> calls = new ArrayList<>();
+		Flow.Subscription subscription = new Flow.Subscription() {
+			
+			@Override public void request(long n) { calls.add("request " + n); }
+			@Override public void cancel() { calls.add("cancel"); }
+		};
+		
+		// a body that is closed early is drained, so the connection can be used again
+		ByteBufferBody closed = new ByteBufferBody(50);
+		closed.onSubscribe(subscription);
+		closed.onNext(List.of(ByteBuffer.wrap(TEXT.getBytes(StandardCharsets.UTF_8))));
+		closed.getInputStream().close();
+		assertEquals(List.of("request 1", "request " + Long.MAX_VALUE), calls);
+		
+		// a body that stalls is not downloaded anymore after the timeout, closing it afterwards changes nothing
+		calls.clear();
+		ByteBufferBody stalled = new ByteBufferBody(50);
+		stalled.onSubscribe(subscription);
+		
+		try(InputStream input = stalled.getInputStream()) {
+			
+			assertThrows(SocketTimeoutException.class, input::read);
+		}
+		
+		assertEquals(List.of("request 1", "cancel"), calls);
+	}
+}
@@ -0,0 +1,78 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltScore;
+import de.ralleytn.api.gamejolt.GameJoltTrophy;
+import de.ralleytn.api.gamejolt.GameJoltUser;
+import de.ralleytn.simple.json.JSONObject;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltObjectTest {
+
+	private static final String SCORES = "{\"success\":\"true\",\"scores\":[{\"score\":\"12 Points\",\"sort\":\"12\",\"user\":\"Ralph\",\"user_id\":\"7\",\"stored_timestamp\":\"1500000000\"},{\"score\":\"3 Points\",\"sort\":\"3\",\"guest\":\"Guest\"}]}";
+	
+	@Test
+	void testDecoded() throws IOException, JSONParseException, GameJoltException {
+		
+		GameJolt gj = new GameJolt(1, "key", new MockTransport(url -> SCORES));
+		gj.setRetainingJSON(false);
+		List<GameJoltScore> scores = gj.getScores();
+		GameJoltScore score = scores.get(0);
+		
+		assertEquals("12 Points", score.getScore());
+		assertEquals(12, (int)score.getSortValue());
+		assertEquals(7L, (long)score.getUserId());
+		assertEquals(1500000000L, score.getStoredTimestamp());
+		assertNull(scores.get(1).getUserId());
+		assertNull(scores.get(1).getStored());
+		assertEquals(-1, scores.get(1).getStoredTimestamp());
+		
+		JSONObject json = score.getJSON();
+		assertEquals("Ralph", json.getString("user"));
+		assertEquals(1500000000L, (long)json.getLong("stored_timestamp"));
+		assertTrue(!scores.get(1).getJSON().containsKey("user_id"));
+	}
+	
+	@Test
+	void testRetained() throws IOException, JSONParseException, GameJoltException {
+		
+		GameJolt gj = new GameJolt(1, "key", new MockTransport(url -> "{\"success\":\"true\",\"users\":[{\"id\":\"7\",\"type\":\"Administrator\",\"status\":\"Active\",\"last_logged_in\":\"Online Now\"}]}"));
+		gj.setRetainingJSON(true);
+		GameJoltUser user = gj.getUser(7);
+		
+		assertEquals(GameJoltUser.Type.ADMINISTRATOR, user.getType());
+		assertTrue(user.isOnline());
+		assertTrue(!user.isBanned());
+		assertSame(user.getJSON(), user.getJSON());
+	}
+	
+	@Test
+	void testEncoded() throws IOException, JSONParseException, GameJoltException {
+		
+		GameJolt gj = new GameJolt(1, "key", new MockTransport(url -> url.contains("/trophies") ? "{\"success\":\"true\",\"trophies\":[{\"id\":\"3\",\"achieved\":\"2 days ago\"}]}" : "{\"success\":\"true\",\"users\":[{\"id\":\"7\",\"status\":\"Banned\",\"last_logged_in\":\"5 minutes ago\"}]}"));
+		GameJoltUser user = gj.getUser(7);
+		GameJoltTrophy trophy = gj.getTrophy(3);
+		
+		// the JSON data is dropped by default, but encoding it again keeps the texts the service sent
+		assertNotSame(user.getJSON(), user.getJSON());
+		assertFalse(user.isOnline());
+		assertTrue(user.isBanned());
+		assertEquals("5 minutes ago", user.getJSON().getString("last_logged_in"));
+		assertEquals("Banned", user.getJSON().getString("status"));
+		assertTrue(trophy.isAchieved());
+		assertEquals("2 days ago", trophy.getJSON().getString("achieved"));
+	}
+}
@@ -0,0 +1,82 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.AsyncGameJolt;
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltRateLimiter;
+import de.ralleytn.api.gamejolt.GameJoltRateLimiter.Priority;
+import de.ralleytn.api.gamejolt.GameJoltScore;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltRateLimiterTest {
+
+	private static final String RESPONSE = "{\"success\":\"true\",\"scores\":[]}";
+	
+	@Test
+	void testPriority() throws IOException, GameJoltException, JSONParseException {
+		
+		MockTransport transport = new MockTransport(url -> RESPONSE);
+		GameJolt gj = new GameJolt(1, "key", transport);
+		GameJoltRateLimiter limiter = new GameJoltRateLimiter(5, 1);
+		gj.setRateLimiter(limiter);
+		AsyncGameJolt async = new AsyncGameJolt(gj);
+		
+		// takes the only token, so the next requests have to wait in the queue
+		gj.addGuestScore("1", 1, "guest");
+		CompletableFuture<List<GameJoltScore>> background = async.getScoresAsync(5);
+		CompletableFuture<Void> interactive = async.addGuestScoreAsync("2", 2, "guest");
+		
+		assertEquals(2, limiter.getQueueDepth());
+		background.join();
+		interactive.join();
+		
+		List<String> requests = new ArrayList<>(transport.getRequests());
+		assertEquals(3, requests.size());
+		assertTrue(requests.get(1).contains("/scores/add"));
+		assertTrue(requests.get(2).contains("/scores?"));
+		assertEquals(2, limiter.getGrantedCount(Priority.INTERACTIVE));
+		assertEquals(1, limiter.getGrantedCount(Priority.BACKGROUND));
+		assertTrue(limiter.getAverageWait(Priority.BACKGROUND, TimeUnit.MILLISECONDS) > 0);
+	}
+	
+	@Test
+	void testShedding() throws IOException, GameJoltException, JSONParseException {
+		
+		MockTransport transport = new MockTransport(url -> RESPONSE);
+		GameJolt gj = new GameJolt(1, "key", transport);
+		GameJoltRateLimiter limiter = new GameJoltRateLimiter(4, 1);
+		limiter.setMaxQueueSize(1);
+		gj.setRateLimiter(limiter);
+		AsyncGameJolt async = new AsyncGameJolt(gj);
+		
+		gj.addGuestScore("1", 1, "guest");
+		CompletableFuture<List<GameJoltScore>> evicted = async.getScoresAsync(5);
+		CompletableFuture<Void> interactive = async.addGuestScoreAsync("2", 2, "guest");
+		CompletableFuture<List<GameJoltScore>> rejected = async.getScoresAsync(6);
+		
+		assertEquals(1, limiter.getQueueDepth());
+		assertEquals(1, limiter.getQueueDepth(Priority.INTERACTIVE));
+		assertTrue(assertThrows(CompletionException.class, evicted::join).getCause() instanceof IOException);
+		assertTrue(assertThrows(CompletionException.class, rejected::join).getCause() instanceof IOException);
+		interactive.join();
+		assertEquals(2, limiter.getShedCount(Priority.BACKGROUND));
+		
+		// waiting for the next token would take longer than allowed
+		limiter.setMaxWait(Priority.BACKGROUND, 0, TimeUnit.MILLISECONDS);
+		assertThrows(IOException.class, () -> gj.getScores(7));
+		assertEquals(2, transport.getRequests().size());
+	}
+}
@@ -0,0 +1,159 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.AsyncGameJolt;
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltRetryPolicy;
+import de.ralleytn.api.gamejolt.GameJoltTransport;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltRetryPolicyTest {
+
+	private static final String TIME = "{\"response\":{\"success\":\"true\",\"timestamp\":1500000000}}";
+	
+	/*
+	 * @return a transport that fails the given number of calls, alternating between a connection failure and a server error, and succeeds afterwards
+	 */
+	private static final GameJoltTransport createTransport(AtomicInteger calls, int failures) {
+		
+		return (method, url, body) -> {
+			
+			int call = calls.incrementAndGet();
+			
+			if(call <= failures && call % 2 == 1) {
+				
+				throw new IOException("Connection reset");
+			}
+			
+			int status = call <= failures ? 503 : 200;
+			return new GameJoltTransport.Response(status, "Status " + status, new ByteArrayInputStream(TIME.getBytes(StandardCharsets.UTF_8)));
+		};
+	}
+	
+	private static final GameJoltRetryPolicy createPolicy() {
+		
+		GameJoltRetryPolicy policy = new GameJoltRetryPolicy();
+		policy.setBackoff(1, 5, TimeUnit.MILLISECONDS);
+		return policy;
+	}
+	
+	@Test
+	void testRetry() throws IOException, GameJoltException, JSONParseException {
+		
+		AtomicInteger calls = new AtomicInteger();
+		GameJolt gj = new GameJolt(1, "key", GameJoltRetryPolicyTest.createTransport(calls, 2));
+		gj.setRetryPolicy(GameJoltRetryPolicyTest.createPolicy());
+		
+		assertEquals(1500000000L, (long)gj.getServerTime().getTimestamp());
+		assertEquals(3, calls.get());
+		assertEquals(2, gj.getRetryPolicy().getRetryCount());
+		
+		calls.set(0);
+		assertEquals(1500000000L, (long)new AsyncGameJolt(gj).getServerTimeAsync().join().getTimestamp());
+		assertEquals(3, calls.get());
+	}
+	
+	@Test
+	void testNoRetry() {
+		
+		AtomicInteger calls = new AtomicInteger();
+		GameJolt gj = new GameJolt(1, "key", GameJoltRetryPolicyTest.createTransport(calls, 2));
+		gj.setRetryPolicy(GameJoltRetryPolicyTest.createPolicy());
+		
+		// a score that might have reached the server must not be added twice
+		assertThrows(IOException.class, () -> gj.addGuestScore("10", 10, "guest"));
+		assertEquals(1, calls.get());
+		assertThrows(GameJoltException.class, () -> gj.addGuestScore("10", 10, "guest"));
+		assertEquals(2, calls.get());
+	}
+	
+	@Test
+	void testCircuitBreaker() {
+		
+		AtomicInteger calls = new AtomicInteger();
+		GameJolt gj = new GameJolt(1, "key", GameJoltRetryPolicyTest.createTransport(calls, Integer.MAX_VALUE));
+		GameJoltRetryPolicy policy = GameJoltRetryPolicyTest.createPolicy();
+		policy.setCircuitBreaker(4, 1, TimeUnit.HOURS);
+		gj.setRetryPolicy(policy);
+		
+		// the fourth failure opens the circuit in the middle of the second call
+		assertThrows(Exception.class, gj::getServerTime);
+		assertThrows(Exception.class, gj::getServerTime);
+		assertEquals(4, calls.get());
+		assertTrue(policy.isCircuitOpen("/get-time"));
+		
+		IOException exception = assertThrows(IOException.class, gj::getServerTime);
+		assertTrue(exception.getMessage().contains("circuit"));
+		assertEquals(4, calls.get());
+		assertEquals(2, policy.getRejectionCount());
+	}
+	
+	@Test
+	void testUnexpectedFailure() throws IOException, GameJoltException, JSONParseException, InterruptedException {
+		
+		// 0: connection failure, 1: the transport throws, 2: executeAsync throws right away, 3: success
+		AtomicInteger step = new AtomicInteger();
+		GameJoltTransport transport = new GameJoltTransport() {
+			
+			@Override
+			public Response execute(String method, String url, String body) throws IOException {
+				
+				switch(step.getAndIncrement()) {
+				
+					case 0: throw new IOException("Connection reset");
+					case 1: throw new IllegalStateException("Broken transport");
+					default: return new GameJoltTransport.Response(200, "OK", new ByteArrayInputStream(TIME.getBytes(StandardCharsets.UTF_8)));
+				}
+			}
+			
+			@Override
+			public CompletableFuture<Response> executeAsync(String method, String url, String body, Executor executor) {
+				
+				if(step.get() == 2) {
+					
+					step.incrementAndGet();
+					throw new IllegalStateException("Broken transport");
+				}
+				
+				return GameJoltTransport.super.executeAsync(method, url, body, executor);
+			}
+		};
+		GameJolt gj = new GameJolt(1, "key", transport);
+		GameJoltRetryPolicy policy = GameJoltRetryPolicyTest.createPolicy();
+		policy.setCircuitBreaker(1, 10, TimeUnit.MILLISECONDS);
+		gj.setRetryPolicy(policy);
+		
+		assertThrows(IOException.class, gj::getServerTime);
+		assertTrue(policy.isCircuitOpen("/get-time"));
+		
+		// each trial that ends with an unexpected exception has to open the circuit again instead of blocking it
+		Thread.sleep(20);
+		assertThrows(IllegalStateException.class, gj::getServerTime);
+		assertTrue(policy.isCircuitOpen("/get-time"));
+		
+		Thread.sleep(20);
+		assertThrows(CompletionException.class, () -> new AsyncGameJolt(gj).getServerTimeAsync().join());
+		assertTrue(policy.isCircuitOpen("/get-time"));
+		
+		Thread.sleep(20);
+		assertEquals(1500000000L, (long)gj.getServerTime().getTimestamp());
+		assertEquals(4, step.get());
+		assertFalse(policy.isCircuitOpen("/get-time"));
+	}
+}
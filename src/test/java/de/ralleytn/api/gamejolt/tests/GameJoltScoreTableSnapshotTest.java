@@ -0,0 +1,79 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltScoreTableSnapshot;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltScoreTableSnapshotTest {
+
+	private static GameJoltScoreTableSnapshot fetch(int... sort) throws IOException, JSONParseException, GameJoltException {
+		
+		StringBuilder scores = new StringBuilder();
+		
+		for(int index = 0; index < sort.length; index++) {
+			
+			if(index > 0) scores.append(',');
+			scores.append(index % 2 == 0 ? String.format("{\"score\":\"%1$d\",\"sort\":\"%1$d\",\"user\":\"Ralph\",\"user_id\":\"7\",\"stored_timestamp\":\"100\"}", sort[index]) : String.format("{\"score\":\"%1$d\",\"sort\":\"%1$d\",\"guest\":\"Guest\"}", sort[index]));
+		}
+		
+		MockTransport transport = new MockTransport(url -> "{\"success\":\"true\",\"scores\":[" + scores + "]}");
+		return new GameJolt(1, "key", transport).getScoreTableSnapshot(5, sort.length);
+	}
+	
+	@Test
+	void testColumns() throws IOException, JSONParseException, GameJoltException {
+		
+		GameJoltScoreTableSnapshot snapshot = fetch(50, 40, 40, 10);
+		
+		assertEquals(5L, (long)snapshot.getTableId());
+		assertEquals(4, snapshot.size());
+		assertEquals(7L, snapshot.getUserId(0));
+		assertTrue(snapshot.isGuest(1));
+		assertEquals("Guest", snapshot.getName(3));
+		assertSame(snapshot.getName(0), snapshot.getName(2));
+		assertEquals(100L, snapshot.getStoredTimestamp(2));
+		assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getSortValue(4));
+	}
+	
+	@Test
+	void testRank() throws IOException, JSONParseException, GameJoltException {
+		
+		GameJoltScoreTableSnapshot descending = fetch(50, 40, 40, 10);
+		
+		assertEquals(1, descending.getRank(60));
+		assertEquals(2, descending.getRank(40));
+		assertEquals(4, descending.getRank(39));
+		assertEquals(5, descending.getRank(5));
+		
+		GameJoltScoreTableSnapshot ascending = fetch(1, 2, 3);
+		
+		assertTrue(ascending.isAscending());
+		assertEquals(3, ascending.getRank(3));
+		assertEquals(4, ascending.getRank(4));
+	}
+	
+	@Test
+	void testSlice() throws IOException, JSONParseException, GameJoltException {
+		
+		GameJoltScoreTableSnapshot slice = fetch(50, 40, 30, 20, 10).slice(1, 4);
+		
+		assertEquals(3, slice.size());
+		assertEquals(40, slice.getSortValue(0));
+		
+		// ranks are counted within the slice, like the indices
+		assertEquals(1, slice.getRank(45));
+		assertEquals(2, slice.getRank(30));
+		assertEquals(2, slice.slice(1, 3).getRank(25));
+		assertThrows(IndexOutOfBoundsException.class, () -> slice.slice(2, 4));
+	}
+}
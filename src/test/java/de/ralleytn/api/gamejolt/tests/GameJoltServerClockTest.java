@@ -0,0 +1,43 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltServerClock;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltServerClockTest {
+
+	private static final long OFFSET = 123456;
+	
+	@Test
+	void testSync() throws IOException, GameJoltException, JSONParseException {
+		
+		MockTransport transport = new MockTransport(request -> "{\"success\":\"true\",\"timestamp\":" + (System.currentTimeMillis() + OFFSET) / 1000 + "}");
+		
+		try(GameJoltServerClock clock = new GameJoltServerClock(new GameJolt(1, "key", transport))) {
+			
+			assertFalse(clock.isSynchronized());
+			assertThrows(IllegalStateException.class, clock::now);
+			
+			clock.sync();
+			
+			long expected = System.currentTimeMillis() + OFFSET;
+			long now = clock.now();
+			
+			assertTrue(clock.isSynchronized());
+			assertTrue(clock.getUncertainty() < 1000, "uncertainty " + clock.getUncertainty());
+			assertTrue(Math.abs(now - expected) <= clock.getUncertainty() + 20, "error " + (now - expected));
+			assertTrue(Math.abs(clock.getOffset() - OFFSET) <= clock.getUncertainty() + 20);
+			assertEquals(GameJoltServerClock.DEFAULT_SAMPLES, transport.getRequests().size());
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltSession;
+import de.ralleytn.api.gamejolt.GameJoltSession.Status;
+import de.ralleytn.api.gamejolt.GameJoltSessionManager;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltSessionManagerTest {
+
+	private static final String SUCCESS = "{\"success\":\"true\"}";
+	
+	private static final MockTransport createTransport() {
+		
+		return new MockTransport(request -> request.contains("/batch") ? "{\"success\":\"true\",\"responses\":[" + String.join(",", Collections.nCopies(request.split("requests%5B%5D=").length - 1, SUCCESS)) + "]}" : SUCCESS);
+	}
+	
+	/*
+	 * Waits until every user was pinged at least once.
+	 * @return the requests up to that point
+	 */
+	private static final List<String> awaitPings(MockTransport transport, String... usernames) throws InterruptedException {
+		
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		
+		while(true) {
+			
+			List<String> requests = new ArrayList<>(transport.getRequests());
+			
+			if(Arrays.stream(usernames).allMatch(username -> requests.stream().anyMatch(request -> request.contains("%2Fsessions%2Fping%3F") && request.contains("username%3D" + username)))) {
+				
+				return requests;
+			}
+			
+			assertTrue(System.nanoTime() < deadline, "Not every user was pinged");
+			Thread.sleep(10);
+		}
+	}
+	
+	@Test
+	void testPings() throws IOException, GameJoltException, JSONParseException, InterruptedException {
+		
+		MockTransport transport = GameJoltSessionManagerTest.createTransport();
+		GameJolt gj = new GameJolt(1, "key", transport);
+		
+		try(GameJoltSessionManager manager = new GameJoltSessionManager(gj, 200, TimeUnit.MILLISECONDS)) {
+			
+			manager.open("alice", "a");
+			manager.open("bob", "b");
+			manager.open("carol", "c");
+			manager.setStatus("bob", Status.IDLE);
+			
+			assertEquals(3, manager.size());
+			assertEquals(Status.IDLE, manager.getStatus("bob"));
+			assertTrue(transport.getRequests().get(0).contains("/sessions/open?"));
+			assertTrue(transport.getRequests().get(0).contains("username=alice"));
+			
+			List<String> requests = GameJoltSessionManagerTest.awaitPings(transport, "alice", "bob", "carol");
+			String pings = String.join("\n", requests);
+			assertTrue(pings.contains("status%3Didle"));
+			assertTrue(requests.stream().filter(request -> request.contains("username%3Dbob")).allMatch(request -> request.contains("status%3Didle")));
+			assertTrue(manager.isHealthy("alice"));
+			
+			manager.close("alice");
+			assertNull(manager.getSession("alice"));
+			assertFalse(manager.getUsernames().contains("alice"));
+			assertTrue(new ArrayList<>(transport.getRequests()).stream().anyMatch(request -> request.contains("/sessions/close?") && request.contains("username=alice")));
+		}
+		
+		String last = transport.getRequests().get(transport.getRequests().size() - 1);
+		assertTrue(last.contains("/batch"));
+		assertTrue(last.contains("%2Fsessions%2Fclose%3F"));
+		assertTrue(last.contains("username%3Dbob"));
+		assertTrue(last.contains("username%3Dcarol"));
+	}
+	
+	@Test
+	void testReplace() throws IOException, GameJoltException, JSONParseException {
+		
+		MockTransport transport = GameJoltSessionManagerTest.createTransport();
+		GameJolt gj = new GameJolt(1, "key", transport);
+		
+		try(GameJoltSessionManager manager = new GameJoltSessionManager(gj, 1, TimeUnit.HOURS)) {
+			
+			GameJoltSession first = manager.open("alice", "a");
+			GameJoltSession second = manager.open("alice", "a");
+			
+			// the old session is closed on the server before the new one is opened
+			List<String> requests = new ArrayList<>(transport.getRequests());
+			assertEquals(3, requests.size());
+			assertTrue(requests.get(1).contains("/sessions/close?"));
+			assertTrue(requests.get(2).contains("/sessions/open?"));
+			assertNotSame(first, second);
+			assertSame(second, manager.getSession("alice"));
+			assertEquals(1, manager.size());
+		}
+	}
+}
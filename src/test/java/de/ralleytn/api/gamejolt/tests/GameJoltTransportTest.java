@@ -0,0 +1,43 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltServerTime;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltTransportTest {
+
+	@Test
+	void testCustomTransport() throws IOException, GameJoltException, JSONParseException {
+		
+		MockTransport transport = new MockTransport(url -> "{\"success\":\"true\",\"timestamp\":1500000000,\"timezone\":\"America/New_York\"}");
+		GameJolt api = new GameJolt(1, "key", transport);
+		GameJoltServerTime time = api.getServerTime();
+		
+		assertEquals(1500000000L, (long)time.getTimestamp());
+		assertEquals(1, transport.getRequests().size());
+		
+		String url = transport.getRequests().get(0);
+		assertTrue(url.startsWith("https://gamejolt.com/api/game/v1_1/get-time?"));
+		assertTrue(url.contains("game_id=1"));
+		assertTrue(url.contains("&signature="));
+	}
+	
+	@Test
+	void testHttpError() {
+		
+		MockTransport transport = new MockTransport(url -> "{}");
+		transport.setStatus(503);
+		GameJolt api = new GameJolt(1, "key", transport);
+		
+		assertThrows(GameJoltException.class, api::getServerTime);
+	}
+}
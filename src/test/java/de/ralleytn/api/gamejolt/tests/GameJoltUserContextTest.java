@@ -0,0 +1,75 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.GameJoltTrophy;
+import de.ralleytn.api.gamejolt.GameJoltUserContext;
+import de.ralleytn.simple.json.JSONParseException;
+
+class GameJoltUserContextTest {
+
+	@Test
+	void testConcurrentUsers() throws Exception {
+		
+		MockTransport transport = new MockTransport(request -> "{\"success\":\"true\"}");
+		GameJolt gj = new GameJolt(1, "key", transport);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<?>> futures = new ArrayList<>();
+		
+		for(int index = 0; index < 64; index++) {
+			
+			GameJoltUserContext user = gj.as("user" + index, "token" + index);
+			futures.add(executor.submit(() -> {
+				
+				user.achieveTrophy(5);
+				user.addUserScore("10 points", 10);
+				user.getSession().ping();
+				user.getUserDataStorage().set("save", "data");
+				return null;
+			}));
+		}
+		
+		for(Future<?> future : futures) {
+			
+			future.get(10, TimeUnit.SECONDS);
+		}
+		
+		executor.shutdown();
+		assertFalse(gj.isUserLoggedIn());
+		assertEquals(256, transport.getRequests().size());
+		
+		for(String request : transport.getRequests()) {
+			
+			int start = request.indexOf("username=user") + 13;
+			String index = request.substring(start, request.indexOf('&', start));
+			assertTrue(request.contains("user_token=token" + index + "&"), request);
+		}
+	}
+	
+	@Test
+	void testTrophyRefetch() throws IOException, GameJoltException, JSONParseException {
+		
+		MockTransport transport = new MockTransport(request -> "{\"success\":\"true\",\"trophies\":[{\"id\":\"5\",\"title\":\"Trophy\",\"achieved\":\"false\"}]}");
+		GameJolt gj = new GameJolt(1, "key", transport);
+		GameJoltTrophy trophy = gj.as("alice", "a").getTrophy(5);
+		trophy.refetch();
+		
+		assertEquals(2, transport.getRequests().size());
+		assertTrue(transport.getRequests().get(1).contains("username=alice"));
+		assertTrue(transport.getRequests().get(1).contains("user_token=a"));
+	}
+}
@@ -0,0 +1,71 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.internal.JSONReader;
+import de.ralleytn.simple.json.JSONArray;
+import de.ralleytn.simple.json.JSONObject;
+import de.ralleytn.simple.json.JSONParseException;
+
+class JSONReaderTest {
+
+	@Test
+	void testValues() throws IOException, JSONParseException {
+		
+		JSONReader reader = new JSONReader(new StringReader(" {\"a\":\"x\\\"\\u00e4\\n\", \"b\" : -12, \"c\":1.5e2,\"d\":[true,false,null,{}],\"e\":{\"f\":[]}} "));
+		JSONObject object = (JSONObject)reader.nextValue();
+		
+		assertEquals("x\"\u00e4\n", object.get("a"));
+		assertEquals(-12L, object.get("b"));
+		assertEquals(150.0, object.get("c"));
+		
+		JSONArray array = (JSONArray)object.get("d");
+		assertEquals(Boolean.TRUE, array.get(0));
+		assertEquals(Boolean.FALSE, array.get(1));
+		assertNull(array.get(2));
+		assertTrue(array.get(3) instanceof JSONObject);
+		assertTrue(((JSONObject)object.get("e")).get("f") instanceof JSONArray);
+		assertEquals(JSONReader.Token.END_DOCUMENT, reader.peek());
+	}
+	
+	@Test
+	void testStreaming() throws IOException, JSONParseException {
+		
+		JSONReader reader = new JSONReader(new StringReader("{\"skip\":{\"x\":[1,[2,{\"y\":3}]]},\"items\":[{\"id\":1},{\"id\":2}]}"));
+		reader.beginObject();
+		assertEquals("skip", reader.nextName());
+		reader.skipValue();
+		assertEquals("items", reader.nextName());
+		reader.beginArray();
+		
+		long sum = 0;
+		
+		while(reader.hasNext()) {
+			
+			sum += ((JSONObject)reader.nextValue()).getLong("id");
+		}
+		
+		reader.endArray();
+		assertFalse(reader.hasNext());
+		reader.endObject();
+		assertEquals(3, sum);
+	}
+	
+	@Test
+	void testInvalid() {
+		
+		assertThrows(JSONParseException.class, () -> new JSONReader(new StringReader("{\"a\" 1}")).nextValue());
+		assertThrows(JSONParseException.class, () -> new JSONReader(new StringReader("[1,]")).nextValue());
+		assertThrows(JSONParseException.class, () -> new JSONReader(new StringReader("{\"a\":tru}")).nextValue());
+		assertThrows(JSONParseException.class, () -> new JSONReader(new StringReader("{\"a\":1")).nextValue());
+	}
+}
@@ -0,0 +1,47 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import de.ralleytn.api.gamejolt.GameJoltTransport;
+
+/**
+ * An in-process stand-in for the GameJolt servers.
+ */
+class MockTransport implements GameJoltTransport {
+
+	private final Function<String, String> server;
+	private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+	private volatile int status = 200;
+	
+	/*
+	 * @param server maps the requested URL (followed by {@code #} and the body for POST requests) to the JSON content of the {@code response} object
+	 */
+	MockTransport(Function<String, String> server) {
+		
+		this.server = server;
+	}
+	
+	@Override
+	public Response execute(String method, String url, String body) {
+		
+		String request = body != null ? url + '#' + body : url;
+		this.requests.add(request);
+		String content = this.status == 200 ? "{\"response\":" + this.server.apply(request) + "}" : "error";
+		return new Response(this.status, "Status " + this.status, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+	}
+	
+	void setStatus(int status) {
+		
+		this.status = status;
+	}
+	
+	List<String> getRequests() {
+		
+		return this.requests;
+	}
+}
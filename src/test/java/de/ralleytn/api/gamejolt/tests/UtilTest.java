@@ -0,0 +1,80 @@
+package de.ralleytn.api.gamejolt.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import de.ralleytn.api.gamejolt.GameJolt;
+import de.ralleytn.api.gamejolt.GameJoltException;
+import de.ralleytn.api.gamejolt.internal.Util;
+import de.ralleytn.simple.json.JSONParseException;
+
+class UtilTest {
+
+	private static final String TEXT = "a Z0-9._*~ +&=?#%/\u00e4\u20ac\ud83c\udfae\ud800!";
+	
+	@Test
+	void testQueryString() throws UnsupportedEncodingException {
+		
+		assertEquals(URLEncoder.encode(TEXT, "UTF-8"), Util.appendEncoded(new StringBuilder(), TEXT).toString());
+		
+		Map<String, Object> params = new LinkedHashMap<>();
+		params.put("text", TEXT);
+		params.put("user_id", new long[] {1, -2});
+		params.put("requests[]", Arrays.asList("/a?b=1", "/c"));
+		params.put("id", 7L);
+		
+		assertEquals("?text=" + URLEncoder.encode(TEXT, "UTF-8") + "&user_id=1,-2&requests%5B%5D=%2Fa%3Fb%3D1&requests%5B%5D=%2Fc&id=7", Util.getQueryString(params));
+	}
+	
+	@Test
+	void testSignature() throws NoSuchAlgorithmException {
+		
+		StringBuilder base = new StringBuilder();
+		
+		for(int index = 0; index < 500; index++) {
+			
+			base.append(TEXT);
+		}
+		
+		byte[] hash = MessageDigest.getInstance("SHA-1").digest((base + "key").getBytes(StandardCharsets.UTF_8));
+		String expected = String.format("%040x", new BigInteger(1, hash));
+		
+		assertEquals(expected, Util.createSignature(base, "key"));
+		assertEquals(expected, Util.createSignature(base.toString(), "key"));
+		assertEquals(expected, Util.hashSHA1(base + "key"));
+		assertEquals(expected, Util.createSignature(base, "key".getBytes(StandardCharsets.UTF_8), "SHA-1"));
+		
+		hash = MessageDigest.getInstance("MD5").digest((base + "key").getBytes(StandardCharsets.UTF_8));
+		assertEquals(String.format("%032x", new BigInteger(1, hash)), Util.createSignature(base, "key".getBytes(StandardCharsets.UTF_8), "MD5"));
+	}
+	
+	@Test
+	void testSignatureAlgorithm() throws IOException, GameJoltException, JSONParseException {
+		
+		MockTransport transport = new MockTransport(request -> "{\"success\":\"true\",\"timestamp\":1}");
+		GameJolt gj = new GameJolt(1, "key", transport);
+		gj.getServerTime();
+		gj.setSignatureAlgorithm(GameJolt.SignatureAlgorithm.MD5);
+		gj.getServerTime();
+		
+		String sha1 = transport.getRequests().get(0);
+		String md5 = transport.getRequests().get(1);
+		String base = sha1.substring(0, sha1.indexOf("&signature="));
+		
+		assertEquals(Util.hashSHA1(base + "key"), sha1.substring(sha1.indexOf("&signature=") + 11));
+		assertEquals(base, md5.substring(0, md5.indexOf("&signature=")));
+		assertEquals(32, md5.length() - md5.indexOf("&signature=") - 11);
+	}
+}